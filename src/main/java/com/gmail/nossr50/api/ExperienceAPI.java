@@ -1140,6 +1140,47 @@ public final class ExperienceAPI {
         return mcMMO.getFormulaManager().getXPtoNextLevel(level, getFormulaType(formulaType));
     }
 
+    /**
+     * Check how much XP in total is needed to go from level 0 to a specific level with the selected level curve.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param level The level to get the total amount of XP for
+     */
+    public static long getTotalXpNeededToLevel(int level) {
+        return mcMMO.getFormulaManager().getTotalXPToReachLevel(level, ExperienceConfig.getInstance().getFormulaType());
+    }
+
+    /**
+     * Check how much XP in total is needed to go from level 0 to a specific level with the provided level curve.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param level The level to get the total amount of XP for
+     * @param formulaType The formula type to get the amount of XP for
+     *
+     * @throws InvalidFormulaTypeException if the given formulaType is not valid
+     */
+    public static long getTotalXpNeededToLevel(int level, String formulaType) {
+        return mcMMO.getFormulaManager().getTotalXPToReachLevel(level, getFormulaType(formulaType));
+    }
+
+    /**
+     * Check which level and leftover XP a total amount of XP amounts to in a specific skill with the selected level curve.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param skillType The skill to get the level for, used to respect its level cap
+     * @param totalXp The total amount of XP
+     * @return an array holding the level followed by the leftover XP towards the next level
+     *
+     * @throws InvalidSkillException if the given skill is not valid
+     * @throws UnsupportedOperationException if the given skill is a child skill
+     */
+    public static int[] getLevelFromTotalXp(String skillType, int totalXp) {
+        return mcMMO.getFormulaManager().calculateNewLevel(getNonChildSkillType(skillType), totalXp, ExperienceConfig.getInstance().getFormulaType());
+    }
+
     /**
      * Will add the appropriate type of XP from the block to the player based on the material of the blocks given
      * @param blockStates the blocks to reward XP for
@@ -0,0 +1,27 @@
+package com.gmail.nossr50.commands.admin;
+
+import com.gmail.nossr50.locale.LocaleLoader;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.Permissions;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+public final class McmmoReloadWorldBlacklistCommand implements CommandExecutor {
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (args.length == 0) {
+            if (!Permissions.reloadWorldBlacklist(sender)) {
+                sender.sendMessage(command.getPermissionMessage());
+                return true;
+            }
+
+            int entries = mcMMO.getWorldBlacklist().reload();
+            sender.sendMessage(LocaleLoader.getString("WorldBlacklist.Reloaded", entries));
+
+            return true;
+        }
+        return false;
+    }
+}
@@ -20,6 +20,8 @@ import java.util.Set;
 
 public class GeneralConfig extends AutoUpdateConfigLoader {
 
+    private boolean[][] doubleDropsTable; //Per skill, indexed by Material ordinal
+
     public GeneralConfig(@NotNull File dataFolder) {
         super("config.yml", dataFolder);
         validate();
@@ -180,6 +182,7 @@ public class GeneralConfig extends AutoUpdateConfigLoader {
 
     public boolean getLevelUpSoundsEnabled() { return config.getBoolean("General.LevelUp_Sounds", true); }
     public boolean getRefreshChunksEnabled() { return config.getBoolean("General.Refresh_Chunks", false); }
+    public boolean getBatchedBlockBreakEventsEnabled() { return config.getBoolean("General.Batched_Block_Break_Events", false); }
 
     public boolean getMobHealthbarEnabled() { return config.getBoolean("Mob_Healthbar.Enabled", true); }
 
@@ -372,11 +375,36 @@ public class GeneralConfig extends AutoUpdateConfigLoader {
      * SKILL SETTINGS
      */
     public boolean getDoubleDropsEnabled(PrimarySkillType skill, Material material) {
-        //TODO: Temporary measure to fix an exploit caused by a yet to be fixed Spigot bug (as of 7/3/2020)
-        if(material.toString().equalsIgnoreCase("LILY_PAD"))
-            return false;
+        if(doubleDropsTable == null)
+            doubleDropsTable = new boolean[PrimarySkillType.values().length][];
+
+        boolean[] skillTable = doubleDropsTable[skill.ordinal()];
+
+        if(skillTable == null) {
+            skillTable = buildDoubleDropsTable(skill);
+            doubleDropsTable[skill.ordinal()] = skillTable;
+        }
+
+        return skillTable[material.ordinal()];
+    }
+
+    /**
+     * Resolves the Bonus_Drops entry of every material for a skill once, so later lookups skip building the config path
+     */
+    private boolean @NotNull [] buildDoubleDropsTable(@NotNull PrimarySkillType skill) {
+        Material[] materials = Material.values();
+        boolean[] skillTable = new boolean[materials.length];
+        String prefix = "Bonus_Drops." + StringUtils.getCapitalized(skill.toString()) + ".";
+
+        for (Material material : materials) {
+            //TODO: Temporary measure to fix an exploit caused by a yet to be fixed Spigot bug (as of 7/3/2020)
+            if(material.toString().equalsIgnoreCase("LILY_PAD"))
+                continue;
+
+            skillTable[material.ordinal()] = config.getBoolean(prefix + StringUtils.getPrettyItemString(material).replace(" ", "_"));
+        }
 
-        return config.getBoolean("Bonus_Drops." + StringUtils.getCapitalized(skill.toString()) + "." + StringUtils.getPrettyItemString(material).replace(" ", "_"));
+        return skillTable;
     }
 
     public boolean getDoubleDropsDisabled(PrimarySkillType skill) {
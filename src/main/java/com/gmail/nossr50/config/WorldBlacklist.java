@@ -2,15 +2,22 @@ package com.gmail.nossr50.config;
 
 import com.gmail.nossr50.mcMMO;
 import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Blacklist certain features in certain worlds
+ * Names are resolved into world UIDs once per world when it loads, so checking a world never compares names
  */
 public class WorldBlacklist {
-    private static ArrayList<String> blacklist;
+    private static Set<String> blacklist;
+    private static final @NotNull Set<UUID> blacklistedWorlds = ConcurrentHashMap.newKeySet();
     private final mcMMO plugin;
 
     private final String blackListFileName = "world_blacklist.txt";
@@ -18,7 +25,7 @@ public class WorldBlacklist {
     public WorldBlacklist(mcMMO plugin)
     {
         this.plugin = plugin;
-        blacklist = new ArrayList<>();
+        blacklist = new HashSet<>();
         init();
     }
 
@@ -37,6 +44,49 @@ public class WorldBlacklist {
         //Load up the blacklist
         loadBlacklist(blackListFile);
         //registerFlags();
+
+        resolveLoadedWorlds();
+    }
+
+    /**
+     * Reads the blacklist file again and re-resolves every loaded world
+     *
+     * @return the amount of entries in the blacklist
+     */
+    public int reload() {
+        blacklist = new HashSet<>();
+        init();
+        return blacklist.size();
+    }
+
+    private void resolveLoadedWorlds() {
+        blacklistedWorlds.clear();
+
+        for (World world : plugin.getServer().getWorlds()) {
+            resolveWorld(world);
+        }
+    }
+
+    /**
+     * Resolves whether a world is blacklisted, must be called whenever a world loads
+     *
+     * @param world the world to resolve
+     */
+    public static void resolveWorld(@NotNull World world) {
+        if (blacklist.contains(world.getName().toLowerCase(Locale.ENGLISH))) {
+            blacklistedWorlds.add(world.getUID());
+        } else {
+            blacklistedWorlds.remove(world.getUID());
+        }
+    }
+
+    /**
+     * Forgets a world that is unloading
+     *
+     * @param world the world to forget
+     */
+    public static void forgetWorld(@NotNull World world) {
+        blacklistedWorlds.remove(world.getUID());
     }
 
     private void loadBlacklist(File blackListFile) {
@@ -53,8 +103,8 @@ public class WorldBlacklist {
                 if(currentLine.length() == 0)
                     continue;
 
-                if(!blacklist.contains(currentLine))
-                    blacklist.add(currentLine);
+                //World names are matched ignoring case
+                blacklist.add(currentLine.toLowerCase(Locale.ENGLISH));
             }
 
 
@@ -81,13 +131,6 @@ public class WorldBlacklist {
 
     public static boolean isWorldBlacklisted(World world)
     {
-
-        for(String s : blacklist)
-        {
-            if(world.getName().equalsIgnoreCase(s))
-                return true;
-        }
-
-        return false;
+        return blacklistedWorlds.contains(world.getUID());
     }
 }
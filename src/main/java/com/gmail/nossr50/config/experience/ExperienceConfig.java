@@ -159,6 +159,7 @@ public class ExperienceConfig extends AutoUpdateConfigLoader {
     public int getFishingExploitingOptionOverFishLimit() { return config.getInt("Fishing_ExploitFix_Options.OverFishLimit", 10); }
 
     public boolean isAcrobaticsExploitingPrevented() { return config.getBoolean("ExploitFix.Acrobatics", true); }
+    public int getAcrobaticsExploitingOptionLocationHistorySize() { return Math.max(config.getInt("Acrobatics_ExploitFix_Options.LocationHistorySize", 50), 0); }
     public boolean isTreeFellerXPReduced() { return config.getBoolean("ExploitFix.TreeFellerReducedXP", true); }
 
     /* Curve settings */
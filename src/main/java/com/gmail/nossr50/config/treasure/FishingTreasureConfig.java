@@ -4,6 +4,7 @@ import com.gmail.nossr50.config.ConfigLoader;
 import com.gmail.nossr50.datatypes.treasure.*;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.EnchantmentUtils;
+import com.gmail.nossr50.util.random.AliasTable;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
@@ -15,6 +16,7 @@ import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -27,6 +29,11 @@ public class FishingTreasureConfig extends ConfigLoader {
     public @NotNull HashMap<Rarity, List<EnchantmentTreasure>> fishingEnchantments = new HashMap<>();
     public @NotNull HashMap<EntityType, List<ShakeTreasure>> shakeMap  = new HashMap<>();
 
+    //Compiled once the treasures are loaded, rarity tables are keyed by loot tier
+    private final @NotNull HashMap<Integer, RarityTable> itemRarityTables = new HashMap<>();
+    private final @NotNull HashMap<Integer, RarityTable> enchantmentRarityTables = new HashMap<>();
+    private final @NotNull HashMap<EntityType, AliasTable> shakeTables = new HashMap<>();
+
     private FishingTreasureConfig() {
         super(FILENAME);
         loadKeys();
@@ -92,6 +99,65 @@ public class FishingTreasureConfig extends ConfigLoader {
                 loadTreasures("Shake." + entity.toString());
             }
         }
+
+        loadRarityTables("Item_Drop_Rates", itemRarityTables);
+        loadRarityTables("Enchantment_Drop_Rates", enchantmentRarityTables);
+        compileShakeTables();
+    }
+
+    private void loadRarityTables(@NotNull String section, @NotNull HashMap<Integer, RarityTable> rarityTables) {
+        ConfigurationSection tiers = config.getConfigurationSection(section);
+
+        if (tiers == null) {
+            return;
+        }
+
+        for (String tier : tiers.getKeys(false)) {
+            //Tiers are looked up as Tier_<rank>, anything else was never read
+            if (!tier.startsWith("Tier_")) {
+                continue;
+            }
+
+            int tierNumber;
+
+            try {
+                tierNumber = Integer.parseInt(tier.substring("Tier_".length()));
+            } catch (NumberFormatException e) {
+                mcMMO.p.getLogger().warning("Skipping invalid tier in " + FILENAME + ": " + section + "." + tier);
+                continue;
+            }
+
+            double[] dropRates = new double[Rarity.values().length];
+
+            for (Rarity rarity : Rarity.values()) {
+                dropRates[rarity.ordinal()] = config.getDouble(section + "." + tier + "." + rarity.toString());
+            }
+
+            rarityTables.put(tierNumber, new RarityTable(dropRates));
+        }
+    }
+
+    /**
+     * Shake rolls a whole number from 0-99 and walks through the drop chances of the mob
+     * Each treasure gets a weight equal to the amount of numbers that land on it, the rest of the 100 numbers drop nothing
+     */
+    private void compileShakeTables() {
+        for (Map.Entry<EntityType, List<ShakeTreasure>> entry : shakeMap.entrySet()) {
+            List<ShakeTreasure> shakeTreasures = entry.getValue();
+            double[] chances = new double[shakeTreasures.size()];
+            double cumulatedProbability = 0;
+            double reachedProbability = 0;
+
+            for (int i = 0; i < chances.length; i++) {
+                cumulatedProbability += shakeTreasures.get(i).getDropChance();
+
+                double reached = Math.ceil(Math.min(Math.max(cumulatedProbability, 0), 100));
+                chances[i] = Math.max(reached - reachedProbability, 0);
+                reachedProbability = Math.max(reached, reachedProbability);
+            }
+
+            shakeTables.put(entry.getKey(), AliasTable.ofPercentages(chances));
+        }
     }
 
     private void loadTreasures(@NotNull String type) {
@@ -374,10 +440,28 @@ public class FishingTreasureConfig extends ConfigLoader {
     }
 
     public double getItemDropRate(int tier, @NotNull Rarity rarity) {
-        return config.getDouble("Item_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+        return getItemRarityTable(tier).getDropRate(rarity);
     }
 
     public double getEnchantmentDropRate(int tier, @NotNull Rarity rarity) {
-        return config.getDouble("Enchantment_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+        return getEnchantmentRarityTable(tier).getDropRate(rarity);
+    }
+
+    public @NotNull RarityTable getItemRarityTable(int tier) {
+        return itemRarityTables.getOrDefault(tier, RarityTable.EMPTY);
+    }
+
+    public @NotNull RarityTable getEnchantmentRarityTable(int tier) {
+        return enchantmentRarityTables.getOrDefault(tier, RarityTable.EMPTY);
+    }
+
+    /**
+     * Get the table rolled by Shake for a mob, outcome i is the i-th treasure of {@link #shakeMap} and the last outcome drops nothing
+     *
+     * @param entityType target mob
+     * @return the shake table of the mob, or null if it has no treasures
+     */
+    public @Nullable AliasTable getShakeTable(@NotNull EntityType entityType) {
+        return shakeTables.get(entityType);
     }
 }
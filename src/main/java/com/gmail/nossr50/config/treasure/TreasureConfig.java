@@ -3,7 +3,9 @@ package com.gmail.nossr50.config.treasure;
 import com.gmail.nossr50.config.ConfigLoader;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
 import com.gmail.nossr50.datatypes.treasure.HylianTreasure;
+import com.gmail.nossr50.datatypes.treasure.LeveledTreasureTable;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -14,6 +16,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -34,6 +37,10 @@ public class TreasureConfig extends ConfigLoader {
     public HashMap<String, List<ExcavationTreasure>> excavationMap = new HashMap<>();
     public HashMap<String, List<HylianTreasure>>    hylianMap = new HashMap<>();
 
+    //Compiled from the maps above once they are loaded
+    private final HashMap<String, LeveledTreasureTable<ExcavationTreasure>> excavationTables = new HashMap<>();
+    private final HashMap<String, LeveledTreasureTable<HylianTreasure>>    hylianTables = new HashMap<>();
+
     private TreasureConfig() {
         super(FILENAME);
         loadKeys();
@@ -65,6 +72,31 @@ public class TreasureConfig extends ConfigLoader {
 
         loadTreasures("Excavation");
         loadTreasures("Hylian_Luck");
+        compileTreasureTables();
+    }
+
+    /**
+     * Builds the tables rolled by Archaeology and Hylian Luck
+     * Each treasure keeps the exact chance of the dice it used to be rolled with on its own
+     */
+    private void compileTreasureTables() {
+        for (String blockType : excavationMap.keySet()) {
+            excavationTables.put(blockType, new LeveledTreasureTable<>(excavationMap.get(blockType),
+                    (treasure, isLucky) -> RandomChanceUtil.getRollDiceProbability(RandomChanceUtil.addLuck(isLucky, treasure.getDropChance() * 100), 10000)));
+        }
+
+        for (String dropper : hylianMap.keySet()) {
+            hylianTables.put(dropper, new LeveledTreasureTable<>(hylianMap.get(dropper),
+                    (treasure, isLucky) -> RandomChanceUtil.getRollDiceProbability(RandomChanceUtil.calculateStaticChanceOfSuccess(treasure.getDropChance(), isLucky), 100)));
+        }
+    }
+
+    public @Nullable LeveledTreasureTable<ExcavationTreasure> getExcavationTable(String blockType) {
+        return excavationTables.get(blockType);
+    }
+
+    public @Nullable LeveledTreasureTable<HylianTreasure> getHylianTable(String dropper) {
+        return hylianTables.get(dropper);
     }
 
     private void loadTreasures(String type) {
@@ -1,32 +1,85 @@
 package com.gmail.nossr50.datatypes;
 
-import com.google.common.collect.HashMultiset;
 import org.bukkit.Location;
-
-import java.util.LinkedList;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * This class works with the assumption that you only pass in Block Locations.  If locations have differing pitch/yaw, the logic breaks
+ * The last block locations visited in a single world, oldest ones are forgotten first
+ * Locations are packed into longs and kept in a fixed size ring buffer along with an open addressing lookup table, adding or looking up a location never allocates
+ * Only the block coordinates of a location are used, moving to another world forgets every location
  */
 public class BlockLocationHistory {
-    private final LinkedList<Location> limitedSizeOrderedList = new LinkedList<>();
-    private final HashMultiset<Location> lookup = HashMultiset.create();
+    private static final int Y_BITS = 12;
+    private static final int XZ_BITS = 26;
+
     private final int maxSize;
 
+    //Ring buffer of packed locations, the oldest one is at head once the buffer is full
+    private final long[] history;
+    private int head;
+    private int size;
+
+    //Packed location -> number of times it is in the ring buffer, a count of 0 marks an empty bucket
+    private final long[] keys;
+    private final int[] counts;
+    private final int mask;
+    private final int shift;
+
+    private @Nullable World world;
+
     public BlockLocationHistory(int maxSize) {
-        this.maxSize = maxSize;
+        this.maxSize = Math.max(maxSize, 0);
+        this.history = new long[this.maxSize];
+
+        //Keep the table at most half full so probes stay short
+        int tableSize = Integer.highestOneBit(Math.max(this.maxSize, 1) * 2 - 1) << 1;
+        this.keys = new long[tableSize];
+        this.counts = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(tableSize);
+    }
+
+    /**
+     * Packs block coordinates the same way Minecraft does, 26 bits for x and z and 12 bits for y
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & ((1 << XZ_BITS) - 1)) << (XZ_BITS + Y_BITS))
+                | ((long) (z & ((1 << XZ_BITS) - 1)) << Y_BITS)
+                | (y & ((1 << Y_BITS) - 1));
     }
 
     /**
      * Adds a block location to the history.  If the history memory would exceed the max size, it will remove the least recently added block location
      *
-     * @param newItem
+     * @param newItem the block location to add
      */
-    public void add(Location newItem) {
-        limitedSizeOrderedList.addFirst(newItem);
-        lookup.add(newItem);
-        if (limitedSizeOrderedList.size() > maxSize)
-            lookup.remove(limitedSizeOrderedList.removeLast());
+    public void add(@NotNull Location newItem) {
+        add(newItem.getWorld(), newItem.getBlockX(), newItem.getBlockY(), newItem.getBlockZ());
+    }
+
+    public void add(@Nullable World world, int x, int y, int z) {
+        if (maxSize == 0)
+            return;
+
+        if (world != this.world) {
+            clear();
+            this.world = world;
+        }
+
+        long packed = pack(x, y, z);
+
+        if (size == maxSize) {
+            decrement(history[head]);
+            history[head] = packed;
+            head = (head + 1) % maxSize;
+        } else {
+            history[(head + size) % maxSize] = packed;
+            size++;
+        }
+
+        increment(packed);
     }
 
     /**
@@ -35,7 +88,79 @@ public class BlockLocationHistory {
      * @param targetLoc the block location to search for
      * @return true if the block location is in the recorded history
      */
-    public boolean contains(Location targetLoc) {
-        return lookup.contains(targetLoc);
+    public boolean contains(@NotNull Location targetLoc) {
+        return contains(targetLoc.getWorld(), targetLoc.getBlockX(), targetLoc.getBlockY(), targetLoc.getBlockZ());
+    }
+
+    public boolean contains(@Nullable World world, int x, int y, int z) {
+        return size > 0 && world == this.world && counts[find(pack(x, y, z))] > 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        world = null;
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+    }
+
+    /**
+     * @return the bucket holding a packed location, or the empty bucket it would go in
+     */
+    private int find(long packed) {
+        int bucket = (int) ((packed * 0x9E3779B97F4A7C15L) >>> shift);
+
+        while (counts[bucket] > 0 && keys[bucket] != packed) {
+            bucket = (bucket + 1) & mask;
+        }
+
+        return bucket;
+    }
+
+    private void increment(long packed) {
+        int bucket = find(packed);
+        keys[bucket] = packed;
+        counts[bucket]++;
+    }
+
+    private void decrement(long packed) {
+        int bucket = find(packed);
+
+        if (--counts[bucket] == 0) {
+            removeBucket(bucket);
+        }
+    }
+
+    /**
+     * Empties a bucket and shifts back the entries probing past it, so lookups never stop early at the gap
+     */
+    private void removeBucket(int gap) {
+        int bucket = gap;
+
+        while (true) {
+            bucket = (bucket + 1) & mask;
+
+            if (counts[bucket] == 0)
+                break;
+
+            int home = (int) ((keys[bucket] * 0x9E3779B97F4A7C15L) >>> shift);
+
+            //Entries whose home is cyclically between the gap and their bucket are still reachable
+            boolean reachable = gap <= bucket ? (gap < home && home <= bucket) : (gap < home || home <= bucket);
+
+            if (!reachable) {
+                keys[gap] = keys[bucket];
+                counts[gap] = counts[bucket];
+                gap = bucket;
+            }
+        }
+
+        counts[gap] = 0;
     }
 }
@@ -0,0 +1,104 @@
+package com.gmail.nossr50.datatypes.experience;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the rolling sum of XP gained per skill over a fixed time window, used for diminished returns
+ * Each skill gets a ring buffer with one bucket per second of the window, buckets are expired lazily when the tracker is touched
+ * Buckets for a skill are only allocated once that skill gains XP, after that registering a gain allocates nothing
+ */
+public class SkillXpGainTracker {
+    private final int bucketCount;
+    private final float[][] buckets = new float[PrimarySkillType.values().length][];
+    private final float[] rollingSums = new float[PrimarySkillType.values().length];
+    private final long[] lastSeconds = new long[PrimarySkillType.values().length];
+
+    /**
+     * @param intervalSeconds the length of the rolling window in seconds
+     */
+    public SkillXpGainTracker(int intervalSeconds) {
+        this.bucketCount = Math.max(1, intervalSeconds);
+    }
+
+    /**
+     * Register an XP gain for a skill
+     *
+     * @param primarySkillType the skill that gained XP
+     * @param xp the amount of XP gained
+     */
+    public void registerXpGain(@NotNull PrimarySkillType primarySkillType, float xp) {
+        registerXpGain(primarySkillType, xp, currentSecond());
+    }
+
+    /**
+     * Get the amount of XP gained by a skill within the rolling window
+     *
+     * @param primarySkillType the skill to check
+     * @return the XP gained within the rolling window
+     */
+    public float getRollingXpGain(@NotNull PrimarySkillType primarySkillType) {
+        return getRollingXpGain(primarySkillType, currentSecond());
+    }
+
+    void registerXpGain(@NotNull PrimarySkillType primarySkillType, float xp, long second) {
+        int index = primarySkillType.ordinal();
+
+        if (buckets[index] == null) {
+            buckets[index] = new float[bucketCount];
+            lastSeconds[index] = second;
+        }
+
+        expire(index, second);
+        buckets[index][(int) Math.floorMod(second, (long) bucketCount)] += xp;
+        rollingSums[index] += xp;
+    }
+
+    float getRollingXpGain(@NotNull PrimarySkillType primarySkillType, long second) {
+        int index = primarySkillType.ordinal();
+
+        if (buckets[index] == null) {
+            return 0F;
+        }
+
+        expire(index, second);
+        return rollingSums[index];
+    }
+
+    /**
+     * Clear every bucket that fell out of the window since this skill was last touched
+     */
+    private void expire(int index, long second) {
+        long elapsed = second - lastSeconds[index];
+
+        if (elapsed <= 0) {
+            return;
+        }
+
+        float[] skillBuckets = buckets[index];
+
+        if (elapsed >= bucketCount) {
+            Arrays.fill(skillBuckets, 0F);
+            rollingSums[index] = 0F;
+        } else {
+            for (long x = lastSeconds[index] + 1; x <= second; x++) {
+                int bucket = (int) Math.floorMod(x, (long) bucketCount);
+                rollingSums[index] -= skillBuckets[bucket];
+                skillBuckets[bucket] = 0F;
+            }
+
+            //Avoid floating point drift leaving a tiny negative sum behind
+            if (rollingSums[index] < 0F) {
+                rollingSums[index] = 0F;
+            }
+        }
+
+        lastSeconds[index] = second;
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000L;
+    }
+}
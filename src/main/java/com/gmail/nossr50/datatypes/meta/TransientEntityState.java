@@ -0,0 +1,93 @@
+package com.gmail.nossr50.datatypes.meta;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Typed transient state mcMMO attaches to an entity while it is loaded
+ * This replaces the Bukkit metadata keys that used to be read on every combat and projectile event
+ * Nothing in here is persisted, see {@link com.gmail.nossr50.util.TransientEntityStore}
+ */
+public class TransientEntityState {
+    /* Projectiles */
+    private boolean infiniteArrow;
+    private boolean trackedArrow;
+    private double bowForce = Double.NaN;
+    private @Nullable Location launchLocation;
+
+    /* Combat */
+    private boolean customDamage;
+    private int dodgeXpCount;
+    private long dodgeXpTimestamp;
+
+    /* Block tracking */
+    private boolean travelingBlock;
+
+    public boolean isInfiniteArrow() {
+        return infiniteArrow;
+    }
+
+    public void setInfiniteArrow(boolean infiniteArrow) {
+        this.infiniteArrow = infiniteArrow;
+    }
+
+    public boolean isTrackedArrow() {
+        return trackedArrow;
+    }
+
+    public void setTrackedArrow(boolean trackedArrow) {
+        this.trackedArrow = trackedArrow;
+    }
+
+    public boolean hasBowForce() {
+        return !Double.isNaN(bowForce);
+    }
+
+    /**
+     * @return the bow force multiplier, or NaN if it was never set
+     */
+    public double getBowForce() {
+        return bowForce;
+    }
+
+    public void setBowForce(double bowForce) {
+        this.bowForce = bowForce;
+    }
+
+    public @Nullable Location getLaunchLocation() {
+        return launchLocation;
+    }
+
+    public void setLaunchLocation(@Nullable Location launchLocation) {
+        this.launchLocation = launchLocation;
+    }
+
+    public boolean isCustomDamage() {
+        return customDamage;
+    }
+
+    public void setCustomDamage(boolean customDamage) {
+        this.customDamage = customDamage;
+    }
+
+    public int getDodgeXpCount() {
+        return dodgeXpCount;
+    }
+
+    public long getDodgeXpTimestamp() {
+        return dodgeXpTimestamp;
+    }
+
+    public void setDodgeXp(int dodgeXpCount, long dodgeXpTimestamp) {
+        this.dodgeXpCount = dodgeXpCount;
+        this.dodgeXpTimestamp = dodgeXpTimestamp;
+    }
+
+    public boolean isTravelingBlock() {
+        return travelingBlock;
+    }
+
+    public void setTravelingBlock(boolean travelingBlock) {
+        this.travelingBlock = travelingBlock;
+    }
+}
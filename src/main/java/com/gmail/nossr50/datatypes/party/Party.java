@@ -8,7 +8,6 @@ import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.party.PartyManager;
 import com.gmail.nossr50.util.EventUtils;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.sounds.SoundManager;
 import com.gmail.nossr50.util.sounds.SoundType;
 import org.bukkit.Bukkit;
@@ -23,12 +22,14 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
 public class Party {
     private final @NotNull Predicate<CommandSender> samePartyPredicate;
     private final LinkedHashMap<UUID, String> members = new LinkedHashMap<>();
     private final List<Player> onlineMembers = new ArrayList<>();
+    private final PartyMemberIndex memberIndex = new PartyMemberIndex();
 
     private PartyLeader leader;
     private String name;
@@ -47,6 +48,9 @@ public class Party {
     private boolean shareWoodcuttingDrops = true;
     private boolean shareMiscDrops        = true;
 
+    //New parties have never been saved
+    private final AtomicBoolean changed = new AtomicBoolean(true);
+
     public Party(String name) {
         this.name = name;
         samePartyPredicate = new SamePartyPredicate<>(this);
@@ -113,17 +117,46 @@ public class Party {
     }
 
     public boolean addOnlineMember(Player player) {
+        memberIndex.addMember(player);
         return onlineMembers.add(player);
     }
 
     public boolean removeOnlineMember(Player player) {
+        memberIndex.removeMember(player);
         return onlineMembers.remove(player);
     }
 
+    /**
+     * @return where the online members of this party are, used for share range checks
+     */
+    public @NotNull PartyMemberIndex getMemberIndex() {
+        return memberIndex;
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * Marks the party as "dirty" which flags it to be saved in the next save operation
+     */
+    public void markPartyDirty() {
+        changed.set(true);
+    }
+
+    public boolean isPartyDirty() {
+        return changed.get();
+    }
+
+    /**
+     * Clears the dirty flag, called right before the party is snapshotted for saving
+     *
+     * @return true if the party was dirty
+     */
+    public boolean markPartyClean() {
+        return changed.getAndSet(false);
+    }
+
     public PartyLeader getLeader() {
         return leader;
     }
@@ -153,23 +186,31 @@ public class Party {
     }
 
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        markPartyDirty();
+
+        PartyManager.handlePartyRenamed(this, oldName);
     }
 
     public void setLeader(PartyLeader leader) {
         this.leader = leader;
+        markPartyDirty();
     }
 
     public void setPassword(String password) {
         this.password = password;
+        markPartyDirty();
     }
 
     public void setLocked(boolean locked) {
         this.locked = locked;
+        markPartyDirty();
     }
 
     public void setAlly(Party ally) {
         this.ally = ally;
+        markPartyDirty();
     }
 
     public int getLevel() {
@@ -178,6 +219,7 @@ public class Party {
 
     public void setLevel(int level) {
         this.level = level;
+        markPartyDirty();
     }
 
     public float getXp() {
@@ -186,6 +228,7 @@ public class Party {
 
     public void setXp(float xp) {
         this.xp = xp;
+        markPartyDirty();
     }
 
     public void addXp(float xp) {
@@ -264,6 +307,7 @@ public class Party {
 
     public void setXpShareMode(ShareMode xpShareMode) {
         this.xpShareMode = xpShareMode;
+        markPartyDirty();
     }
 
     public ShareMode getXpShareMode() {
@@ -272,6 +316,7 @@ public class Party {
 
     public void setItemShareMode(ShareMode itemShareMode) {
         this.itemShareMode = itemShareMode;
+        markPartyDirty();
     }
 
     public ShareMode getItemShareMode() {
@@ -324,6 +369,8 @@ public class Party {
 
             default:
         }
+
+        markPartyDirty();
     }
 
     public boolean hasMember(String memberName) {
@@ -378,23 +425,11 @@ public class Party {
      *
      * @param mcMMOPlayer The player to check
      * @return the near party members
+     * @deprecated use {@link PartyManager#getNearMembers(McMMOPlayer)} instead
      */
+    @Deprecated
     public List<Player> getNearMembers(McMMOPlayer mcMMOPlayer) {
-        List<Player> nearMembers = new ArrayList<>();
-        Party party = mcMMOPlayer.getParty();
-
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = mcMMO.p.getGeneralConfig().getPartyShareRange();
-
-            for (Player member : party.getOnlineMembers()) {
-                if (!player.equals(member) && member.isValid() && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
-
-        return nearMembers;
+        return PartyManager.getNearMembers(mcMMOPlayer);
     }
 
     @Override
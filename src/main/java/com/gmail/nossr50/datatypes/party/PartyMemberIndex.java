@@ -0,0 +1,258 @@
+package com.gmail.nossr50.datatypes.party;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.Misc;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Where the online members of a party are, bucketed by world and by square cells at least as wide as the party share range
+ * Anyone within share range of a member is in one of the 3x3 cells around them, so only those are looked at
+ * Positions only change when a member crosses into another cell, the exact distance is still checked on the live location
+ * Members riding something follow vehicle move events instead of their own
+ * Must only be used from the main thread
+ */
+public class PartyMemberIndex {
+    private static final int MIN_CELL_SHIFT = 4;
+
+    //Cell width as a power of two, resolved from the share range the first time it is needed
+    private static int cellShift = -1;
+
+    private final @NotNull HashMap<Player, MemberCell> memberCells = new HashMap<>();
+    private final @NotNull HashMap<UUID, HashMap<Long, ArrayList<Player>>> worlds = new HashMap<>();
+
+    /**
+     * @return the smallest power of two shift whose cell is wider than the share range
+     */
+    private static int getCellShift() {
+        if (cellShift == -1) {
+            double range = Math.max(mcMMO.p.getGeneralConfig().getPartyShareRange(), 0);
+            int shift = MIN_CELL_SHIFT;
+
+            //One extra block as locations are bucketed by their block coordinates
+            while (shift < 30 && (1 << shift) < range + 1) {
+                shift++;
+            }
+
+            cellShift = shift;
+        }
+
+        return cellShift;
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Whether moving between two locations can change the cell of a player, cheap enough to be checked on every move
+     *
+     * @param from previous location
+     * @param to new location
+     * @return true if both locations are in the same cell of the same world
+     */
+    public static boolean isSameCell(@NotNull Location from, @Nullable Location to) {
+        if (to == null || from.getWorld() != to.getWorld())
+            return false;
+
+        int shift = getCellShift();
+        return (from.getBlockX() >> shift) == (to.getBlockX() >> shift) && (from.getBlockZ() >> shift) == (to.getBlockZ() >> shift);
+    }
+
+    public void addMember(@NotNull Player player) {
+        updateMember(player, player.getLocation());
+    }
+
+    public void removeMember(@NotNull Player player) {
+        MemberCell memberCell = memberCells.remove(player);
+
+        if (memberCell != null) {
+            removeFromCell(player, memberCell);
+        }
+    }
+
+    /**
+     * Moves a member to the cell of a location, adding them if they are not indexed yet
+     *
+     * @param player target member
+     * @param location where the member is or is about to be
+     */
+    public void updateMember(@NotNull Player player, @NotNull Location location) {
+        World world = location.getWorld();
+
+        if (world == null)
+            return;
+
+        int shift = getCellShift();
+        UUID worldUID = world.getUID();
+        long cellKey = getCellKey(location.getBlockX() >> shift, location.getBlockZ() >> shift);
+        MemberCell memberCell = memberCells.get(player);
+
+        if (memberCell != null) {
+            if (memberCell.cellKey == cellKey && memberCell.worldUID.equals(worldUID))
+                return;
+
+            removeFromCell(player, memberCell);
+            memberCell.worldUID = worldUID;
+            memberCell.cellKey = cellKey;
+        } else {
+            memberCells.put(player, new MemberCell(worldUID, cellKey));
+        }
+
+        worlds.computeIfAbsent(worldUID, uid -> new HashMap<>()).computeIfAbsent(cellKey, key -> new ArrayList<>(2)).add(player);
+    }
+
+    /**
+     * Re-reads the location of every online member, catching anything the move listeners did not see
+     *
+     * @param onlineMembers the current online members of the party
+     */
+    public void refresh(@NotNull List<Player> onlineMembers) {
+        //Members that went away without being removed
+        if (!memberCells.isEmpty()) {
+            Set<Player> online = new HashSet<>(onlineMembers);
+            Iterator<Map.Entry<Player, MemberCell>> iterator = memberCells.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Map.Entry<Player, MemberCell> entry = iterator.next();
+
+                if (!online.contains(entry.getKey())) {
+                    iterator.remove();
+                    removeFromCell(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        for (Player member : onlineMembers) {
+            updateMember(member, member.getLocation());
+        }
+    }
+
+    private void removeFromCell(@NotNull Player player, @NotNull MemberCell memberCell) {
+        HashMap<Long, ArrayList<Player>> cells = worlds.get(memberCell.worldUID);
+
+        if (cells == null)
+            return;
+
+        ArrayList<Player> cellMembers = cells.get(memberCell.cellKey);
+
+        if (cellMembers == null)
+            return;
+
+        cellMembers.remove(player);
+
+        if (cellMembers.isEmpty()) {
+            cells.remove(memberCell.cellKey);
+
+            if (cells.isEmpty()) {
+                worlds.remove(memberCell.worldUID);
+            }
+        }
+    }
+
+    /**
+     * Members within range of a player, with the same rules as {@link Misc#isNear(Location, Location, double)}
+     *
+     * @param player the player to search around
+     * @param range the share range, 0 for the whole world
+     * @param visibleOnly whether to skip members the player cannot see
+     * @return the near members other than the player
+     */
+    public @NotNull List<Player> getNearMembers(@NotNull Player player, double range, boolean visibleOnly) {
+        List<Player> nearMembers = new ArrayList<>();
+        forEachNearMember(player, range, visibleOnly, nearMembers);
+        return nearMembers;
+    }
+
+    /**
+     * Same as {@link #getNearMembers(Player, double, boolean)} without building the list
+     */
+    public boolean hasNearMembers(@NotNull Player player, double range) {
+        return forEachNearMember(player, range, false, null);
+    }
+
+    /**
+     * @param nearMembers list to add the near members to, null to stop at the first one
+     * @return true if at least one member is near
+     */
+    private boolean forEachNearMember(@NotNull Player player, double range, boolean visibleOnly, @Nullable List<Player> nearMembers) {
+        Location location = player.getLocation();
+        World world = location.getWorld();
+
+        if (world == null)
+            return false;
+
+        HashMap<Long, ArrayList<Player>> cells = worlds.get(world.getUID());
+
+        if (cells == null)
+            return false;
+
+        boolean found = false;
+
+        //No range limit, every member in the world counts
+        if (range == 0) {
+            for (ArrayList<Player> cellMembers : cells.values()) {
+                found |= checkCell(player, location, range, visibleOnly, cellMembers, nearMembers);
+
+                if (found && nearMembers == null)
+                    return true;
+            }
+
+            return found;
+        }
+
+        int shift = getCellShift();
+        int cellX = location.getBlockX() >> shift;
+        int cellZ = location.getBlockZ() >> shift;
+
+        for (int x = cellX - 1; x <= cellX + 1; x++) {
+            for (int z = cellZ - 1; z <= cellZ + 1; z++) {
+                ArrayList<Player> cellMembers = cells.get(getCellKey(x, z));
+
+                if (cellMembers == null)
+                    continue;
+
+                found |= checkCell(player, location, range, visibleOnly, cellMembers, nearMembers);
+
+                if (found && nearMembers == null)
+                    return true;
+            }
+        }
+
+        return found;
+    }
+
+    private static boolean checkCell(@NotNull Player player, @NotNull Location location, double range, boolean visibleOnly, @NotNull List<Player> cellMembers, @Nullable List<Player> nearMembers) {
+        boolean found = false;
+
+        for (Player member : cellMembers) {
+            if (player.equals(member) || !member.isValid() || (visibleOnly && !player.canSee(member)))
+                continue;
+
+            if (Misc.isNear(location, member.getLocation(), range)) {
+                if (nearMembers == null)
+                    return true;
+
+                nearMembers.add(member);
+                found = true;
+            }
+        }
+
+        return found;
+    }
+
+    private static class MemberCell {
+        private UUID worldUID;
+        private long cellKey;
+
+        private MemberCell(@NotNull UUID worldUID, long cellKey) {
+            this.worldUID = worldUID;
+            this.cellKey = cellKey;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.gmail.nossr50.datatypes.party;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A copy of everything about a party that is saved to parties.yml, taken on the main thread so it can be written from any thread
+ */
+public final class PartySnapshot {
+    private static final ItemShareType[] ITEM_SHARE_TYPES = ItemShareType.values();
+
+    private final @NotNull Party party;
+    private final @NotNull String name;
+    private final @NotNull String leader;
+    private final String password;
+    private final boolean locked;
+    private final int level;
+    private final int xp;
+    private final @NotNull String ally;
+    private final @NotNull String xpShareMode;
+    private final @NotNull String itemShareMode;
+    private final boolean[] sharingDrops;
+    private final @NotNull List<String> members;
+
+    public PartySnapshot(@NotNull Party party) {
+        PartyLeader partyLeader = party.getLeader();
+
+        this.party = party;
+        name = party.getName();
+        leader = partyLeader.getUniqueId().toString() + "|" + partyLeader.getPlayerName();
+        password = party.getPassword();
+        locked = party.isLocked();
+        level = party.getLevel();
+        xp = (int) party.getXp();
+        ally = party.getAlly() != null ? party.getAlly().getName() : "";
+        xpShareMode = party.getXpShareMode().toString();
+        itemShareMode = party.getItemShareMode().toString();
+
+        sharingDrops = new boolean[ITEM_SHARE_TYPES.length];
+
+        for (ItemShareType itemShareType : ITEM_SHARE_TYPES) {
+            sharingDrops[itemShareType.ordinal()] = party.sharingDrops(itemShareType);
+        }
+
+        members = new ArrayList<>(party.getMembers().size());
+
+        for (Map.Entry<UUID, String> memberEntry : party.getMembers().entrySet()) {
+            String memberUniqueId = memberEntry.getKey() == null ? "" : memberEntry.getKey().toString();
+            members.add(memberUniqueId + "|" + memberEntry.getValue());
+        }
+    }
+
+    /**
+     * Flags the party to be copied again on the next save, used when this snapshot could not be written
+     */
+    public void markPartyDirty() {
+        party.markPartyDirty();
+    }
+
+    /**
+     * Writes the party the same way it is read by {@link com.gmail.nossr50.party.PartyManager#loadParties()}
+     *
+     * @param partiesFile target file
+     */
+    public void writeTo(@NotNull YamlConfiguration partiesFile) {
+        partiesFile.set(name + ".Leader", leader);
+        partiesFile.set(name + ".Password", password);
+        partiesFile.set(name + ".Locked", locked);
+        partiesFile.set(name + ".Level", level);
+        partiesFile.set(name + ".Xp", xp);
+        partiesFile.set(name + ".Ally", ally);
+        partiesFile.set(name + ".ExpShareMode", xpShareMode);
+        partiesFile.set(name + ".ItemShareMode", itemShareMode);
+
+        for (ItemShareType itemShareType : ITEM_SHARE_TYPES) {
+            partiesFile.set(name + ".ItemShareType." + itemShareType.toString(), sharingDrops[itemShareType.ordinal()]);
+        }
+
+        partiesFile.set(name + ".Members", members);
+    }
+}
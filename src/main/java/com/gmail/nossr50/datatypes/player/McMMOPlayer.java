@@ -9,7 +9,6 @@ import com.gmail.nossr50.datatypes.chat.ChatChannel;
 import com.gmail.nossr50.datatypes.experience.XPGainReason;
 import com.gmail.nossr50.datatypes.experience.XPGainSource;
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
-import com.gmail.nossr50.datatypes.meta.RuptureTaskMeta;
 import com.gmail.nossr50.datatypes.mods.CustomTool;
 import com.gmail.nossr50.datatypes.party.Party;
 import com.gmail.nossr50.datatypes.party.PartyTeleportRecord;
@@ -45,6 +44,7 @@ import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.experience.ExperienceBarManager;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.random.ActivationChanceTable;
 import com.gmail.nossr50.util.scoreboards.ScoreboardManager;
 import com.gmail.nossr50.util.skills.PerksUtils;
 import com.gmail.nossr50.util.skills.RankUtils;
@@ -81,6 +81,8 @@ public class McMMOPlayer implements Identified {
 
     private final Map<PrimarySkillType, SkillManager> skillManagers = new EnumMap<PrimarySkillType, SkillManager>(PrimarySkillType.class);
     private final ExperienceBarManager experienceBarManager;
+    private final ActivationChanceTable activationChanceTable = new ActivationChanceTable();
+    private final PermissionCache permissionCache = new PermissionCache();
 
     private Party   party;
     private Party   invite;
@@ -292,6 +294,22 @@ public class McMMOPlayer implements Identified {
         return experienceBarManager;
     }
 
+    public @NotNull ActivationChanceTable getActivationChanceTable() {
+        return activationChanceTable;
+    }
+
+    public @NotNull PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Drops every cached permission check, used when the permissions of the player may have changed
+     */
+    public void invalidatePermissions() {
+        permissionCache.invalidate();
+        activationChanceTable.invalidate();
+    }
+
     public AcrobaticsManager getAcrobaticsManager() {
         return (AcrobaticsManager) skillManagers.get(PrimarySkillType.ACROBATICS);
     }
@@ -646,7 +664,7 @@ public class McMMOPlayer implements Identified {
             return;
         }
 
-        if (!mcMMO.p.getGeneralConfig().getPartyXpNearMembersNeeded() || !PartyManager.getNearMembers(this).isEmpty()) {
+        if (!mcMMO.p.getGeneralConfig().getPartyXpNearMembersNeeded() || PartyManager.hasNearMembers(this)) {
             party.applyXpGain(modifyXpGain(skill, xp));
         }
     }
@@ -951,7 +969,7 @@ public class McMMOPlayer implements Identified {
         }
 
         setToolPreparationMode(tool, false);
-        new AbilityDisableTask(this, superAbilityType).runTaskLater(mcMMO.p, ticks * Misc.TICK_CONVERSION_FACTOR);
+        mcMMO.getTickWheel().schedule(new AbilityDisableTask(this, superAbilityType), ticks * Misc.TICK_CONVERSION_FACTOR);
     }
 
     public void processAbilityActivation(@NotNull PrimarySkillType primarySkillType) {
@@ -1013,7 +1031,7 @@ public class McMMOPlayer implements Identified {
             }
 
             setToolPreparationMode(tool, true);
-            new ToolLowerTask(this, tool).runTaskLater(mcMMO.p, 4 * Misc.TICK_CONVERSION_FACTOR);
+            mcMMO.getTickWheel().schedule(new ToolLowerTask(this, tool), 4 * Misc.TICK_CONVERSION_FACTOR);
         }
     }
 
@@ -1134,14 +1152,7 @@ public class McMMOPlayer implements Identified {
      */
     public void logout(boolean syncSave) {
         Player thisPlayer = getPlayer();
-        if(getPlayer().hasMetadata(MetadataConstants.METADATA_KEY_RUPTURE)) {
-            RuptureTaskMeta ruptureTaskMeta = (RuptureTaskMeta) getPlayer().getMetadata(MetadataConstants.METADATA_KEY_RUPTURE).get(0);
-
-            //Punish a logout
-            ruptureTaskMeta.getRuptureTimerTask().endRupture();
-            ruptureTaskMeta.getRuptureTimerTask().endRupture();
-            ruptureTaskMeta.getRuptureTimerTask().endRupture();
-        }
+        mcMMO.getRuptureEngine().endRupture(thisPlayer);
 
         cleanup();
 
@@ -2,7 +2,7 @@ package com.gmail.nossr50.datatypes.player;
 
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.experience.FormulaType;
-import com.gmail.nossr50.datatypes.experience.SkillXpGain;
+import com.gmail.nossr50.datatypes.experience.SkillXpGainTracker;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.mcMMO;
@@ -18,7 +18,7 @@ import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
 public class PlayerProfile {
     private final String playerName;
@@ -39,8 +39,7 @@ public class PlayerProfile {
     private final Map<UniqueDataType, Integer> uniquePlayerData = new EnumMap<UniqueDataType, Integer>(UniqueDataType.class); //Misc data that doesn't fit into other categories (chimaera wing, etc..)
 
     // Store previous XP gains for diminished returns
-    private final DelayQueue<SkillXpGain> gainedSkillsXp = new DelayQueue<>();
-    private final Map<PrimarySkillType, Float> rollingSkillsXp = new EnumMap<PrimarySkillType, Float>(PrimarySkillType.class);
+    private @Nullable SkillXpGainTracker gainedSkillsXp;
 
     @Deprecated
     public PlayerProfile(String playerName) {
@@ -389,13 +388,11 @@ public class PlayerProfile {
      * @return xp Experience amount registered
      */
     public float getRegisteredXpGain(PrimarySkillType primarySkillType) {
-        float xp = 0F;
-
-        if (rollingSkillsXp.get(primarySkillType) != null) {
-            xp = rollingSkillsXp.get(primarySkillType);
+        if (gainedSkillsXp == null) {
+            return 0F;
         }
 
-        return xp;
+        return gainedSkillsXp.getRollingXpGain(primarySkillType);
     }
 
     /**
@@ -406,19 +403,11 @@ public class PlayerProfile {
      * @param xp Experience amount to add
      */
     public void registerXpGain(PrimarySkillType primarySkillType, float xp) {
-        gainedSkillsXp.add(new SkillXpGain(primarySkillType, xp));
-        rollingSkillsXp.put(primarySkillType, getRegisteredXpGain(primarySkillType) + xp);
-    }
-
-    /**
-     * Remove experience gains older than a given time
-     * This is used for diminished XP returns
-     */
-    public void purgeExpiredXpGains() {
-        SkillXpGain gain;
-        while ((gain = gainedSkillsXp.poll()) != null) {
-            rollingSkillsXp.put(gain.getSkill(), getRegisteredXpGain(gain.getSkill()) - gain.getXp());
+        if (gainedSkillsXp == null) {
+            gainedSkillsXp = new SkillXpGainTracker((int) TimeUnit.MINUTES.toSeconds(ExperienceConfig.getInstance().getDiminishedReturnsTimeInterval()));
         }
+
+        gainedSkillsXp.registerXpGain(primarySkillType, xp);
     }
 
     /**
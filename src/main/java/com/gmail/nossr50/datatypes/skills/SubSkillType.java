@@ -2,6 +2,7 @@ package com.gmail.nossr50.datatypes.skills;
 
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.PermissionCache;
 import com.gmail.nossr50.util.text.StringUtils;
 
 import java.util.Locale;
@@ -110,6 +111,8 @@ public enum SubSkillType {
     WOODCUTTING_TREE_FELLER(1);
 
     private final int numRanks;
+    private String permissionNode;
+    private int permissionNodeId = -1;
     //TODO: SuperAbilityType should also contain flags for active by default? Not sure if it should work that way.
 
     /**
@@ -160,8 +163,26 @@ public enum SubSkillType {
      */
     public String getPermissionNodeAddress()
     {
-        //TODO: This could be optimized
-        return "mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH);
+        //Built on first use, a racing thread can only build the same node
+        if (permissionNode == null) {
+            permissionNode = "mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH);
+        }
+
+        return permissionNode;
+    }
+
+    /**
+     * Get the id of the permission node for this subskill in the permission cache
+     * @return the id of {@link #getPermissionNodeAddress()}
+     */
+    public int getPermissionNodeId()
+    {
+        //Resolved on first use, a racing thread can only resolve the same id
+        if (permissionNodeId == -1) {
+            permissionNodeId = PermissionCache.getNodeId(getPermissionNodeAddress());
+        }
+
+        return permissionNodeId;
     }
 
     /**
@@ -37,7 +37,7 @@ import org.bukkit.inventory.ItemStack;
 import java.util.Locale;
 
 public class Roll extends AcrobaticsSubSkill {
-
+    private String permissionNode;
 
     public Roll() {
         super("Roll", EventPriority.HIGHEST, SubSkillType.ACROBATICS_ROLL);
@@ -99,7 +99,11 @@ public class Roll extends AcrobaticsSubSkill {
      */
     @Override
     public String getPermissionNode() {
-        return ("mcmmo.ability."+getPrimaryKeyName()+"."+getConfigKeyName()).toLowerCase(Locale.ENGLISH);
+        if (permissionNode == null) {
+            permissionNode = ("mcmmo.ability."+getPrimaryKeyName()+"."+getConfigKeyName()).toLowerCase(Locale.ENGLISH);
+        }
+
+        return permissionNode;
     }
 
     /**
@@ -283,7 +287,7 @@ public class Roll extends AcrobaticsSubSkill {
             return true;
         }
 
-        if(UserManager.getPlayer(player).getAcrobaticsManager().hasFallenInLocationBefore(getBlockLocation(player)))
+        if(UserManager.getPlayer(player).getAcrobaticsManager().hasFallenInLocationBefore(player.getLocation()))
         {
             if(mcMMOPlayer.isDebugMode()) {
                 mcMMOPlayer.getPlayer().sendMessage("Acrobatics XP Prevented: Fallen in location before");
@@ -428,9 +432,15 @@ public class Roll extends AcrobaticsSubSkill {
 
     public void addFallLocation(Player player)
     {
-        UserManager.getPlayer(player).getAcrobaticsManager().addLocationToFallMap(getBlockLocation(player));
+        UserManager.getPlayer(player).getAcrobaticsManager().addLocationToFallMap(player.getLocation());
     }
 
+    /**
+     * WARNING: Being removed in an upcoming update, the fall history keys locations by block on its own
+     * @return the location of the block the player is in
+     * @deprecated the fall history no longer needs block locations, pass the player location to {@link com.gmail.nossr50.skills.acrobatics.AcrobaticsManager#addLocationToFallMap(Location)} instead
+     */
+    @Deprecated
     public Location getBlockLocation(Player player)
     {
         return player.getLocation().getBlock().getLocation();
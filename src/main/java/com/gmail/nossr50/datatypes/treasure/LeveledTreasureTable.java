@@ -0,0 +1,156 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Treasures that are each rolled on their own and unlock at a skill level, compiled when the config is loaded
+ * For every distinct drop level the unlocked treasures are kept in config order along with the chance of at least one of the first n dropping
+ * A roll is then one dice to find the first treasure that drops, plus a dice for each treasure after it when all of them can drop
+ *
+ * @param <T> the type of treasure
+ */
+public class LeveledTreasureTable<T extends Treasure> {
+    //Distinct drop levels, ascending
+    private final int[] dropLevels;
+    //Per drop level, the treasures unlocked at that level
+    private final List<List<T>> unlockedTreasures;
+    //Per drop level and luck, the chance of each treasure dropping
+    private final double[][][] chances;
+    //Per drop level and luck, the chance of any treasure up to and including index i dropping
+    private final double[][][] cumulativeChances;
+
+    /**
+     * @param treasures treasures in the order they are rolled
+     * @param successProbability the chance of a treasure dropping when rolled on its own
+     */
+    public LeveledTreasureTable(@NotNull List<T> treasures, @NotNull SuccessProbability<T> successProbability) {
+        dropLevels = treasures.stream().mapToInt(Treasure::getDropLevel).distinct().sorted().toArray();
+        unlockedTreasures = new ArrayList<>(dropLevels.length);
+        chances = new double[dropLevels.length][2][];
+        cumulativeChances = new double[dropLevels.length][2][];
+
+        for (int level = 0; level < dropLevels.length; level++) {
+            List<T> unlocked = new ArrayList<>();
+
+            for (T treasure : treasures) {
+                if (treasure.getDropLevel() <= dropLevels[level])
+                    unlocked.add(treasure);
+            }
+
+            unlockedTreasures.add(unlocked);
+
+            for (int lucky = 0; lucky < 2; lucky++) {
+                double[] levelChances = new double[unlocked.size()];
+                double[] levelCumulativeChances = new double[unlocked.size()];
+                double noDropChance = 1;
+
+                for (int i = 0; i < unlocked.size(); i++) {
+                    levelChances[i] = Math.min(Math.max(successProbability.getProbability(unlocked.get(i), lucky == 1), 0), 1);
+                    noDropChance *= 1 - levelChances[i];
+                    levelCumulativeChances[i] = 1 - noDropChance;
+                }
+
+                chances[level][lucky] = levelChances;
+                cumulativeChances[level][lucky] = levelCumulativeChances;
+            }
+        }
+    }
+
+    /**
+     * Rolls the treasures unlocked at a skill level in order and stops at the first one that drops
+     *
+     * @param skillLevel the skill level of the player
+     * @param isLucky whether the player has the lucky perk
+     * @param random source of randomness
+     * @return the first treasure that dropped, or null if none did
+     */
+    public @Nullable T rollFirst(int skillLevel, boolean isLucky, @NotNull Random random) {
+        int level = getLevelIndex(skillLevel);
+
+        if (level == -1)
+            return null;
+
+        int first = rollFirstIndex(cumulativeChances[level][isLucky ? 1 : 0], random);
+        return first == -1 ? null : unlockedTreasures.get(level).get(first);
+    }
+
+    /**
+     * Rolls every treasure unlocked at a skill level
+     *
+     * @param skillLevel the skill level of the player
+     * @param isLucky whether the player has the lucky perk
+     * @param random source of randomness
+     * @return every treasure that dropped, in config order
+     */
+    public @NotNull List<T> rollAll(int skillLevel, boolean isLucky, @NotNull Random random) {
+        int level = getLevelIndex(skillLevel);
+
+        if (level == -1)
+            return Collections.emptyList();
+
+        int first = rollFirstIndex(cumulativeChances[level][isLucky ? 1 : 0], random);
+
+        if (first == -1)
+            return Collections.emptyList();
+
+        List<T> unlocked = unlockedTreasures.get(level);
+        double[] levelChances = chances[level][isLucky ? 1 : 0];
+        List<T> drops = new ArrayList<>(2);
+        drops.add(unlocked.get(first));
+
+        //Knowing which treasure dropped first says nothing about the ones after it
+        for (int i = first + 1; i < unlocked.size(); i++) {
+            if (random.nextDouble() < levelChances[i])
+                drops.add(unlocked.get(i));
+        }
+
+        return drops;
+    }
+
+    /**
+     * @return the index of the highest drop level at or below the skill level, or -1 if no treasure is unlocked
+     */
+    private int getLevelIndex(int skillLevel) {
+        int index = Arrays.binarySearch(dropLevels, skillLevel);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static int rollFirstIndex(double @NotNull [] cumulativeChances, @NotNull Random random) {
+        if (cumulativeChances.length == 0)
+            return -1;
+
+        double diceRoll = random.nextDouble();
+
+        //Nothing drops, by far the most common outcome
+        if (diceRoll >= cumulativeChances[cumulativeChances.length - 1])
+            return -1;
+
+        //First index whose cumulative chance is above the roll
+        int low = 0;
+        int high = cumulativeChances.length - 1;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (diceRoll < cumulativeChances[middle])
+                high = middle;
+            else
+                low = middle + 1;
+        }
+
+        return low;
+    }
+
+    @FunctionalInterface
+    public interface SuccessProbability<T extends Treasure> {
+        /**
+         * @param treasure target treasure
+         * @param isLucky whether the player has the lucky perk
+         * @return the chance of the treasure dropping from 0-1
+         */
+        double getProbability(@NotNull T treasure, boolean isLucky);
+    }
+}
@@ -0,0 +1,69 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import com.gmail.nossr50.util.random.AliasTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Random;
+
+/**
+ * The drop rates of every {@link Rarity} for one loot tier, compiled when the config is loaded
+ * Rates are percentages rolled in {@link Rarity} order, whatever is left of 100 drops nothing
+ */
+public class RarityTable {
+    private static final Rarity[] RARITIES = Rarity.values();
+
+    public static final @NotNull RarityTable EMPTY = new RarityTable(new double[RARITIES.length]);
+
+    private final double[] dropRates;
+    private final AliasTable aliasTable;
+
+    /**
+     * @param dropRates drop rates from 0-100 indexed by {@link Rarity} ordinal
+     */
+    public RarityTable(double @NotNull [] dropRates) {
+        this.dropRates = dropRates.clone();
+        this.aliasTable = AliasTable.ofPercentages(this.dropRates);
+    }
+
+    public double getDropRate(@NotNull Rarity rarity) {
+        return dropRates[rarity.ordinal()];
+    }
+
+    /**
+     * Rolls a rarity
+     *
+     * @param random source of randomness
+     * @return the rarity that was rolled, or null if nothing drops
+     */
+    public @Nullable Rarity roll(@NotNull Random random) {
+        int outcome = aliasTable.sample(random);
+        return outcome < RARITIES.length ? RARITIES[outcome] : null;
+    }
+
+    /**
+     * Rolls a rarity with a dice that only goes up to rollScale * 100, lower values make rare drops more likely
+     *
+     * @param random source of randomness
+     * @param rollScale scale of the dice, 1 is a normal roll
+     * @return the rarity that was rolled, or null if nothing drops
+     */
+    public @Nullable Rarity roll(@NotNull Random random, double rollScale) {
+        if (rollScale == 1.0)
+            return roll(random);
+
+        //A scaled dice cuts off part of the table, walk through the rates instead
+        double diceRoll = random.nextDouble() * 100 * rollScale;
+
+        for (Rarity rarity : RARITIES) {
+            double dropRate = dropRates[rarity.ordinal()];
+
+            if (diceRoll <= dropRate)
+                return rarity;
+
+            diceRoll -= dropRate;
+        }
+
+        return null;
+    }
+}
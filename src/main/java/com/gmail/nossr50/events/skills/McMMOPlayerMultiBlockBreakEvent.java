@@ -0,0 +1,84 @@
+package com.gmail.nossr50.events.skills;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Called when an ability is about to break many blocks at once, protection plugins can veto single blocks or cancel the whole batch
+ * This replaces the fake damage and break events mcMMO would otherwise fire for every block, but only when General.Batched_Block_Break_Events is enabled
+ * and every other plugin listening for block damage or break events has called {@link #optIn(Plugin)}, so plugins that never heard of this event keep seeing every block
+ */
+public class McMMOPlayerMultiBlockBreakEvent extends McMMOPlayerSkillEvent implements Cancellable {
+    //Plugin names, so an opt in survives the plugin being reloaded
+    private static final @NotNull Set<String> optedInPlugins = ConcurrentHashMap.newKeySet();
+
+    private final @NotNull List<Block> blocks;
+    private final @NotNull Set<Block> vetoedBlocks = new HashSet<>();
+    private boolean cancelled;
+
+    public McMMOPlayerMultiBlockBreakEvent(@NotNull Player player, @NotNull PrimarySkillType skill, @NotNull List<Block> blocks) {
+        super(player, skill);
+        this.blocks = Collections.unmodifiableList(blocks);
+        cancelled = false;
+    }
+
+    /**
+     * Tells mcMMO that a plugin handles this event for every block it would otherwise check through block damage and break events
+     * Should be called when the plugin enables
+     *
+     * @param plugin the plugin handling this event
+     */
+    public static void optIn(@NotNull Plugin plugin) {
+        optedInPlugins.add(plugin.getName());
+    }
+
+    /**
+     * @param plugin the plugin to check
+     * @return true if the plugin called {@link #optIn(Plugin)}
+     */
+    public static boolean hasOptedIn(@NotNull Plugin plugin) {
+        return optedInPlugins.contains(plugin.getName());
+    }
+
+    /**
+     * @return every block the ability is about to break
+     */
+    public @NotNull List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Prevents a single block from being broken, the rest of the batch is unaffected
+     *
+     * @param block the block to protect
+     */
+    public void vetoBlock(@NotNull Block block) {
+        vetoedBlocks.add(block);
+    }
+
+    /**
+     * @param block the block to check
+     * @return true if the block was vetoed or the whole batch was cancelled
+     */
+    public boolean isVetoed(@NotNull Block block) {
+        return cancelled || vetoedBlocks.contains(block);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean value) {
+        this.cancelled = value;
+    }
+}
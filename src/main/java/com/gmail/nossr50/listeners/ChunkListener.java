@@ -9,12 +9,26 @@ import org.bukkit.event.world.ChunkUnloadEvent;
 import java.util.List;
 
 public class ChunkListener implements Listener {
+    private final boolean reindexSummons;
+
+    /**
+     * @param reindexSummons true if summons should all be reindexed before each unload, for servers without EntitiesUnloadEvent
+     */
+    public ChunkListener(boolean reindexSummons) {
+        this.reindexSummons = reindexSummons;
+    }
 
     @EventHandler(ignoreCancelled = true)
     public void onChunkUnload(ChunkUnloadEvent event) {
+        if (reindexSummons)
+            mcMMO.getTransientEntityTracker().reindexAllSummons();
+
         List<LivingEntity> matchingEntities = mcMMO.getTransientEntityTracker().getAllTransientEntitiesInChunk(event.getChunk());
         for(LivingEntity livingEntity : matchingEntities) {
             mcMMO.getTransientEntityTracker().removeSummon(livingEntity, null, false);
         }
+
+        mcMMO.getRuptureEngine().endRupturesInChunk(event.getChunk());
+        mcMMO.getMobHealthbarManager().restoreNamesInChunk(event.getChunk());
     }
 }
@@ -0,0 +1,33 @@
+package com.gmail.nossr50.listeners;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Removes summons that walked into a chunk after the summon chunk index last saw them
+ * EntitiesUnloadEvent only exists on 1.17+, this listener must not be registered on older servers
+ */
+public class EntitiesUnloadListener implements Listener {
+
+    @EventHandler
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for(Entity entity : event.getEntities()) {
+            if(entity instanceof LivingEntity && mcMMO.getTransientEntityTracker().isTransientSummon((LivingEntity) entity)) {
+                mcMMO.getTransientEntityTracker().removeSummon((LivingEntity) entity, null, false);
+            }
+        }
+    }
+
+    public static boolean isSupported() {
+        try {
+            Class.forName("org.bukkit.event.world.EntitiesUnloadEvent");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.gmail.nossr50.listeners;
 
 import com.gmail.nossr50.config.WorldBlacklist;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.meta.TransientEntityState;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.interfaces.InteractType;
@@ -11,7 +12,6 @@ import com.gmail.nossr50.events.fake.FakeEntityTameEvent;
 import com.gmail.nossr50.events.skills.rupture.McMMOEntityDamageByRuptureEvent;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.party.PartyManager;
-import com.gmail.nossr50.runnables.TravelingBlockMetaCleanup;
 import com.gmail.nossr50.skills.archery.Archery;
 import com.gmail.nossr50.skills.mining.BlastMining;
 import com.gmail.nossr50.skills.mining.MiningManager;
@@ -43,7 +43,6 @@ import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.PotionMeta;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.projectiles.ProjectileSource;
@@ -154,16 +153,15 @@ public class EntityListener implements Listener {
             }
 
             ItemStack bow = event.getBow();
+            TransientEntityState projectileState = mcMMO.getTransientEntityStore().getOrCreate(projectile);
 
             if (bow != null
                     && bow.containsEnchantment(Enchantment.ARROW_INFINITE)) {
-                projectile.setMetadata(MetadataConstants.METADATA_KEY_INF_ARROW, MetadataConstants.MCMMO_METADATA_VALUE);
+                projectileState.setInfiniteArrow(true);
             }
 
-            projectile.setMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE, new FixedMetadataValue(pluginRef, Math.min(event.getForce() * mcMMO.p.getAdvancedConfig().getForceMultiplier(), 1.0)));
-            projectile.setMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE, new FixedMetadataValue(pluginRef, projectile.getLocation()));
-            //Cleanup metadata in 1 minute in case normal collection falls through
-            CombatUtils.delayArrowMetaCleanup((Projectile) projectile);
+            projectileState.setBowForce(Math.min(event.getForce() * mcMMO.p.getAdvancedConfig().getForceMultiplier(), 1.0));
+            projectileState.setLaunchLocation(projectile.getLocation());
         }
     }
 
@@ -187,13 +185,13 @@ public class EntityListener implements Listener {
             EntityType entityType = projectile.getType();
 
             if(entityType == EntityType.ARROW || entityType == EntityType.SPECTRAL_ARROW) {
-                CombatUtils.delayArrowMetaCleanup(projectile); //Cleans up metadata 1 minute from now in case other collection methods fall through
+                TransientEntityState projectileState = mcMMO.getTransientEntityStore().getOrCreate(projectile);
 
-                if(!projectile.hasMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE))
-                    projectile.setMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE, new FixedMetadataValue(pluginRef, 1.0));
+                if(!projectileState.hasBowForce())
+                    projectileState.setBowForce(1.0);
 
-                if(!projectile.hasMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE))
-                    projectile.setMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE, new FixedMetadataValue(pluginRef, projectile.getLocation()));
+                if(projectileState.getLaunchLocation() == null)
+                    projectileState.setLaunchLocation(projectile.getLocation());
 
                 //Check both hands
                 if(ItemUtils.doesPlayerHaveEnchantmentInHands(player, "piercing")) {
@@ -201,7 +199,7 @@ public class EntityListener implements Listener {
                 }
 
                 if (RandomChanceUtil.isActivationSuccessful(SkillActivationType.RANDOM_LINEAR_100_SCALE_WITH_CAP, SubSkillType.ARCHERY_ARROW_RETRIEVAL, player)) {
-                    projectile.setMetadata(MetadataConstants.METADATA_KEY_TRACKED_ARROW, MetadataConstants.MCMMO_METADATA_VALUE);
+                    projectileState.setTrackedArrow(true);
                 }
             }
         }
@@ -238,18 +236,17 @@ public class EntityListener implements Listener {
          * It's a headache to read but it works, I'm tempted to just remove it
          */
         if (entity instanceof FallingBlock || entity instanceof Enderman) {
-            boolean isTracked = entity.hasMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK);
+            boolean isTracked = mcMMO.getTransientEntityStore().isTravelingBlock(entity);
 
             if (mcMMO.getPlaceStore().isTrue(block) && !isTracked) {
                 mcMMO.getPlaceStore().setFalse(block);
 
-                entity.setMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK, MetadataConstants.MCMMO_METADATA_VALUE);
-                TravelingBlockMetaCleanup metaCleanupTask = new TravelingBlockMetaCleanup(entity, pluginRef);
-                metaCleanupTask.runTaskTimer(pluginRef, 20, 20*60); //6000 ticks is 5 minutes
+                //Falling blocks that never land are collected along with their entity, no cleanup task needed
+                mcMMO.getTransientEntityStore().getOrCreate(entity).setTravelingBlock(true);
             }
             else if (isTracked) {
                 mcMMO.getPlaceStore().setTrue(block);
-                entity.removeMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK, pluginRef);
+                mcMMO.getTransientEntityStore().getOrCreate(entity).setTravelingBlock(false);
             }
         } else if ((block.getType() == Material.REDSTONE_ORE || block.getType().getKey().getKey().equalsIgnoreCase("deepslate_redstone_ore"))) {
             //Redstone ore fire this event and should be ignored
@@ -490,10 +487,6 @@ public class EntityListener implements Listener {
         if(WorldBlacklist.isWorldBlacklisted(event.getEntity().getWorld()))
             return;
 
-        if(event.getEntity().hasMetadata(MetadataConstants.METADATA_KEY_EXPLOSION_FROM_RUPTURE)) {
-            event.getEntity().removeMetadata(MetadataConstants.METADATA_KEY_EXPLOSION_FROM_RUPTURE, mcMMO.p);
-        }
-
         if(event.getEntity() instanceof Player)
         {
             Player player = (Player) event.getEntity();
@@ -683,6 +676,8 @@ public class EntityListener implements Listener {
             mcMMO.getTransientEntityTracker().removeSummon(entity, null, false);
         }
 
+        mcMMO.getRuptureEngine().endRupture(entity);
+
         /* WORLD BLACKLIST CHECK */
         if(WorldBlacklist.isWorldBlacklisted(event.getEntity().getWorld())) {
             return;
@@ -695,6 +690,24 @@ public class EntityListener implements Listener {
         Archery.arrowRetrievalCheck(entity);
     }
 
+    /**
+     * Keep the chunk index of summons in sync when they are teleported
+     *
+     * @param event
+     *            The event to watch
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityTeleport(EntityTeleportEvent event) {
+        if (event.getTo() == null || !(event.getEntity() instanceof LivingEntity))
+            return;
+
+        LivingEntity livingEntity = (LivingEntity) event.getEntity();
+
+        if(mcMMO.getTransientEntityTracker().isTransientSummon(livingEntity)) {
+            mcMMO.getTransientEntityTracker().updateSummonLocation(livingEntity, event.getTo());
+        }
+    }
+
     /**
      * Monitor CreatureSpawn events.
      *
@@ -0,0 +1,73 @@
+package com.gmail.nossr50.listeners;
+
+import com.gmail.nossr50.config.WorldBlacklist;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.skills.alchemy.AlchemyPotionBrewer;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.BrewingStand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Handles hoppers moving items into brewing stands
+ * This fires for every hopper transfer on the server, so it is only registered when one of the hopper related alchemy options is enabled
+ */
+public class HopperListener implements Listener {
+    /**
+     * Checks if any of the hopper related alchemy options are enabled
+     *
+     * @return true if this listener should be registered
+     */
+    public static boolean isNeeded() {
+        return mcMMO.p.getGeneralConfig().getEnabledForHoppers()
+                || mcMMO.p.getGeneralConfig().getPreventHopperTransferIngredients()
+                || mcMMO.p.getGeneralConfig().getPreventHopperTransferBottles();
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
+    public void onInventoryMoveItemEvent(InventoryMoveItemEvent event) {
+        Inventory inventory = event.getDestination();
+
+        //Cheap rejection first, nearly every transfer is not into a brewing stand
+        if (inventory.getType() != InventoryType.BREWING) {
+            return;
+        }
+
+        /* WORLD BLACKLIST CHECK */
+        Location location = inventory.getLocation();
+
+        if(location != null && location.getWorld() != null)
+            if(WorldBlacklist.isWorldBlacklisted(location.getWorld()))
+                return;
+
+        InventoryHolder holder = inventory.getHolder();
+
+        if (!(holder instanceof BrewingStand)) {
+            return;
+        }
+
+        ItemStack item = event.getItem();
+        boolean isPotion = item.getType() == Material.POTION || item.getType() == Material.SPLASH_POTION || item.getType() == Material.LINGERING_POTION;
+
+        if (mcMMO.p.getGeneralConfig().getPreventHopperTransferIngredients() && !isPotion) {
+            event.setCancelled(true);
+            return;
+        }
+
+        if (mcMMO.p.getGeneralConfig().getPreventHopperTransferBottles() && isPotion) {
+            event.setCancelled(true);
+            return;
+        }
+
+        if (mcMMO.p.getGeneralConfig().getEnabledForHoppers() && AlchemyPotionBrewer.isValidIngredient(null, item)) {
+            AlchemyPotionBrewer.scheduleCheck(null, (BrewingStand) holder);
+        }
+    }
+}
@@ -10,7 +10,6 @@ import com.gmail.nossr50.runnables.player.PlayerUpdateInventoryTask;
 import com.gmail.nossr50.skills.alchemy.Alchemy;
 import com.gmail.nossr50.skills.alchemy.AlchemyPotionBrewer;
 import com.gmail.nossr50.util.ItemUtils;
-import com.gmail.nossr50.util.MetadataConstants;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.UserManager;
 import com.gmail.nossr50.util.skills.SkillUtils;
@@ -359,43 +358,6 @@ public class InventoryListener implements Listener {
         }
     }
 
-    @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
-    public void onInventoryMoveItemEvent(InventoryMoveItemEvent event) {
-        /* WORLD BLACKLIST CHECK */
-
-        if(event.getSource().getLocation() != null)
-            if(WorldBlacklist.isWorldBlacklisted(event.getSource().getLocation().getWorld()))
-                return;
-
-        Inventory inventory = event.getDestination();
-
-        if (!(inventory instanceof BrewerInventory)) {
-            return;
-        }
-
-        InventoryHolder holder = inventory.getHolder();
-
-        if (!(holder instanceof BrewingStand)) {
-            return;
-        }
-
-        ItemStack item = event.getItem();
-
-        if (mcMMO.p.getGeneralConfig().getPreventHopperTransferIngredients() && item.getType() != Material.POTION && item.getType() != Material.SPLASH_POTION && item.getType() != Material.LINGERING_POTION) {
-            event.setCancelled(true);
-            return;
-        }
-
-        if (mcMMO.p.getGeneralConfig().getPreventHopperTransferBottles() && (item.getType() == Material.POTION || item.getType() == Material.SPLASH_POTION || item.getType() == Material.LINGERING_POTION)) {
-            event.setCancelled(true);
-            return;
-        }
-
-        if (mcMMO.p.getGeneralConfig().getEnabledForHoppers() && AlchemyPotionBrewer.isValidIngredient(null, item)) {
-            AlchemyPotionBrewer.scheduleCheck(null, (BrewingStand) holder);
-        }
-    }
-
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onInventoryClickEvent(InventoryClickEvent event) {
         if(event.getCurrentItem() == null) {
@@ -428,7 +390,7 @@ public class InventoryListener implements Listener {
 
         final HumanEntity whoClicked = event.getWhoClicked();
 
-        if (!whoClicked.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA)) {
+        if (!UserManager.hasPlayerDataKey(whoClicked)) {
             return;
         }
 
@@ -3,6 +3,7 @@ package com.gmail.nossr50.listeners;
 import com.gmail.nossr50.config.WorldBlacklist;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.chat.ChatChannel;
+import com.gmail.nossr50.datatypes.party.PartyMemberIndex;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
@@ -12,7 +13,6 @@ import com.gmail.nossr50.events.fake.FakePlayerAnimationEvent;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.party.ShareHandler;
-import com.gmail.nossr50.runnables.MobHealthDisplayUpdaterTask;
 import com.gmail.nossr50.runnables.player.PlayerProfileLoadingTask;
 import com.gmail.nossr50.skills.fishing.FishingManager;
 import com.gmail.nossr50.skills.herbalism.HerbalismManager;
@@ -33,6 +33,7 @@ import com.gmail.nossr50.worldguard.WorldGuardManager;
 import com.gmail.nossr50.worldguard.WorldGuardUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
@@ -48,9 +49,12 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.*;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 
@@ -61,6 +65,57 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
 
+    /**
+     * Keeps the party member index up to date when a player moves into another cell
+     *
+     * @param event The event to monitor
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMoveMonitor(PlayerMoveEvent event) {
+        if (PartyMemberIndex.isSameCell(event.getFrom(), event.getTo()))
+            return;
+
+        updatePartyPosition(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleportMonitor(PlayerTeleportEvent event) {
+        if (PartyMemberIndex.isSameCell(event.getFrom(), event.getTo()))
+            return;
+
+        updatePartyPosition(event.getPlayer(), event.getTo());
+    }
+
+    /**
+     * Passengers never fire move events, so their party member index cells follow their vehicle instead
+     *
+     * @param event The event to monitor
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMoveMonitor(VehicleMoveEvent event) {
+        if (PartyMemberIndex.isSameCell(event.getFrom(), event.getTo()))
+            return;
+
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                updatePartyPosition((Player) passenger, event.getTo());
+            }
+        }
+    }
+
+    private static void updatePartyPosition(@NotNull Player player, @Nullable Location location) {
+        if (location == null)
+            return;
+
+        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+
+        //Profile not loaded
+        if (mcMMOPlayer == null || !mcMMOPlayer.inParty())
+            return;
+
+        mcMMOPlayer.getParty().getMemberIndex().updateMember(player, location);
+    }
+
     /**
      * Monitor PlayerTeleportEvents.
      * <p>
@@ -148,7 +203,7 @@ public class PlayerListener implements Listener {
             return;
 
         // temporarily clear the mob's name
-        new MobHealthDisplayUpdaterTask(attacker).run();
+        mcMMO.getMobHealthbarManager().restoreName(attacker);
 
         // set the name back
         new BukkitRunnable() {
@@ -184,7 +239,7 @@ public class PlayerListener implements Listener {
 
         Player killedPlayer = event.getEntity();
 
-        if (!killedPlayer.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA) || Permissions.hardcoreBypass(killedPlayer)) {
+        if (!UserManager.hasPlayerDataKey(killedPlayer) || Permissions.hardcoreBypass(killedPlayer)) {
             return;
         }
 
@@ -244,6 +299,33 @@ public class PlayerListener implements Listener {
 
         mcMMOPlayer.checkGodMode();
         mcMMOPlayer.checkParty();
+        updatePartyPosition(player, player.getLocation());
+
+        //Permissions can be per world
+        mcMMOPlayer.invalidatePermissions();
+    }
+
+    /**
+     * Monitor PlayerCommandSendEvents.
+     * <p>
+     * The server resends the command list whenever it recalculates the
+     * permissions of a player, so this is when cached permission checks
+     * have to be dropped.
+     * <p>
+     * Changes that never make the server recalculate, such as some
+     * permission plugins editing attachments directly, are picked up by
+     * the sweep mcMMO runs every 5 seconds. That is the intended upper
+     * bound on how long a revoked permission can still apply.
+     *
+     * @param event The event to monitor
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(event.getPlayer());
+
+        if (mcMMOPlayer != null) {
+            mcMMOPlayer.invalidatePermissions();
+        }
     }
 
     /**
@@ -513,11 +595,6 @@ public class PlayerListener implements Listener {
             Item drop = event.getItem();
             ItemStack dropStack = drop.getItemStack();
 
-            //Remove tracking
-            if(drop.hasMetadata(MetadataConstants.METADATA_KEY_TRACKED_ARROW)) {
-                drop.removeMetadata(MetadataConstants.METADATA_KEY_TRACKED_ARROW, mcMMO.p);
-            }
-
             if (drop.hasMetadata(MetadataConstants.METADATA_KEY_DISARMED_ITEM)) {
                 if (!player.getName().equals(drop.getMetadata(MetadataConstants.METADATA_KEY_DISARMED_ITEM).get(0).asString())) {
                     event.setCancelled(true);
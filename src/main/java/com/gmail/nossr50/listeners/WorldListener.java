@@ -9,6 +9,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
 public class WorldListener implements Listener {
@@ -34,6 +35,16 @@ public class WorldListener implements Listener {
         }
     }
 
+    /**
+     * Monitor WorldLoad events.
+     *
+     * @param event The event to watch
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldLoad(WorldLoadEvent event) {
+        WorldBlacklist.resolveWorld(event.getWorld());
+    }
+
     /**
      * Monitor WorldUnload events.
      *
@@ -42,8 +53,10 @@ public class WorldListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onWorldUnload(WorldUnloadEvent event) {
         /* WORLD BLACKLIST CHECK */
-        if(WorldBlacklist.isWorldBlacklisted(event.getWorld()))
+        if(WorldBlacklist.isWorldBlacklisted(event.getWorld())) {
+            WorldBlacklist.forgetWorld(event.getWorld());
             return;
+        }
 
         mcMMO.getPlaceStore().unloadWorld(event.getWorld());
     }
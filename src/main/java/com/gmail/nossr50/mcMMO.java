@@ -3,7 +3,6 @@ package com.gmail.nossr50;
 import com.gmail.nossr50.chat.ChatManager;
 import com.gmail.nossr50.commands.CommandManager;
 import com.gmail.nossr50.config.*;
-import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.config.mods.ArmorConfigManager;
 import com.gmail.nossr50.config.mods.BlockConfigManager;
 import com.gmail.nossr50.config.mods.EntityConfigManager;
@@ -15,6 +14,7 @@ import com.gmail.nossr50.config.treasure.FishingTreasureConfig;
 import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.database.DatabaseManager;
 import com.gmail.nossr50.database.DatabaseManagerFactory;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.acrobatics.Roll;
 import com.gmail.nossr50.listeners.*;
@@ -24,7 +24,6 @@ import com.gmail.nossr50.runnables.backups.CleanBackupsTask;
 import com.gmail.nossr50.runnables.commands.NotifySquelchReminderTask;
 import com.gmail.nossr50.runnables.database.UserPurgeTask;
 import com.gmail.nossr50.runnables.party.PartyAutoKickTask;
-import com.gmail.nossr50.runnables.player.ClearRegisteredXPGainTask;
 import com.gmail.nossr50.runnables.player.PlayerProfileLoadingTask;
 import com.gmail.nossr50.runnables.player.PowerLevelUpdatingTask;
 import com.gmail.nossr50.skills.alchemy.Alchemy;
@@ -35,6 +34,7 @@ import com.gmail.nossr50.skills.repair.repairables.SimpleRepairableManager;
 import com.gmail.nossr50.skills.salvage.salvageables.Salvageable;
 import com.gmail.nossr50.skills.salvage.salvageables.SalvageableManager;
 import com.gmail.nossr50.skills.salvage.salvageables.SimpleSalvageableManager;
+import com.gmail.nossr50.skills.swords.RuptureEngine;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.blockmeta.ChunkManager;
 import com.gmail.nossr50.util.blockmeta.ChunkManagerFactory;
@@ -45,6 +45,7 @@ import com.gmail.nossr50.util.platform.PlatformManager;
 import com.gmail.nossr50.util.platform.ServerSoftwareType;
 import com.gmail.nossr50.util.player.PlayerLevelUtils;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.scheduler.TickWheel;
 import com.gmail.nossr50.util.scoreboards.ScoreboardManager;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillTools;
@@ -93,6 +94,10 @@ public class mcMMO extends JavaPlugin {
     private static ChatManager chatManager;
     private static CommandManager commandManager; //ACF
     private static TransientEntityTracker transientEntityTracker;
+    private static TransientEntityStore transientEntityStore;
+    private static TickWheel tickWheel;
+    private static RuptureEngine ruptureEngine;
+    private static MobHealthbarManager mobHealthbarManager;
 
     private @NotNull SkillTools skillTools;
 
@@ -192,6 +197,11 @@ public class mcMMO extends JavaPlugin {
             //Init Material Maps
             materialMapStore = new MaterialMapStore();
 
+            //Shared timer for short lived per player tasks, started by scheduleTasks()
+            tickWheel = new TickWheel();
+            ruptureEngine = new RuptureEngine();
+            mobHealthbarManager = new MobHealthbarManager();
+
             loadConfigFiles();
 
             if (!noErrorsInConfigFiles) {
@@ -277,6 +287,8 @@ public class mcMMO extends JavaPlugin {
                     metrics.addCustomChart(new SimplePie("leveling_system", () -> "Retro"));
                 else
                     metrics.addCustomChart(new SimplePie("leveling_system", () -> "Standard"));
+
+                metrics.addCustomChart(new SimplePie("alchemy_hopper_listener", () -> HopperListener.isNeeded() ? "Registered" : "Not Registered"));
             }
         }
 
@@ -310,6 +322,8 @@ public class mcMMO extends JavaPlugin {
 
         transientMetadataTools = new TransientMetadataTools(this);
 
+        transientEntityStore = new TransientEntityStore();
+
         chatManager = new ChatManager(this);
 
         commandManager = new CommandManager(this);
@@ -358,7 +372,7 @@ public class mcMMO extends JavaPlugin {
         try {
             UserManager.saveAll();      // Make sure to save player information if the server shuts down
             UserManager.clearAll();
-            Alchemy.finishAllBrews();   // Finish all partially complete AlchemyBrewTasks to prevent vanilla brewing continuation on restart
+            Alchemy.finishAllBrews();   // Finish all partially complete AlchemyBrews to prevent vanilla brewing continuation on restart
             PartyManager.saveParties(); // Save our parties
 
             //TODO: Needed?
@@ -391,6 +405,14 @@ public class mcMMO extends JavaPlugin {
 
         debug("Canceling all tasks...");
         getServer().getScheduler().cancelTasks(this); // This removes our tasks
+
+        //onEnable may have bailed out before the wheel was created
+        if (tickWheel != null)
+            tickWheel.stop();
+
+        if (mobHealthbarManager != null)
+            mobHealthbarManager.restoreAllNames(); // Healthbars would otherwise be saved as mob names
+
         debug("Unregister all events...");
         HandlerList.unregisterAll(this); // Cancel event registrations
 
@@ -591,9 +613,18 @@ public class mcMMO extends JavaPlugin {
         pluginManager.registerEvents(new BlockListener(this), this);
         pluginManager.registerEvents(new EntityListener(this), this);
         pluginManager.registerEvents(new InventoryListener(this), this);
+
+        //Hopper transfers are very frequent, only listen to them when something will be done with them
+        if(HopperListener.isNeeded())
+            pluginManager.registerEvents(new HopperListener(), this);
+
         pluginManager.registerEvents(new SelfListener(this), this);
         pluginManager.registerEvents(new WorldListener(this), this);
-        pluginManager.registerEvents(new ChunkListener(), this);
+        boolean entitiesUnloadSupported = EntitiesUnloadListener.isSupported();
+        pluginManager.registerEvents(new ChunkListener(!entitiesUnloadSupported), this);
+
+        if(entitiesUnloadSupported)
+            pluginManager.registerEvents(new EntitiesUnloadListener(), this);
 //        pluginManager.registerEvents(new CommandListener(this), this);
     }
 
@@ -628,6 +659,9 @@ public class mcMMO extends JavaPlugin {
     }
 
     private void scheduleTasks() {
+        // Drives ability, cooldown and notification timers
+        tickWheel.start(this);
+
         // Periodic save timer (Saves every 10 minutes by default)
         long second = 20;
         long minute = second * 60;
@@ -659,14 +693,15 @@ public class mcMMO extends JavaPlugin {
             new PartyAutoKickTask().runTaskTimer(this, kickIntervalTicks, kickIntervalTicks);
         }
 
+        // Catch party member movement the move listeners missed
+        tickWheel.scheduleRepeating(PartyManager::refreshMemberIndexes, Misc.TICK_CONVERSION_FACTOR, Misc.TICK_CONVERSION_FACTOR);
+
+        // Catch permission changes that never made the server recalculate permissions, a revoked permission applies for at most this long
+        tickWheel.scheduleRepeating(() -> UserManager.getPlayers().forEach(McMMOPlayer::invalidatePermissions), 5 * Misc.TICK_CONVERSION_FACTOR, 5 * Misc.TICK_CONVERSION_FACTOR);
+
         // Update power level tag scoreboards
         new PowerLevelUpdatingTask().runTaskTimer(this, 2 * Misc.TICK_CONVERSION_FACTOR, 2 * Misc.TICK_CONVERSION_FACTOR);
 
-        // Clear the registered XP data so players can earn XP again
-        if (ExperienceConfig.getInstance().getDiminishedReturnsEnabled()) {
-            new ClearRegisteredXPGainTask().runTaskTimer(this, 60, 60);
-        }
-
         if(mcMMO.p.getAdvancedConfig().allowPlayerTips())
         {
             new NotifySquelchReminderTask().runTaskTimer(this, 60, ((20 * 60) * 60));
@@ -746,6 +781,22 @@ public class mcMMO extends JavaPlugin {
         return transientEntityTracker;
     }
 
+    public static TransientEntityStore getTransientEntityStore() {
+        return transientEntityStore;
+    }
+
+    public static TickWheel getTickWheel() {
+        return tickWheel;
+    }
+
+    public static RuptureEngine getRuptureEngine() {
+        return ruptureEngine;
+    }
+
+    public static MobHealthbarManager getMobHealthbarManager() {
+        return mobHealthbarManager;
+    }
+
     public static synchronized boolean isServerShutdownExecuted() {
         return serverShutdownExecuted;
     }
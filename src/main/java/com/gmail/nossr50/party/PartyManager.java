@@ -5,6 +5,8 @@ import com.gmail.nossr50.datatypes.interactions.NotificationType;
 import com.gmail.nossr50.datatypes.party.ItemShareType;
 import com.gmail.nossr50.datatypes.party.Party;
 import com.gmail.nossr50.datatypes.party.PartyLeader;
+import com.gmail.nossr50.datatypes.party.PartyMemberIndex;
+import com.gmail.nossr50.datatypes.party.PartySnapshot;
 import com.gmail.nossr50.datatypes.party.ShareMode;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.events.party.McMMOPartyAllianceChangeEvent;
@@ -12,7 +14,7 @@ import com.gmail.nossr50.events.party.McMMOPartyChangeEvent;
 import com.gmail.nossr50.events.party.McMMOPartyChangeEvent.EventReason;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.util.Misc;
+import com.gmail.nossr50.runnables.party.PartySaveTask;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.player.UserManager;
@@ -24,16 +26,20 @@ import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.UUID;
 
 public final class PartyManager {
     private static final String partiesFilePath = mcMMO.getFlatFileDirectory() + "parties.yml";
-    private static final List<Party> parties = new ArrayList<>();
+    private static final PartyRegistry registry = new PartyRegistry();
     private static final File partyFile = new File(partiesFilePath);
 
+    //What each party looked like when it was last saved
+    private static IdentityHashMap<Party, PartySnapshot> savedSnapshots = new IdentityHashMap<>();
+    private static volatile boolean saveFailed = false;
+
     private PartyManager() {}
 
     /**
@@ -147,41 +153,42 @@ public final class PartyManager {
      * @return the near party members
      */
     public static List<Player> getNearMembers(McMMOPlayer mcMMOPlayer) {
-        List<Player> nearMembers = new ArrayList<>();
         Party party = mcMMOPlayer.getParty();
 
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = mcMMO.p.getGeneralConfig().getPartyShareRange();
-
-            for (Player member : party.getOnlineMembers()) {
-                if (!player.equals(member) && member.isValid() && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
+        if (party == null)
+            return new ArrayList<>();
 
-        return nearMembers;
+        return party.getMemberIndex().getNearMembers(mcMMOPlayer.getPlayer(), mcMMO.p.getGeneralConfig().getPartyShareRange(), false);
     }
 
     public static List<Player> getNearVisibleMembers(McMMOPlayer mcMMOPlayer) {
-        List<Player> nearMembers = new ArrayList<>();
         Party party = mcMMOPlayer.getParty();
 
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = mcMMO.p.getGeneralConfig().getPartyShareRange();
+        if (party == null)
+            return new ArrayList<>();
 
-            for (Player member : party.getVisibleMembers(player)) {
-                if (!player.equals(member)
-                        && member.isValid()
-                        && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
+        return party.getMemberIndex().getNearMembers(mcMMOPlayer.getPlayer(), mcMMO.p.getGeneralConfig().getPartyShareRange(), true);
+    }
+
+    /**
+     * Whether any party member is near, same as checking {@link #getNearMembers(McMMOPlayer)} without building the list
+     *
+     * @param mcMMOPlayer The player to check
+     * @return true if at least one party member is near
+     */
+    public static boolean hasNearMembers(McMMOPlayer mcMMOPlayer) {
+        Party party = mcMMOPlayer.getParty();
 
-        return nearMembers;
+        return party != null && party.getMemberIndex().hasNearMembers(mcMMOPlayer.getPlayer(), mcMMO.p.getGeneralConfig().getPartyShareRange());
+    }
+
+    /**
+     * Refreshes the member positions of every party, see {@link PartyMemberIndex#refresh(List)}
+     */
+    public static void refreshMemberIndexes() {
+        for (Party party : registry.getParties()) {
+            party.getMemberIndex().refresh(party.getOnlineMembers());
+        }
     }
 
 
@@ -228,13 +235,7 @@ public final class PartyManager {
      * @return the existing party, null otherwise
      */
     public static Party getParty(String partyName) {
-        for (Party party : parties) {
-            if (party.getName().equalsIgnoreCase(partyName)) {
-                return party;
-            }
-        }
-
-        return null;
+        return registry.getParty(partyName);
     }
 
     /**
@@ -245,13 +246,7 @@ public final class PartyManager {
      */
     @Deprecated
     public static Party getPlayerParty(String playerName) {
-        for (Party party : parties) {
-            if (party.getMembers().containsKey(playerName)) {
-                return party;
-            }
-        }
-
-        return null;
+        return registry.getPartyByMemberName(playerName);
     }
 
     /**
@@ -261,20 +256,7 @@ public final class PartyManager {
      * @return the existing party, null otherwise
      */
     public static Party getPlayerParty(String playerName, UUID uuid) {
-        for (Party party : parties) {
-            LinkedHashMap<UUID, String> members = party.getMembers();
-            if (members.containsKey(uuid) || members.containsValue(playerName)) {
-
-                // Name changes
-                if (members.get(uuid) == null || !members.get(uuid).equals(playerName)) {
-                    members.put(uuid, playerName);
-                }
-
-                return party;
-            }
-        }
-
-        return null;
+        return registry.findMemberParty(playerName, uuid);
     }
 
     /**
@@ -298,10 +280,20 @@ public final class PartyManager {
     /**
      * Get a list of all current parties.
      *
-     * @return the list of parties.
+     * @return the list of parties, it can not be modified
      */
     public static List<Party> getParties() {
-        return parties;
+        return registry.getParties();
+    }
+
+    /**
+     * Keep party lookups by name working after a party was renamed.
+     *
+     * @param party The renamed party
+     * @param oldName The name the party had before
+     */
+    public static void handlePartyRenamed(Party party, String oldName) {
+        registry.partyRenamed(party, oldName);
     }
 
     /**
@@ -314,14 +306,14 @@ public final class PartyManager {
         LinkedHashMap<UUID, String> members = party.getMembers();
         String playerName = player.getName();
 
-        members.remove(player.getUniqueId());
+        registry.removeMember(party, player.getUniqueId());
 
         if (player.isOnline()) {
-            party.getOnlineMembers().remove(player.getPlayer());
+            party.removeOnlineMember(player.getPlayer());
         }
 
         if (members.isEmpty()) {
-            parties.remove(party);
+            registry.unregister(party);
         }
         else {
             // If the leaving player was the party leader, appoint a new leader from the party members
@@ -375,7 +367,7 @@ public final class PartyManager {
             party.getAlly().setAlly(null);
         }
 
-        parties.remove(party);
+        registry.unregister(party);
         if (mcMMOPlayer != null) {
             handlePartyChangeEvent(mcMMOPlayer.getPlayer(), party.getName(), null, EventReason.DISBANDED_PARTY);
         }
@@ -397,7 +389,7 @@ public final class PartyManager {
             player.sendMessage(LocaleLoader.getString("Party.Password.Set", password));
         }
 
-        parties.add(party);
+        registry.register(party);
 
         player.sendMessage(LocaleLoader.getString("Commands.Party.Create", party.getName()));
         addToParty(mcMMOPlayer, party);
@@ -444,7 +436,7 @@ public final class PartyManager {
         Party invite = mcMMOPlayer.getPartyInvite();
 
         // Check if the party still exists, it might have been disbanded
-        if (!parties.contains(invite)) {
+        if (!registry.isRegistered(invite)) {
             NotificationManager.sendPlayerInformation(mcMMOPlayer.getPlayer(), NotificationType.PARTY_MESSAGE, "Party.Disband");
             return;
         }
@@ -473,7 +465,7 @@ public final class PartyManager {
         Player player = mcMMOPlayer.getPlayer();
 
         // Check if the party still exists, it might have been disbanded
-        if (!parties.contains(invite)) {
+        if (!registry.isRegistered(invite)) {
             player.sendMessage(LocaleLoader.getString("Party.Disband"));
             return;
         }
@@ -535,8 +527,8 @@ public final class PartyManager {
 
         informPartyMembersJoin(party, playerName);
         mcMMOPlayer.setParty(party);
-        party.getMembers().put(player.getUniqueId(), player.getName());
-        party.getOnlineMembers().add(player);
+        registry.addMember(party, player.getUniqueId(), player.getName());
+        party.addOnlineMember(player);
     }
 
     /**
@@ -636,10 +628,10 @@ public final class PartyManager {
                     members.put(UUID.fromString(memberSplit[0]), memberSplit[1]);
                 }
 
-                parties.add(party);
+                registry.register(party);
             }
 
-            mcMMO.p.debug("Loaded (" + parties.size() + ") Parties...");
+            mcMMO.p.debug("Loaded (" + registry.size() + ") Parties...");
 
             for (Party party : hasAlly) {
                 party.setAlly(PartyManager.getParty(partiesFile.getString(party.getName() + ".Ally")));
@@ -652,57 +644,73 @@ public final class PartyManager {
     }
 
     /**
-     * Save party file.
+     * Save party file on the current thread, used when the plugin shuts down.
      */
     public static void saveParties() {
-        mcMMO.p.debug("[Party Data] Saving...");
+        List<PartySnapshot> snapshots = snapshotParties(true);
 
-        if (partyFile.exists()) {
-            if (!partyFile.delete()) {
-                mcMMO.p.getLogger().warning("Could not delete party file. Party saving failed!");
-                return;
-            }
+        if (snapshots != null) {
+            new PartySaveTask(snapshots, partyFile).run();
         }
+    }
 
-        YamlConfiguration partiesFile = new YamlConfiguration();
+    /**
+     * Save party file in the background, skipped if no party changed since the last save.
+     */
+    public static void savePartiesAsync() {
+        List<PartySnapshot> snapshots = snapshotParties(false);
 
-        for (Party party : parties) {
-            String partyName = party.getName();
-            PartyLeader leader = party.getLeader();
+        if (snapshots != null) {
+            new PartySaveTask(snapshots, partyFile).runTaskAsynchronously(mcMMO.p);
+        }
+    }
 
-            partiesFile.set(partyName + ".Leader", leader.getUniqueId().toString() + "|" + leader.getPlayerName());
-            partiesFile.set(partyName + ".Password", party.getPassword());
-            partiesFile.set(partyName + ".Locked", party.isLocked());
-            partiesFile.set(partyName + ".Level", party.getLevel());
-            partiesFile.set(partyName + ".Xp", (int) party.getXp());
-            partiesFile.set(partyName + ".Ally", (party.getAlly() != null) ? party.getAlly().getName() : "");
-            partiesFile.set(partyName + ".ExpShareMode", party.getXpShareMode().toString());
-            partiesFile.set(partyName + ".ItemShareMode", party.getItemShareMode().toString());
+    /**
+     * Forces the next save to write the party file, called when writing it failed.
+     */
+    public static void markSaveFailed() {
+        saveFailed = true;
+    }
 
-            for (ItemShareType itemShareType : ItemShareType.values()) {
-                partiesFile.set(partyName + ".ItemShareType." + itemShareType.toString(), party.sharingDrops(itemShareType));
-            }
+    /**
+     * Snapshots every party for saving, only parties that changed since the last save are copied again.
+     * Must be called from the main thread.
+     *
+     * @param force whether to return the snapshots even if nothing changed
+     * @return the snapshots of every party in order, or null if nothing changed
+     */
+    private static List<PartySnapshot> snapshotParties(boolean force) {
+        mcMMO.p.debug("[Party Data] Saving...");
 
-            List<String> members = new ArrayList<>();
+        boolean changed = force || saveFailed;
+        saveFailed = false;
 
-            for (Entry<UUID, String> memberEntry : party.getMembers().entrySet()) {
-                String memberUniqueId = memberEntry.getKey() == null ? "" : memberEntry.getKey().toString();
-                String memberName = memberEntry.getValue();
+        List<Party> currentParties = registry.getParties();
+        IdentityHashMap<Party, PartySnapshot> snapshots = new IdentityHashMap<>(currentParties.size());
+        List<PartySnapshot> orderedSnapshots = new ArrayList<>(currentParties.size());
 
-                if (!members.contains(memberName)) {
-                    members.add(memberUniqueId + "|" + memberName);
-                }
+        for (Party party : currentParties) {
+            PartySnapshot snapshot = savedSnapshots.get(party);
+
+            //Cleared in the same step as it is checked, and before copying, so a change while copying is picked up by the next save
+            boolean dirty = party.markPartyClean();
+
+            if (snapshot == null || dirty) {
+                snapshot = new PartySnapshot(party);
+                changed = true;
             }
 
-            partiesFile.set(partyName + ".Members", members);
+            snapshots.put(party, snapshot);
+            orderedSnapshots.add(snapshot);
         }
 
-        try {
-            partiesFile.save(partyFile);
-        }
-        catch (Exception e) {
-            e.printStackTrace();
+        //Parties were removed
+        if (snapshots.size() != savedSnapshots.size()) {
+            changed = true;
         }
+
+        savedSnapshots = snapshots;
+        return changed ? orderedSnapshots : null;
     }
 
 //    private static void loadAndUpgradeParties() {
@@ -0,0 +1,294 @@
+package com.gmail.nossr50.party;
+
+import com.gmail.nossr50.datatypes.party.Party;
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Every registered party, indexed by party name and by member so lookups do not have to go through every party
+ * Lookups are safe from any thread, such as async chat or profile loading
+ * Parties and their members should only be changed through here so the indexes stay consistent, and only from the main thread
+ * since the member maps of parties are read from the main thread without any locking
+ */
+public class PartyRegistry {
+    private final @NotNull List<Party> parties = new CopyOnWriteArrayList<>();
+    private final @NotNull List<Party> partiesView = Collections.unmodifiableList(parties);
+
+    //Party.equals compares names, a disbanded party must never count as registered because a new party took its name
+    private final @NotNull Set<Party> registeredParties = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    //Party names are case insensitive
+    private final @NotNull Map<String, Party> partiesByName = new ConcurrentHashMap<>();
+    private final @NotNull Map<UUID, Party> partiesByMember = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Party> partiesByMemberName = new ConcurrentHashMap<>();
+
+    //Every party listing a member in registration order, so another party can take over the lookup when one lets them go
+    //Only touched while holding the lock
+    private final @NotNull Map<UUID, List<Party>> memberListings = new HashMap<>();
+    private final @NotNull Map<String, List<Party>> memberNameListings = new HashMap<>();
+
+    private static @NotNull String getNameKey(@NotNull String partyName) {
+        return partyName.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return every registered party in the order they were registered, the list can not be modified
+     */
+    public @NotNull List<Party> getParties() {
+        return partiesView;
+    }
+
+    public int size() {
+        return parties.size();
+    }
+
+    public synchronized boolean isRegistered(@Nullable Party party) {
+        return party != null && registeredParties.contains(party);
+    }
+
+    /**
+     * @param partyName name of the party, case insensitive
+     * @return the party, or null if there is no party with that name
+     */
+    public @Nullable Party getParty(@Nullable String partyName) {
+        return partyName == null ? null : partiesByName.get(getNameKey(partyName));
+    }
+
+    /**
+     * @param uuid uuid of the member
+     * @return the party the member is in, or null if they are not in one
+     */
+    public @Nullable Party getPartyByMember(@NotNull UUID uuid) {
+        return partiesByMember.get(uuid);
+    }
+
+    /**
+     * @param playerName the name the member was last seen with, case sensitive
+     * @return the party the member is in, or null if they are not in one
+     */
+    public @Nullable Party getPartyByMemberName(@Nullable String playerName) {
+        return playerName == null ? null : partiesByMemberName.get(playerName);
+    }
+
+    /**
+     * Finds the party of a player by uuid, or by name for members saved before they had a uuid, and records their current name
+     * Off the main thread the name is recorded on the next tick instead
+     *
+     * @param playerName current name of the player
+     * @param uuid uuid of the player
+     * @return the party the player is in, or null if they are not in one
+     */
+    public synchronized @Nullable Party findMemberParty(@NotNull String playerName, @NotNull UUID uuid) {
+        Party party = partiesByMember.get(uuid);
+
+        if (party == null) {
+            party = partiesByMemberName.get(playerName);
+        }
+
+        if (party != null && !playerName.equals(party.getMembers().get(uuid))) {
+            if (Bukkit.isPrimaryThread()) {
+                addMember(party, uuid, playerName);
+            } else {
+                Party memberParty = party;
+                mcMMO.p.getServer().getScheduler().runTask(mcMMO.p, () -> {
+                    //The member may have left while this was waiting
+                    if (getPartyByMember(uuid) == memberParty || getPartyByMemberName(playerName) == memberParty) {
+                        addMember(memberParty, uuid, playerName);
+                    }
+                });
+            }
+        }
+
+        return party;
+    }
+
+    /**
+     * Registers a party along with the members it already has
+     * If parties share a name or a member, lookups keep finding the one registered first
+     *
+     * @param party target party
+     */
+    public synchronized void register(@NotNull Party party) {
+        if (!registeredParties.add(party))
+            return;
+
+        parties.add(party);
+        partiesByName.putIfAbsent(getNameKey(party.getName()), party);
+
+        for (Map.Entry<UUID, String> member : party.getMembers().entrySet()) {
+            indexMember(party, member.getKey(), member.getValue());
+        }
+    }
+
+    /**
+     * Removes a party and all of its members from the indexes, the members themselves are left untouched
+     *
+     * @param party target party
+     */
+    public synchronized void unregister(@NotNull Party party) {
+        if (!registeredParties.remove(party))
+            return;
+
+        parties.removeIf(registeredParty -> registeredParty == party);
+
+        if (removeIfSame(partiesByName, getNameKey(party.getName()), party)) {
+            reindexName(party.getName());
+        }
+
+        for (Map.Entry<UUID, String> member : party.getMembers().entrySet()) {
+            unindexMember(party, member.getKey());
+
+            if (member.getValue() != null) {
+                unindexMemberName(party, member.getValue());
+            }
+        }
+    }
+
+    /**
+     * Moves a party to its new name in the name index, called by {@link Party#setName(String)}
+     *
+     * @param party target party, already renamed
+     * @param oldName the name the party had before
+     */
+    public synchronized void partyRenamed(@NotNull Party party, @NotNull String oldName) {
+        String partyName = party.getName();
+
+        //The ally saves this party by name
+        if (party.getAlly() != null) {
+            party.getAlly().markPartyDirty();
+        }
+
+        if (!registeredParties.contains(party))
+            return;
+
+        if (removeIfSame(partiesByName, getNameKey(oldName), party)) {
+            reindexName(oldName);
+        }
+
+        partiesByName.putIfAbsent(getNameKey(partyName), party);
+    }
+
+    /**
+     * Adds a member to a party, or updates their name if they are already in it
+     *
+     * @param party target party
+     * @param uuid uuid of the member
+     * @param playerName name of the member
+     */
+    public synchronized void addMember(@NotNull Party party, @NotNull UUID uuid, @NotNull String playerName) {
+        String oldName = party.getMembers().put(uuid, playerName);
+        party.markPartyDirty();
+
+        if (!registeredParties.contains(party))
+            return;
+
+        if (oldName != null && !party.getMembers().containsValue(oldName)) {
+            unindexMemberName(party, oldName);
+        }
+
+        indexMember(party, uuid, playerName);
+    }
+
+    /**
+     * Removes a member from a party
+     *
+     * @param party target party
+     * @param uuid uuid of the member
+     */
+    public synchronized void removeMember(@NotNull Party party, @NotNull UUID uuid) {
+        String playerName = party.getMembers().remove(uuid);
+        party.markPartyDirty();
+
+        if (!registeredParties.contains(party))
+            return;
+
+        unindexMember(party, uuid);
+
+        if (playerName != null && !party.getMembers().containsValue(playerName)) {
+            unindexMemberName(party, playerName);
+        }
+    }
+
+    private void indexMember(@NotNull Party party, @NotNull UUID uuid, @Nullable String playerName) {
+        addListing(memberListings, uuid, party);
+        partiesByMember.putIfAbsent(uuid, party);
+
+        if (playerName != null) {
+            addListing(memberNameListings, playerName, party);
+            partiesByMemberName.putIfAbsent(playerName, party);
+        }
+    }
+
+    private void unindexMember(@NotNull Party party, @NotNull UUID uuid) {
+        unindex(partiesByMember, memberListings, uuid, party);
+    }
+
+    private void unindexMemberName(@NotNull Party party, @NotNull String playerName) {
+        unindex(partiesByMemberName, memberNameListings, playerName, party);
+    }
+
+    private static <K> void addListing(@NotNull Map<K, List<Party>> listings, @NotNull K key, @NotNull Party party) {
+        List<Party> listing = listings.computeIfAbsent(key, k -> new ArrayList<>(1));
+
+        for (Party listedParty : listing) {
+            if (listedParty == party)
+                return;
+        }
+
+        listing.add(party);
+    }
+
+    /**
+     * Drops a party from a member listing, another party listing the same member takes over the lookup
+     */
+    private static <K> void unindex(@NotNull Map<K, Party> index, @NotNull Map<K, List<Party>> listings, @NotNull K key, @NotNull Party party) {
+        List<Party> listing = listings.get(key);
+
+        if (listing != null) {
+            listing.removeIf(listedParty -> listedParty == party);
+
+            if (listing.isEmpty()) {
+                listings.remove(key);
+                listing = null;
+            }
+        }
+
+        if (index.get(key) != party)
+            return;
+
+        if (listing == null) {
+            index.remove(key);
+        } else {
+            index.put(key, listing.get(0));
+        }
+    }
+
+    /**
+     * Map.remove(key, value) compares with equals, which for parties only compares names
+     */
+    private static <K> boolean removeIfSame(@NotNull Map<K, Party> index, @NotNull K key, @NotNull Party party) {
+        if (index.get(key) != party)
+            return false;
+
+        index.remove(key);
+        return true;
+    }
+
+    //Only runs when a party is disbanded or renamed, so going through every party is fine here
+    private void reindexName(@NotNull String partyName) {
+        String nameKey = getNameKey(partyName);
+
+        for (Party otherParty : parties) {
+            if (getNameKey(otherParty.getName()).equals(nameKey)) {
+                partiesByName.putIfAbsent(nameKey, otherParty);
+                return;
+            }
+        }
+    }
+}
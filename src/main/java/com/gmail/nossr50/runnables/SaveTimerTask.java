@@ -20,6 +20,6 @@ public class SaveTimerTask extends BukkitRunnable {
         }
 
 
-        PartyManager.saveParties();
+        PartyManager.savePartiesAsync();
     }
 }
@@ -0,0 +1,86 @@
+package com.gmail.nossr50.runnables.party;
+
+import com.gmail.nossr50.datatypes.party.PartySnapshot;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.party.PartyManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes party snapshots to parties.yml, safe to run off the main thread
+ * The file is written next to the old one and then moved over it, so a crash mid save never leaves a broken file behind
+ */
+public class PartySaveTask extends BukkitRunnable {
+    private static final Object WRITE_LOCK = new Object();
+    private static final AtomicLong nextGeneration = new AtomicLong();
+
+    //Guarded by WRITE_LOCK
+    private static long writtenGeneration = -1;
+
+    private final @NotNull List<PartySnapshot> snapshots;
+    private final @NotNull File partyFile;
+    private final long generation;
+
+    public PartySaveTask(@NotNull List<PartySnapshot> snapshots, @NotNull File partyFile) {
+        this.snapshots = snapshots;
+        this.partyFile = partyFile;
+        this.generation = nextGeneration.getAndIncrement();
+    }
+
+    @Override
+    public void run() {
+        synchronized (WRITE_LOCK) {
+            //A newer save already made it to disk
+            if (generation < writtenGeneration)
+                return;
+
+            if (write()) {
+                writtenGeneration = generation;
+            } else {
+                for (PartySnapshot snapshot : snapshots) {
+                    snapshot.markPartyDirty();
+                }
+
+                PartyManager.markSaveFailed();
+            }
+        }
+    }
+
+    private boolean write() {
+        YamlConfiguration partiesFile = new YamlConfiguration();
+
+        for (PartySnapshot snapshot : snapshots) {
+            snapshot.writeTo(partiesFile);
+        }
+
+        Path target = partyFile.toPath();
+        Path temp = target.resolveSibling(partyFile.getName() + ".tmp");
+
+        try {
+            Files.write(temp, partiesFile.saveToString().getBytes(StandardCharsets.UTF_8));
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            mcMMO.p.debug("[Party Data] Saved " + snapshots.size() + " parties");
+            return true;
+        } catch (IOException e) {
+            mcMMO.p.getLogger().warning("Could not save party file: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gmail.nossr50.runnables.skills;
 
 import com.gmail.nossr50.skills.alchemy.Alchemy;
+import com.gmail.nossr50.skills.alchemy.AlchemyBrew;
 import com.gmail.nossr50.skills.alchemy.AlchemyPotionBrewer;
 import org.bukkit.Location;
 import org.bukkit.block.BrewingStand;
@@ -33,7 +34,7 @@ public class AlchemyBrewCheckTask extends BukkitRunnable {
             }
         }
         else if (validBrew) {
-            Alchemy.brewingStandMap.put(location, new AlchemyBrewTask(brewingStand, player));
+            Alchemy.brewingStandMap.put(location, new AlchemyBrew(brewingStand, player));
         }
     }
 }
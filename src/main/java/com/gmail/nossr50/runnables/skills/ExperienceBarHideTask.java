@@ -3,9 +3,9 @@ package com.gmail.nossr50.runnables.skills;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.util.experience.ExperienceBarManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TickTask;
 
-public class ExperienceBarHideTask extends BukkitRunnable {
+public class ExperienceBarHideTask extends TickTask {
     public final McMMOPlayer mcMMOPlayer;
     public final PrimarySkillType primarySkillType;
     public final ExperienceBarManager experienceBarManagerRef;
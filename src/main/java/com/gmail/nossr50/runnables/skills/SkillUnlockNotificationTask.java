@@ -3,10 +3,10 @@ package com.gmail.nossr50.runnables.skills;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.util.player.NotificationManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TickTask;
 
 
-public class SkillUnlockNotificationTask extends BukkitRunnable {
+public class SkillUnlockNotificationTask extends TickTask {
     private final McMMOPlayer mcMMOPlayer;
     private final SubSkillType subSkillType;
     private final int rank;
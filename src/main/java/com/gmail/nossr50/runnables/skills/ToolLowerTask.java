@@ -5,9 +5,9 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.ToolType;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.player.NotificationManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TickTask;
 
-public class ToolLowerTask extends BukkitRunnable {
+public class ToolLowerTask extends TickTask {
     private final McMMOPlayer mcMMOPlayer;
     private final ToolType tool;
 
@@ -4,13 +4,12 @@ import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.BlockLocationHistory;
 import com.gmail.nossr50.datatypes.experience.XPGainReason;
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
+import com.gmail.nossr50.datatypes.meta.TransientEntityState;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.runnables.MobDodgeMetaCleanup;
 import com.gmail.nossr50.skills.SkillManager;
-import com.gmail.nossr50.util.MetadataConstants;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
@@ -24,14 +23,13 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LightningStrike;
 import org.bukkit.entity.Mob;
 import org.bukkit.entity.Player;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.metadata.MetadataValue;
 
 public class AcrobaticsManager extends SkillManager {
+    private static final long DODGE_TRACKER_RESET_MILLIS = 1000 * 60; //1 Minute
 
     public AcrobaticsManager(McMMOPlayer mcMMOPlayer) {
         super(mcMMOPlayer, PrimarySkillType.ACROBATICS);
-        fallLocationMap = new BlockLocationHistory(50);
+        fallLocationMap = new BlockLocationHistory(ExperienceConfig.getInstance().getAcrobaticsExploitingOptionLocationHistorySize());
     }
 
     private long rollXPCooldown = 0;
@@ -105,16 +103,16 @@ public class AcrobaticsManager extends SkillManager {
                 if(attacker instanceof Mob) {
                     Mob mob = (Mob) attacker;
                     //Check to see how many dodge XP rewards this mob has handed out
-                    if(mob.hasMetadata(MetadataConstants.METADATA_KEY_DODGE_TRACKER) && ExperienceConfig.getInstance().isAcrobaticsExploitingPrevented()) {
-                        //If Dodge XP has been handed out 5 times then consider it being exploited
-                        MetadataValue metadataValue = mob.getMetadata(MetadataConstants.METADATA_KEY_DODGE_TRACKER).get(0);
-                        int count = metadataValue.asInt();
+                    if(ExperienceConfig.getInstance().isAcrobaticsExploitingPrevented()) {
+                        TransientEntityState mobState = mcMMO.getTransientEntityStore().getOrCreate(mob);
+                        long currentTime = System.currentTimeMillis();
+                        //The count is forgotten once the mob hasn't handed out Dodge XP for a minute
+                        int count = currentTime - mobState.getDodgeXpTimestamp() > DODGE_TRACKER_RESET_MILLIS ? 0 : mobState.getDodgeXpCount();
 
+                        //If Dodge XP has been handed out 5 times then consider it being exploited
                         if(count <= 5) {
                             applyXpGain((float) (damage * Acrobatics.dodgeXpModifier), XPGainReason.PVE);
-                            mob.setMetadata(MetadataConstants.METADATA_KEY_DODGE_TRACKER, new FixedMetadataValue(mcMMO.p, count + 1));
-                            MobDodgeMetaCleanup metaCleanupTask = new MobDodgeMetaCleanup(mob, mcMMO.p);
-                            metaCleanupTask.runTaskTimer(mcMMO.p, 20, 20*60); //one minute
+                            mobState.setDodgeXp(count + 1, currentTime);
                         }
                     } else {
                         applyXpGain((float) (damage * Acrobatics.dodgeXpModifier), XPGainReason.PVE);
@@ -1,7 +1,6 @@
 package com.gmail.nossr50.skills.alchemy;
 
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.runnables.skills.AlchemyBrewTask;
 import org.bukkit.Location;
 
 import java.util.ArrayList;
@@ -50,7 +49,7 @@ public final class Alchemy {
     public static double catalysisMinSpeed      = mcMMO.p.getAdvancedConfig().getCatalysisMinSpeed();
     public static double catalysisMaxSpeed      = mcMMO.p.getAdvancedConfig().getCatalysisMaxSpeed();
 
-    public static Map<Location, AlchemyBrewTask> brewingStandMap = new HashMap<>();
+    public static Map<Location, AlchemyBrew> brewingStandMap = new HashMap<>();
 
     private Alchemy() {}
 
@@ -60,10 +59,10 @@ public final class Alchemy {
     public static void finishAllBrews() {
         mcMMO.p.debug("Completing " + brewingStandMap.size() + " unfinished Alchemy brews.");
 
-        List<AlchemyBrewTask> toFinish = new ArrayList<>(brewingStandMap.values());
+        List<AlchemyBrew> toFinish = new ArrayList<>(brewingStandMap.values());
 
-        for (AlchemyBrewTask alchemyBrewTask : toFinish) {
-            alchemyBrewTask.finishImmediately();
+        for (AlchemyBrew alchemyBrew : toFinish) {
+            alchemyBrew.finishImmediately();
         }
     }
 }
\ No newline at end of file
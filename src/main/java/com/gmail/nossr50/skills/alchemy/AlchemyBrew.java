@@ -1,12 +1,10 @@
-package com.gmail.nossr50.runnables.skills;
+package com.gmail.nossr50.skills.alchemy;
 
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.events.skills.alchemy.McMMOPlayerBrewEvent;
 import com.gmail.nossr50.events.skills.alchemy.McMMOPlayerCatalysisEvent;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.skills.alchemy.Alchemy;
-import com.gmail.nossr50.skills.alchemy.AlchemyPotionBrewer;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.UserManager;
@@ -15,9 +13,12 @@ import org.bukkit.Material;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.BrewingStand;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
-public class AlchemyBrewTask extends BukkitRunnable {
+/**
+ * A custom brew in progress, advanced every tick by the {@link AlchemyBrewScheduler}
+ * The stand and its ingredient are validated when the brew starts, by inventory and block events while it runs, and once more before it finishes
+ */
+public class AlchemyBrew {
     private static final double DEFAULT_BREW_SPEED = 1.0;
     private static final int    DEFAULT_BREW_TICKS = 400;
 
@@ -28,8 +29,9 @@ public class AlchemyBrewTask extends BukkitRunnable {
     private final Player player;
     private int fuel;
     private boolean firstRun = true;
+    int schedulerIndex = -1; //Position in the scheduler, maintained by AlchemyBrewScheduler
 
-    public AlchemyBrewTask(BlockState brewingStand, Player player) {
+    public AlchemyBrew(BlockState brewingStand, Player player) {
         this.brewingStand = brewingStand;
         this.location = brewingStand.getLocation();
         this.player = player;
@@ -53,7 +55,7 @@ public class AlchemyBrewTask extends BukkitRunnable {
         }
 
         if (Alchemy.brewingStandMap.containsKey(location)) {
-            Alchemy.brewingStandMap.get(location).cancel();
+            Alchemy.brewingStandMap.get(location).cancelBrew();
         }
 
         fuel = ((BrewingStand) brewingStand).getFuelLevel();
@@ -62,19 +64,19 @@ public class AlchemyBrewTask extends BukkitRunnable {
             fuel--;
 
         Alchemy.brewingStandMap.put(location, this);
-        this.runTaskTimer(mcMMO.p, 1, 1);
+        AlchemyBrewScheduler.getInstance().add(this);
     }
 
-    @Override
-    public void run() {
-        if (player == null || !player.isValid() || brewingStand == null || brewingStand.getType() != Material.BREWING_STAND || !AlchemyPotionBrewer.isValidIngredient(player, ((BrewingStand) brewingStand).getInventory().getContents()[Alchemy.INGREDIENT_SLOT])) {
-            if (Alchemy.brewingStandMap.containsKey(location)) {
-                Alchemy.brewingStandMap.remove(location);
-            }
-
-            this.cancel();
-
-            return;
+    /**
+     * Advances this brew by one tick
+     *
+     * @return true if the brew is over and should be removed from the scheduler
+     */
+    boolean tick() {
+        //The player is the only thing that can go away without an event we listen to
+        if (player == null || !player.isValid()) {
+            Alchemy.brewingStandMap.remove(location);
+            return true;
         }
 
         if (firstRun) {
@@ -86,34 +88,44 @@ public class AlchemyBrewTask extends BukkitRunnable {
 
         // Vanilla potion brewing completes when BrewingTime == 1
         if (brewTimer < Math.max(brewSpeed, 2)) {
-            this.cancel();
             finish();
+            return true;
         }
-        else {
-            ((BrewingStand) brewingStand).setBrewingTime((int) brewTimer);
-        }
+
+        ((BrewingStand) brewingStand).setBrewingTime((int) brewTimer);
+        return false;
     }
 
     private void finish() {
+        Alchemy.brewingStandMap.remove(location);
+
+        //Never load the chunk back just to finish a brew, the brew is dropped like any other invalid one
+        if (location.getWorld() == null || !location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            return;
+        }
+
+        //Last check before touching the inventory, the stand may have been destroyed by something we don't listen to
+        if (location.getBlock().getType() != Material.BREWING_STAND || !AlchemyPotionBrewer.isValidIngredient(player, ((BrewingStand) brewingStand).getInventory().getContents()[Alchemy.INGREDIENT_SLOT])) {
+            return;
+        }
+
         McMMOPlayerBrewEvent event = new McMMOPlayerBrewEvent(player, brewingStand);
         mcMMO.p.getServer().getPluginManager().callEvent(event);
 
         if (!event.isCancelled()) {
             AlchemyPotionBrewer.finishBrewing(brewingStand, player, false);
         }
-
-        Alchemy.brewingStandMap.remove(location);
     }
 
     public void finishImmediately() {
-        this.cancel();
+        AlchemyBrewScheduler.getInstance().remove(this);
 
         AlchemyPotionBrewer.finishBrewing(brewingStand, player, true);
         Alchemy.brewingStandMap.remove(location);
     }
 
     public void cancelBrew() {
-        this.cancel();
+        AlchemyBrewScheduler.getInstance().remove(this);
 
         ((BrewingStand) brewingStand).setBrewingTime(-1);
         Alchemy.brewingStandMap.remove(location);
@@ -0,0 +1,91 @@
+package com.gmail.nossr50.skills.alchemy;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Advances every active {@link AlchemyBrew} from a single repeating task
+ * The task only runs while at least one brew is active
+ */
+public final class AlchemyBrewScheduler {
+    private static final AlchemyBrewScheduler instance = new AlchemyBrewScheduler();
+
+    private AlchemyBrew[] brews = new AlchemyBrew[16];
+    private int size;
+    private BukkitRunnable task;
+
+    private AlchemyBrewScheduler() {}
+
+    public static @NotNull AlchemyBrewScheduler getInstance() {
+        return instance;
+    }
+
+    void add(@NotNull AlchemyBrew brew) {
+        if (brew.schedulerIndex != -1)
+            return;
+
+        if (size == brews.length)
+            brews = Arrays.copyOf(brews, size * 2);
+
+        brew.schedulerIndex = size;
+        brews[size++] = brew;
+
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            };
+            task.runTaskTimer(mcMMO.p, 1, 1);
+        }
+    }
+
+    void remove(@NotNull AlchemyBrew brew) {
+        int index = brew.schedulerIndex;
+
+        if (index == -1)
+            return;
+
+        //Swap the last brew into the free slot so the array stays compact
+        AlchemyBrew last = brews[--size];
+        brews[index] = last;
+        last.schedulerIndex = index;
+        brews[size] = null;
+        brew.schedulerIndex = -1;
+
+        if (size == 0)
+            stop();
+    }
+
+    /**
+     * @return the number of brews currently being advanced
+     */
+    public int getActiveBrewCount() {
+        return size;
+    }
+
+    private void tick() {
+        //Walk backwards so removing the current brew never skips another one
+        for (int i = size - 1; i >= 0; i--) {
+            //Brews that were removed by an earlier brew in this tick leave shorter arrays behind
+            if (i >= size)
+                continue;
+
+            AlchemyBrew brew = brews[i];
+
+            if (brew.tick())
+                remove(brew);
+        }
+    }
+
+    private void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.gmail.nossr50.skills.archery;
 
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
+import com.gmail.nossr50.datatypes.meta.TransientEntityState;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.SkillManager;
-import com.gmail.nossr50.util.MetadataConstants;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
@@ -55,10 +55,12 @@ public class ArcheryManager extends SkillManager {
      */
     public double distanceXpBonusMultiplier(LivingEntity target, Entity arrow) {
         //Hacky Fix - some plugins spawn arrows and assign them to players after the ProjectileLaunchEvent fires
-        if(!arrow.hasMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE))
+        TransientEntityState arrowState = mcMMO.getTransientEntityStore().get(arrow);
+
+        if(arrowState == null)
             return 1;
 
-        Location firedLocation = (Location) arrow.getMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE).get(0).value();
+        Location firedLocation = arrowState.getLaunchLocation();
         Location targetLocation = target.getLocation();
 
         if(firedLocation == null || firedLocation.getWorld() == null)
@@ -77,9 +79,11 @@ public class ArcheryManager extends SkillManager {
      * @param target The {@link LivingEntity} damaged by the arrow
      */
     public void retrieveArrows(LivingEntity target, Projectile projectile) {
-        if(projectile.hasMetadata(MetadataConstants.METADATA_KEY_TRACKED_ARROW)) {
+        TransientEntityState projectileState = mcMMO.getTransientEntityStore().get(projectile);
+
+        if(projectileState != null && projectileState.isTrackedArrow()) {
             Archery.incrementTrackerValue(target);
-            projectile.removeMetadata(MetadataConstants.METADATA_KEY_TRACKED_ARROW, mcMMO.p); //Only 1 entity per projectile
+            projectileState.setTrackedArrow(false); //Only 1 entity per projectile
         }
     }
 
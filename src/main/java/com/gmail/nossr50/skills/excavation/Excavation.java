@@ -4,9 +4,11 @@ import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
+import com.gmail.nossr50.datatypes.treasure.LeveledTreasureTable;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.block.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,16 @@ public class Excavation {
         return new ArrayList<>();
     }
 
+    /**
+     * Get the compiled treasure table of a given block.
+     *
+     * @param blockState The {@link BlockState} of the block to check.
+     * @return the treasure table of the block, or null if it has no treasures
+     */
+    protected static @Nullable LeveledTreasureTable<ExcavationTreasure> getTreasureTable(BlockState blockState) {
+        return TreasureConfig.getInstance().getExcavationTable(StringUtils.getFriendlyConfigBlockDataString(blockState.getBlockData()));
+    }
+
     protected static int getBlockXP(BlockState blockState) {
         int xp = ExperienceConfig.getInstance().getXp(PrimarySkillType.EXCAVATION, blockState.getType());
 
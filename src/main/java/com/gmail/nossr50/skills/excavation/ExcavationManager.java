@@ -6,6 +6,7 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
+import com.gmail.nossr50.datatypes.treasure.LeveledTreasureTable;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.Misc;
@@ -33,16 +34,16 @@ public class ExcavationManager extends SkillManager {
         int xp = Excavation.getBlockXP(blockState);
 
         if (Permissions.isSubSkillEnabled(getPlayer(), SubSkillType.EXCAVATION_ARCHAEOLOGY)) {
-            List<ExcavationTreasure> treasures = Excavation.getTreasures(blockState);
+            LeveledTreasureTable<ExcavationTreasure> treasureTable = Excavation.getTreasureTable(blockState);
 
-            if (!treasures.isEmpty()) {
-                int skillLevel = getSkillLevel();
-                Location location = Misc.getBlockCenter(blockState);
+            if (treasureTable != null) {
+                boolean isLucky = RandomChanceUtil.isLucky(getPlayer(), PrimarySkillType.EXCAVATION);
+                List<ExcavationTreasure> treasures = treasureTable.rollAll(getSkillLevel(), isLucky, Misc.getRandom());
 
-                for (ExcavationTreasure treasure : treasures) {
-                    if (skillLevel >= treasure.getDropLevel()
-                            && RandomChanceUtil.checkRandomChanceExecutionSuccess(getPlayer(), PrimarySkillType.EXCAVATION, treasure.getDropChance())) {
+                if (!treasures.isEmpty()) {
+                    Location location = Misc.getBlockCenter(blockState);
 
+                    for (ExcavationTreasure treasure : treasures) {
                         //Spawn Vanilla XP orbs if a dice roll succeeds
                         if(RandomChanceUtil.rollDice(getArchaelogyExperienceOrbChance(), 100)) {
                             Misc.spawnExperienceOrb(location, getExperienceOrbsReward());
@@ -4,11 +4,14 @@ import com.gmail.nossr50.config.treasure.FishingTreasureConfig;
 import com.gmail.nossr50.datatypes.treasure.ShakeTreasure;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.adapter.BiomeAdapter;
+import com.gmail.nossr50.util.random.AliasTable;
 import org.bukkit.Material;
 import org.bukkit.block.Biome;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -40,22 +43,26 @@ public final class Fishing {
     /**
      * Randomly chooses a drop among the list
      *
+     * @param target
+     *            Targeted entity
      * @param possibleDrops
      *            List of ItemStack that can be dropped
      * @return Chosen ItemStack
      */
-    protected static ItemStack chooseDrop(List<ShakeTreasure> possibleDrops) {
-        int dropProbability = Misc.getRandom().nextInt(100);
-        double cumulatedProbability = 0;
+    protected static @Nullable ItemStack chooseDrop(@NotNull LivingEntity target, @NotNull List<ShakeTreasure> possibleDrops) {
+        AliasTable shakeTable = FishingTreasureConfig.getInstance().getShakeTable(target.getType());
 
-        for (ShakeTreasure treasure : possibleDrops) {
-            cumulatedProbability += treasure.getDropChance();
+        if (shakeTable == null) {
+            return null;
+        }
 
-            if (dropProbability < cumulatedProbability) {
-                return treasure.getDrop().clone();
-            }
+        int outcome = shakeTable.sample(Misc.getRandom());
+
+        // The last outcome is whatever is left when the drop chances add up to less than 100
+        if (outcome >= possibleDrops.size()) {
+            return null;
         }
 
-        return null;
+        return possibleDrops.get(outcome).getDrop().clone();
     }
 }
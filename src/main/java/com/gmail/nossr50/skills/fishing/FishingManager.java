@@ -50,7 +50,7 @@ public class FishingManager extends SkillManager {
     private long lastWarned = 0L;
     private long lastWarnedExhaust = 0L;
     private FishHook fishHookReference;
-    private BoundingBox lastFishingBoundingBox;
+    private Vector lastFishingCastCenter;
     private Item fishingCatch;
     private Location hookLocation;
     private int fishCaughtCounter = 1;
@@ -133,9 +133,7 @@ public class FishingManager extends SkillManager {
             return false;
         }*/
 
-        BoundingBox newCastBoundingBox = makeBoundingBox(centerOfCastVector);
-
-        boolean sameTarget = lastFishingBoundingBox != null && lastFishingBoundingBox.overlaps(newCastBoundingBox);
+        boolean sameTarget = lastFishingCastCenter != null && isWithinCastRange(lastFishingCastCenter, centerOfCastVector);
 
         if(sameTarget)
             fishCaughtCounter++;
@@ -147,18 +145,33 @@ public class FishingManager extends SkillManager {
             getPlayer().sendMessage(LocaleLoader.getString("Fishing.LowResourcesTip", ExperienceConfig.getInstance().getFishingExploitingOptionMoveRange()));
         }
 
-        //If the new bounding box does not intersect with the old one, then update our bounding box reference
+        //If the new cast area does not intersect with the old one, then update our cast reference
         if(!sameTarget)
-            lastFishingBoundingBox = newCastBoundingBox;
+            lastFishingCastCenter = centerOfCastVector;
 
         return sameTarget && fishCaughtCounter >= ExperienceConfig.getInstance().getFishingExploitingOptionOverFishLimit();
     }
 
+    /**
+     * @deprecated casts are compared with plain coordinates now, this is kept for plugins that still use it
+     */
+    @Deprecated
     public static BoundingBox makeBoundingBox(Vector centerOfCastVector) {
         int exploitingRange = ExperienceConfig.getInstance().getFishingExploitingOptionMoveRange();
         return BoundingBox.of(centerOfCastVector, exploitingRange / 2, 1, exploitingRange / 2);
     }
 
+    /**
+     * Whether the areas around two casts overlap, each area is {@link ExperienceConfig#getFishingExploitingOptionMoveRange()} wide and 2 blocks high
+     */
+    private static boolean isWithinCastRange(Vector firstCast, Vector secondCast) {
+        int halfRange = ExperienceConfig.getInstance().getFishingExploitingOptionMoveRange() / 2;
+
+        return Math.abs(firstCast.getX() - secondCast.getX()) < halfRange * 2
+                && Math.abs(firstCast.getY() - secondCast.getY()) < 2
+                && Math.abs(firstCast.getZ() - secondCast.getZ()) < halfRange * 2;
+    }
+
     public void setFishingTarget() {
         getPlayer().getTargetBlock(BlockUtils.getTransparentBlocks(), 100);
     }
@@ -483,7 +496,7 @@ public class FishingManager extends SkillManager {
                 return;
             }
 
-            ItemStack drop = Fishing.chooseDrop(possibleDrops);
+            ItemStack drop = Fishing.chooseDrop(target, possibleDrops);
 
             // It's possible that chooseDrop returns null if the sum of probability in possibleDrops is inferior than 100
             if (drop == null) {
@@ -565,7 +578,6 @@ public class FishingManager extends SkillManager {
      * @return The {@link FishingTreasure} found, or null if no treasure was found.
      */
     private @Nullable FishingTreasure getFishingTreasure() {
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
         int luck;
 
         if (getPlayer().getInventory().getItemInMainHand().getType() == Material.FISHING_ROD) {
@@ -577,32 +589,21 @@ public class FishingManager extends SkillManager {
         }
 
         // Rather than subtracting luck (and causing a minimum 3% chance for every drop), scale by luck.
-        diceRoll *= (1.0 - luck * mcMMO.p.getGeneralConfig().getFishingLureModifier() / 100);
-
-        FishingTreasure treasure = null;
-
-        for (Rarity rarity : Rarity.values()) {
-            double dropRate = FishingTreasureConfig.getInstance().getItemDropRate(getLootTier(), rarity);
-
-            if (diceRoll <= dropRate) {
-
-                List<FishingTreasure> fishingTreasures = FishingTreasureConfig.getInstance().fishingRewards.get(rarity);
-
-                if (fishingTreasures.isEmpty()) {
-                    return null;
-                }
+        double rollScale = 1.0 - luck * mcMMO.p.getGeneralConfig().getFishingLureModifier() / 100;
+        Rarity rarity = FishingTreasureConfig.getInstance().getItemRarityTable(getLootTier()).roll(Misc.getRandom(), rollScale);
 
-                treasure = fishingTreasures.get(Misc.getRandom().nextInt(fishingTreasures.size()));
-                break;
-            }
-
-            diceRoll -= dropRate;
+        if (rarity == null) {
+            return null;
         }
 
-        if (treasure == null) {
+        List<FishingTreasure> fishingTreasures = FishingTreasureConfig.getInstance().fishingRewards.get(rarity);
+
+        if (fishingTreasures.isEmpty()) {
             return null;
         }
 
+        FishingTreasure treasure = fishingTreasures.get(Misc.getRandom().nextInt(fishingTreasures.size()));
+
         ItemStack treasureDrop = treasure.getDrop().clone();
         short maxDurability = treasureDrop.getType().getMaxDurability();
 
@@ -627,28 +628,20 @@ public class FishingManager extends SkillManager {
      */
     private Map<Enchantment, Integer> processMagicHunter(@NotNull ItemStack treasureDrop) {
         Map<Enchantment, Integer> enchants = new HashMap<>();
-        List<EnchantmentTreasure> fishingEnchantments = null;
-
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
-
-        for (Rarity rarity : Rarity.values()) {
 
-            double dropRate = FishingTreasureConfig.getInstance().getEnchantmentDropRate(getLootTier(), rarity);
+        // Enchanted books are never picked a rarity here, they get their enchantments when the book treasure is created
+        if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
+            return enchants;
+        }
 
-            if (diceRoll <= dropRate) {
-                // Make sure enchanted books always get some kind of enchantment.  --hoorigan
-                if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
-                    diceRoll = dropRate + 1;
-                    continue;
-                }
+        Rarity rarity = FishingTreasureConfig.getInstance().getEnchantmentRarityTable(getLootTier()).roll(Misc.getRandom());
 
-                fishingEnchantments = FishingTreasureConfig.getInstance().fishingEnchantments.get(rarity);
-                break;
-            }
-
-            diceRoll -= dropRate;
+        if (rarity == null) {
+            return enchants;
         }
 
+        List<EnchantmentTreasure> fishingEnchantments = FishingTreasureConfig.getInstance().fishingEnchantments.get(rarity);
+
         if (fishingEnchantments == null) {
             return enchants;
         }
@@ -14,13 +14,13 @@ import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.datatypes.skills.ToolType;
 import com.gmail.nossr50.datatypes.treasure.HylianTreasure;
+import com.gmail.nossr50.datatypes.treasure.LeveledTreasureTable;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.runnables.skills.DelayedCropReplant;
 import com.gmail.nossr50.runnables.skills.DelayedHerbalismXPCheckTask;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.player.NotificationManager;
-import com.gmail.nossr50.util.random.RandomChanceSkillStatic;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillActivationType;
@@ -45,7 +45,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 
 public class HerbalismManager extends SkillManager {
     public HerbalismManager(McMMOPlayer mcMMOPlayer) {
@@ -679,31 +678,28 @@ public class HerbalismManager extends SkillManager {
         }
 
         String friendly = StringUtils.getFriendlyConfigBlockDataString(blockState.getBlockData());
-        if (!TreasureConfig.getInstance().hylianMap.containsKey(friendly))
+        LeveledTreasureTable<HylianTreasure> treasureTable = TreasureConfig.getInstance().getHylianTable(friendly);
+
+        if (treasureTable == null)
             return false;
-        List<HylianTreasure> treasures = TreasureConfig.getInstance().hylianMap.get(friendly);
 
         Player player = getPlayer();
+        boolean isLucky = RandomChanceUtil.isLucky(player, PrimarySkillType.HERBALISM);
+        HylianTreasure treasure = treasureTable.rollFirst(getSkillLevel(), isLucky, Misc.getRandom());
 
-        if (treasures.isEmpty()) {
+        if (treasure == null) {
             return false;
         }
-        int skillLevel = getSkillLevel();
-        Location location = Misc.getBlockCenter(blockState);
 
-        for (HylianTreasure treasure : treasures) {
-            if (skillLevel >= treasure.getDropLevel()
-                    && RandomChanceUtil.checkRandomChanceExecutionSuccess(new RandomChanceSkillStatic(treasure.getDropChance(), getPlayer(), SubSkillType.HERBALISM_HYLIAN_LUCK))) {
-                if (!EventUtils.simulateBlockBreak(blockState.getBlock(), player, false)) {
-                    return false;
-                }
-                blockState.setType(Material.AIR);
-                Misc.spawnItem(getPlayer(), location, treasure.getDrop(), ItemSpawnReason.HYLIAN_LUCK_TREASURE);
-                NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE, "Herbalism.HylianLuck");
-                return true;
-            }
+        if (!EventUtils.simulateBlockBreak(blockState.getBlock(), player, false)) {
+            return false;
         }
-        return false;
+
+        Location location = Misc.getBlockCenter(blockState);
+        blockState.setType(Material.AIR);
+        Misc.spawnItem(getPlayer(), location, treasure.getDrop(), ItemSpawnReason.HYLIAN_LUCK_TREASURE);
+        NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE, "Herbalism.HylianLuck");
+        return true;
     }
 
     /**
@@ -130,7 +130,7 @@ public class MiningManager extends SkillManager {
 
         mmoPlayer.setAbilityDATS(SuperAbilityType.BLAST_MINING, System.currentTimeMillis());
         mmoPlayer.setAbilityInformed(SuperAbilityType.BLAST_MINING, false);
-        new AbilityCooldownTask(mmoPlayer, SuperAbilityType.BLAST_MINING).runTaskLater(mcMMO.p, SuperAbilityType.BLAST_MINING.getCooldown() * Misc.TICK_CONVERSION_FACTOR);
+        mcMMO.getTickWheel().schedule(new AbilityCooldownTask(mmoPlayer, SuperAbilityType.BLAST_MINING), SuperAbilityType.BLAST_MINING.getCooldown() * Misc.TICK_CONVERSION_FACTOR);
     }
 
     /**
@@ -149,11 +149,15 @@ public class MiningManager extends SkillManager {
 
         List<BlockState> notOres = new ArrayList<>();
         for (Block targetBlock : event.blockList()) {
-            BlockState blockState = targetBlock.getState();
-            //Containers usually have 0 XP unless someone edited their config in a very strange way
+            //Only snapshot blocks that give XP, most of a blast is usually plain stone and dirt
             if (ExperienceConfig.getInstance().getXp(PrimarySkillType.MINING, targetBlock) != 0
-                    && !(targetBlock instanceof Container)
                     && !mcMMO.getPlaceStore().isTrue(targetBlock)) {
+                BlockState blockState = targetBlock.getState();
+
+                //Containers usually have 0 XP unless someone edited their config in a very strange way
+                if(blockState instanceof Container)
+                    continue;
+
                 if(BlockUtils.isOre(blockState)) {
                     ores.add(blockState);
                 } else {
@@ -0,0 +1,338 @@
+package com.gmail.nossr50.skills.swords;
+
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.events.skills.rupture.McMMOEntityDamageByRuptureEvent;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.scheduler.TickTask;
+import com.gmail.nossr50.util.skills.ParticleEffectUtils;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Applies every active rupture from a single timer
+ * Bleeds are stored in parallel arrays and indexed by entity id, no metadata or per bleed task is involved
+ * Must only be used from the main thread
+ */
+public class RuptureEngine {
+    public static final int DAMAGE_TICK_INTERVAL = 10;
+    public static final int ANIMATION_TICK_INTERVAL = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    //Active bleeds, slots [0, size) are in use
+    private LivingEntity[] targets = new LivingEntity[INITIAL_CAPACITY];
+    private McMMOPlayer[] sources = new McMMOPlayer[INITIAL_CAPACITY];
+    private int[] entityIds = new int[INITIAL_CAPACITY];
+    private int[] expireTicks = new int[INITIAL_CAPACITY];
+    private int[] ruptureTicks = new int[INITIAL_CAPACITY];
+    private int[] damageTickTrackers = new int[INITIAL_CAPACITY];
+    private int[] animationTicks = new int[INITIAL_CAPACITY];
+    private double[] tickDamages = new double[INITIAL_CAPACITY];
+    private int size;
+
+    //Open addressing entity id -> slot + 1 lookup, 0 marks an empty bucket
+    private int[] idTable = new int[INITIAL_CAPACITY * 2];
+    private int[] slotTable = new int[INITIAL_CAPACITY * 2];
+
+    //Kept private so nothing outside the engine can stop every bleed at once
+    private final @NotNull TickTask timer = new TickTask() {
+        @Override
+        public void run() {
+            tick();
+        }
+    };
+
+    /**
+     * Starts a rupture on an entity, or refreshes the one it already has
+     *
+     * @param source the player causing the rupture
+     * @param target the bleeding entity
+     * @param tickDamage damage dealt every {@link #DAMAGE_TICK_INTERVAL} ticks
+     */
+    public void applyRupture(@NotNull McMMOPlayer source, @NotNull LivingEntity target, double tickDamage) {
+        int slot = findSlot(target.getEntityId());
+
+        if (slot != -1) {
+            refreshRupture(slot);
+            return;
+        }
+
+        if (size == targets.length)
+            grow();
+
+        slot = size++;
+        targets[slot] = target;
+        sources[slot] = source;
+        entityIds[slot] = target.getEntityId();
+        expireTicks[slot] = mcMMO.p.getAdvancedConfig().getRuptureDurationSeconds(target instanceof Player) * 20;
+        ruptureTicks[slot] = 0;
+        damageTickTrackers[slot] = 0;
+        animationTicks[slot] = ANIMATION_TICK_INTERVAL; //Play an animation right away
+        tickDamages[slot] = tickDamage;
+        putSlot(entityIds[slot], slot);
+
+        if (!timer.isScheduled())
+            mcMMO.getTickWheel().schedule(timer, 1, 1);
+    }
+
+    /**
+     * Resets the duration of an ongoing rupture and makes it deal damage on the next tick
+     *
+     * @param target the bleeding entity
+     * @return true if the entity was bleeding
+     */
+    public boolean refreshRupture(@NotNull LivingEntity target) {
+        int slot = findSlot(target.getEntityId());
+
+        if (slot == -1)
+            return false;
+
+        refreshRupture(slot);
+        return true;
+    }
+
+    public boolean isBleeding(@NotNull LivingEntity target) {
+        return findSlot(target.getEntityId()) != -1;
+    }
+
+    /**
+     * Stops the rupture on an entity without dealing any more damage
+     *
+     * @param target the entity to stop bleeding
+     */
+    public void endRupture(@NotNull LivingEntity target) {
+        int slot = findSlot(target.getEntityId());
+
+        if (slot != -1)
+            removeSlot(slot);
+    }
+
+    /**
+     * Drops the ruptures of every entity in a chunk that is unloading
+     *
+     * @param chunk the unloading chunk
+     */
+    public void endRupturesInChunk(@NotNull Chunk chunk) {
+        for (int slot = size - 1; slot >= 0; slot--) {
+            Location location = targets[slot].getLocation();
+
+            if (location.getWorld() == chunk.getWorld() && location.getBlockX() >> 4 == chunk.getX() && location.getBlockZ() >> 4 == chunk.getZ())
+                removeSlot(slot);
+        }
+    }
+
+    /**
+     * @return a debug description of the rupture on an entity
+     */
+    public @NotNull String describeRupture(@NotNull LivingEntity target) {
+        int slot = findSlot(target.getEntityId());
+
+        if (slot == -1)
+            return "Rupture{none}";
+
+        return "Rupture{" +
+                "ruptureSource=" + sources[slot] +
+                ", targetEntity=" + targets[slot] +
+                ", expireTick=" + expireTicks[slot] +
+                ", ruptureTick=" + ruptureTicks[slot] +
+                ", damageTickTracker=" + damageTickTrackers[slot] +
+                ", pureTickDamage=" + tickDamages[slot] +
+                '}';
+    }
+
+    private void tick() {
+        //Walk backwards so swap removals never skip a bleed
+        for (int slot = size - 1; slot >= 0; slot--) {
+            //Damage events can end other bleeds while we iterate
+            if (slot >= size)
+                continue;
+
+            LivingEntity target = targets[slot];
+
+            //Dead or unloaded
+            if (!target.isValid()) {
+                removeSlot(slot);
+                continue;
+            }
+
+            ruptureTicks[slot]++;
+            damageTickTrackers[slot]++;
+
+            //Rupture hasn't ended yet
+            if (ruptureTicks[slot] < expireTicks[slot]) {
+                //Is it time to damage?
+                if (damageTickTrackers[slot] >= DAMAGE_TICK_INTERVAL) {
+                    damageTickTrackers[slot] = 0; //Reset timer
+
+                    if (dealRuptureDamage(slot) && isSameBleed(slot, target))
+                        playAnimation(slot);
+                }
+            } else {
+                if (dealRuptureDamage(slot) && isSameBleed(slot, target))
+                    playAnimation(slot);
+
+                if (isSameBleed(slot, target))
+                    removeSlot(slot);
+            }
+        }
+
+        if (size == 0)
+            timer.cancel();
+    }
+
+    /**
+     * @return true if damage was dealt
+     */
+    private boolean dealRuptureDamage(int slot) {
+        LivingEntity target = targets[slot];
+        double healthBeforeRuptureIsApplied = target.getHealth();
+
+        //Ensure victim has health
+        if (healthBeforeRuptureIsApplied > 0.01) {
+            //Send a fake damage event
+            McMMOEntityDamageByRuptureEvent event = new McMMOEntityDamageByRuptureEvent(sources[slot], target, calculateAdjustedTickDamage(target, tickDamages[slot]));
+            mcMMO.p.getServer().getPluginManager().callEvent(event);
+
+            //Ensure the event wasn't cancelled and damage is still greater than 0
+            double damage = event.getFinalDamage();
+
+            if (event.isCancelled() || damage <= 0 || healthBeforeRuptureIsApplied - damage <= 0)
+                return false;
+
+            target.setHealth(healthBeforeRuptureIsApplied - damage); //Hurt entity without the unwanted side effects of damage()
+        }
+
+        return true;
+    }
+
+    private void playAnimation(int slot) {
+        if (animationTicks[slot] >= ANIMATION_TICK_INTERVAL) {
+            ParticleEffectUtils.playBleedEffect(targets[slot]); //Animate
+            animationTicks[slot] = 0;
+        } else {
+            animationTicks[slot]++;
+        }
+    }
+
+    private static double calculateAdjustedTickDamage(LivingEntity target, double tickDamage) {
+        if (target.getHealth() <= tickDamage) {
+            tickDamage = target.getHealth() - 0.01;
+
+            if (tickDamage <= 0) {
+                tickDamage = 0;
+            }
+        }
+
+        return tickDamage;
+    }
+
+    private void refreshRupture(int slot) {
+        damageTickTrackers[slot] = DAMAGE_TICK_INTERVAL;
+        ruptureTicks[slot] = 0;
+    }
+
+    //Listeners of the damage event may end or move bleeds, only keep working on a slot that still holds the same entity
+    private boolean isSameBleed(int slot, LivingEntity target) {
+        return slot < size && targets[slot] == target;
+    }
+
+    private void removeSlot(int slot) {
+        removeId(entityIds[slot]);
+
+        //Swap the last bleed into the free slot so the arrays stay compact
+        int last = --size;
+
+        if (slot != last) {
+            targets[slot] = targets[last];
+            sources[slot] = sources[last];
+            entityIds[slot] = entityIds[last];
+            expireTicks[slot] = expireTicks[last];
+            ruptureTicks[slot] = ruptureTicks[last];
+            damageTickTrackers[slot] = damageTickTrackers[last];
+            animationTicks[slot] = animationTicks[last];
+            tickDamages[slot] = tickDamages[last];
+            putSlot(entityIds[slot], slot);
+        }
+
+        targets[last] = null;
+        sources[last] = null;
+    }
+
+    private void grow() {
+        int capacity = targets.length * 2;
+        targets = Arrays.copyOf(targets, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        entityIds = Arrays.copyOf(entityIds, capacity);
+        expireTicks = Arrays.copyOf(expireTicks, capacity);
+        ruptureTicks = Arrays.copyOf(ruptureTicks, capacity);
+        damageTickTrackers = Arrays.copyOf(damageTickTrackers, capacity);
+        animationTicks = Arrays.copyOf(animationTicks, capacity);
+        tickDamages = Arrays.copyOf(tickDamages, capacity);
+
+        //Keep the lookup table at most half full
+        idTable = new int[capacity * 2];
+        slotTable = new int[capacity * 2];
+
+        for (int slot = 0; slot < size; slot++) {
+            putSlot(entityIds[slot], slot);
+        }
+    }
+
+    private int bucketOf(int entityId) {
+        int hash = entityId * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (idTable.length - 1);
+    }
+
+    private int findSlot(int entityId) {
+        for (int bucket = bucketOf(entityId); slotTable[bucket] != 0; bucket = (bucket + 1) & (idTable.length - 1)) {
+            if (idTable[bucket] == entityId)
+                return slotTable[bucket] - 1;
+        }
+
+        return -1;
+    }
+
+    private void putSlot(int entityId, int slot) {
+        int bucket = bucketOf(entityId);
+
+        while (slotTable[bucket] != 0 && idTable[bucket] != entityId) {
+            bucket = (bucket + 1) & (idTable.length - 1);
+        }
+
+        idTable[bucket] = entityId;
+        slotTable[bucket] = slot + 1;
+    }
+
+    private void removeId(int entityId) {
+        int mask = idTable.length - 1;
+        int bucket = bucketOf(entityId);
+
+        while (slotTable[bucket] != 0 && idTable[bucket] != entityId) {
+            bucket = (bucket + 1) & mask;
+        }
+
+        if (slotTable[bucket] == 0)
+            return;
+
+        //Backward shift deletion, pull later entries of the probe chain into the hole
+        int hole = bucket;
+
+        for (int next = (hole + 1) & mask; slotTable[next] != 0; next = (next + 1) & mask) {
+            int home = bucketOf(idTable[next]);
+
+            //Only move entries whose home bucket is not between the hole and their current position
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                idTable[hole] = idTable[next];
+                slotTable[hole] = slotTable[next];
+                hole = next;
+            }
+        }
+
+        slotTable[hole] = 0;
+    }
+}
@@ -0,0 +1,216 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.util.BlockUtils;
+import com.gmail.nossr50.util.ChunkSnapshotRegion;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds the blocks of a tree for Tree Feller
+ * The search is an iterative breadth first search over packed block coordinates
+ * It only reads block types from a {@link ChunkSnapshotRegion} so it can run off the main thread, blocks outside of the region are treated as not being part of the tree
+ */
+class TreeFellerSearch {
+    /**
+     * The x/z differences to the blocks in a flat cylinder around the center
+     * block, which is excluded.
+     */
+    private static final int[][] directions = {
+            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
+            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
+            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
+            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
+            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
+    };
+
+    private static final byte UNKNOWN = 0;
+    private static final byte LOG = 1;
+    private static final byte NON_WOOD_PART = 2;
+    private static final byte NOT_TREE = 3;
+
+    private final @NotNull ChunkSnapshotRegion region;
+    private final int threshold;
+    private final @NotNull Set<Long> visited = new HashSet<>();
+    private long[] treeFellerBlocks = new long[64];
+    private int treeFellerBlockCount;
+    private final byte[] materialTypes = new byte[Material.values().length];
+    private long[] centers = new long[16];
+    private int centersHead;
+    private int centersTail;
+    private int logCount;
+    private boolean reachedThreshold;
+
+    TreeFellerSearch(@NotNull ChunkSnapshotRegion region, int threshold) {
+        this.region = region;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Searches the tree connected to a log
+     *
+     * @param originX x coordinate of the log the search starts from, it is not part of the results
+     * @param originY y coordinate of the log the search starts from
+     * @param originZ z coordinate of the log the search starts from
+     * @return this search, holding the results
+     */
+    /*
+     * Algorithm: Each log found becomes a center, centers are processed in
+     * the order they were found.
+     *
+     *  [A] There is another log above the center (TRUNK)
+     *    Only the flat cylinder in the directions array is searched.
+     *  [B] There is not another log above the center (BRANCH AND TOP)
+     *    The cylinder in the directions array is extended up and down by 1
+     *    block in the Y-axis, and the block below the center is checked as
+     *    well.
+     *
+     * Every position is examined at most once, blocks that are not part of
+     * a tree are remembered as visited as well.
+     */
+    @NotNull TreeFellerSearch search(int originX, int originY, int originZ) {
+        long originKey = pack(originX, originY, originZ);
+        visited.add(originKey);
+        enqueue(originKey);
+
+        while (centersHead < centersTail && !reachedThreshold) {
+            long center = centers[centersHead++];
+            int x = unpackX(center);
+            int y = unpackY(center);
+            int z = unpackZ(center);
+
+            if (processTarget(x, y + 1, z)) {
+                for (int[] dir : directions) {
+                    processTarget(x + dir[0], y, z + dir[1]);
+
+                    if (reachedThreshold) {
+                        return this;
+                    }
+                }
+            } else {
+                processTarget(x, y - 1, z);
+
+                for (int offsetY = -1; offsetY <= 1; offsetY++) {
+                    for (int[] dir : directions) {
+                        processTarget(x + dir[0], y + offsetY, z + dir[1]);
+
+                        if (reachedThreshold) {
+                            return this;
+                        }
+                    }
+                }
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * @return true if and only if the position held a log that was not found before
+     */
+    private boolean processTarget(int x, int y, int z) {
+        long key = pack(x, y, z);
+
+        if (!visited.add(key)) {
+            return false;
+        }
+
+        if (region.isPlacedBlock(x, y, z)) {
+            return false;
+        }
+
+        // Without this check Tree Feller propagates through leaves until the threshold is hit
+        if (treeFellerBlockCount > threshold) {
+            reachedThreshold = true;
+        }
+
+        Material material = region.getType(x, y, z);
+
+        if (material == null) {
+            return false;
+        }
+
+        byte type = getMaterialType(material);
+
+        if (type == NOT_TREE) {
+            return false;
+        }
+
+        if (treeFellerBlockCount == treeFellerBlocks.length) {
+            treeFellerBlocks = Arrays.copyOf(treeFellerBlocks, treeFellerBlocks.length * 2);
+        }
+
+        treeFellerBlocks[treeFellerBlockCount++] = key;
+
+        if (type == LOG) {
+            logCount++;
+            enqueue(key);
+            return true;
+        }
+
+        return false;
+    }
+
+    //The configs are only read here, they are never written to once loaded
+    private byte getMaterialType(@NotNull Material material) {
+        byte type = materialTypes[material.ordinal()];
+
+        if (type == UNKNOWN) {
+            if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, material)) {
+                type = LOG;
+            } else if (BlockUtils.isNonWoodPartOfTree(material)) {
+                type = NON_WOOD_PART;
+            } else {
+                type = NOT_TREE;
+            }
+
+            materialTypes[material.ordinal()] = type;
+        }
+
+        return type;
+    }
+
+    private void enqueue(long key) {
+        if (centersTail == centers.length) {
+            centers = Arrays.copyOf(centers, centers.length * 2);
+        }
+
+        centers[centersTail++] = key;
+    }
+
+    /**
+     * @return the packed coordinates of every block found, in the order they were found
+     */
+    long @NotNull [] getTreeFellerBlocks() {
+        return Arrays.copyOf(treeFellerBlocks, treeFellerBlockCount);
+    }
+
+    int getLogCount() {
+        return logCount;
+    }
+
+    boolean hasReachedThreshold() {
+        return reachedThreshold;
+    }
+
+    static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | ((long) y & 0xFFF);
+    }
+
+    static int unpackX(long key) {
+        return (int) (key >> 38);
+    }
+
+    static int unpackY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    static int unpackZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+}
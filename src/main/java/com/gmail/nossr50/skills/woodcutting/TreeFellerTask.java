@@ -0,0 +1,72 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.datatypes.experience.XPGainReason;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks the blocks found by Tree Feller over several ticks
+ * Each run breaks blocks until the tick budget is spent, XP is awarded once the whole tree is down
+ */
+class TreeFellerTask extends BukkitRunnable {
+    private static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final @NotNull WoodcuttingManager woodcuttingManager;
+    private final @NotNull World world;
+    private final long @NotNull [] treeFellerBlocks;
+    private final boolean simulateBreak;
+    private int index;
+    private int xp;
+    private int processedLogCount;
+
+    /**
+     * @param treeFellerBlocks packed coordinates of the blocks to break, as found by {@link TreeFellerSearch}
+     * @param simulateBreak true if fake break events should be fired per block, false if the blocks were already checked as a batch
+     */
+    TreeFellerTask(@NotNull WoodcuttingManager woodcuttingManager, @NotNull World world, long @NotNull [] treeFellerBlocks, boolean simulateBreak) {
+        this.woodcuttingManager = woodcuttingManager;
+        this.world = world;
+        this.treeFellerBlocks = treeFellerBlocks;
+        this.simulateBreak = simulateBreak;
+    }
+
+    @Override
+    public void run() {
+        //The player logged out, leave the rest of the tree standing
+        if (!woodcuttingManager.getPlayer().isOnline()) {
+            this.cancel();
+            return;
+        }
+
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+
+        //Always make progress, even if a single block takes longer than the budget
+        do {
+            long key = treeFellerBlocks[index++];
+            int x = TreeFellerSearch.unpackX(key);
+            int z = TreeFellerSearch.unpackZ(key);
+
+            //Never load chunks that unloaded since the search
+            if (!world.isChunkLoaded(x >> 4, z >> 4))
+                continue;
+
+            Block block = world.getBlockAt(x, TreeFellerSearch.unpackY(key), z);
+            int blockXP = woodcuttingManager.processTreeFellerBlock(block, processedLogCount, simulateBreak);
+
+            //Update only when XP changes
+            if (blockXP != 0) {
+                xp += blockXP;
+                processedLogCount++;
+            }
+        } while (index < treeFellerBlocks.length && System.nanoTime() < deadline);
+
+        if (index >= treeFellerBlocks.length) {
+            woodcuttingManager.applyXpGain(xp, XPGainReason.PVE);
+            this.cancel();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
+import com.gmail.nossr50.events.skills.McMMOPlayerMultiBlockBreakEvent;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
@@ -19,8 +20,8 @@ import com.gmail.nossr50.util.skills.SkillActivationType;
 import com.gmail.nossr50.util.skills.SkillUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerItemDamageEvent;
@@ -30,25 +31,13 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 public class WoodcuttingManager extends SkillManager {
-    private boolean treeFellerReachedThreshold = false;
     private static int treeFellerThreshold; //TODO: Shared setting, will be removed in 2.2
-
-    /**
-     * The x/y differences to the blocks in a flat cylinder around the center
-     * block, which is excluded.
-     */
-    private static final int[][] directions = {
-            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
-            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
-            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
-            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
-            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
-    };
+    private boolean treeFellerSearchPending;
 
     public WoodcuttingManager(McMMOPlayer mcMMOPlayer) {
         super(mcMMOPlayer, PrimarySkillType.WOODCUTTING);
@@ -62,7 +51,9 @@ public class WoodcuttingManager extends SkillManager {
     }
 
     public boolean canUseTreeFeller(ItemStack heldItem) {
+        //Logs broken while a tree is still being searched are cut normally, so a tool is never charged for two trees at once
         return mmoPlayer.getAbilityMode(SuperAbilityType.TREE_FELLER)
+                && !treeFellerSearchPending
                 && ItemUtils.isAxe(heldItem);
     }
 
@@ -91,32 +82,55 @@ public class WoodcuttingManager extends SkillManager {
 
     /**
      * Begins Tree Feller
+     * The tree is searched off the main thread from chunk snapshots, the threshold and durability cost are then applied up front
+     * and the blocks are broken by a {@link TreeFellerTask} spread over several ticks
      *
      * @param blockState Block being broken
      */
     public void processTreeFeller(BlockState blockState) {
+        //The origin block is broken by the time the search finishes, grab its drops now for the threshold fallback
+        Collection<ItemStack> originDrops = blockState.getBlock().getDrops();
+        ItemStack tool = getPlayer().getInventory().getItemInMainHand().clone();
+        ChunkSnapshotRegion region = ChunkSnapshotRegion.capture(blockState.getWorld(), blockState.getX(), blockState.getZ());
+
+        treeFellerSearchPending = true;
+        region.searchAsync(snapshotRegion -> new TreeFellerSearch(snapshotRegion, treeFellerThreshold).search(blockState.getX(), blockState.getY(), blockState.getZ()),
+                treeFellerSearch -> {
+                    treeFellerSearchPending = false;
+                    processTreeFellerResult(blockState, originDrops, tool, treeFellerSearch);
+                });
+    }
+
+    private void processTreeFellerResult(@NotNull BlockState blockState, @NotNull Collection<ItemStack> originDrops, @NotNull ItemStack tool, @NotNull TreeFellerSearch treeFellerSearch) {
         Player player = getPlayer();
-        Set<BlockState> treeFellerBlocks = new HashSet<>();
 
-        treeFellerReachedThreshold = false;
+        if (!player.isOnline()) {
+            return;
+        }
 
-        processTree(blockState, treeFellerBlocks);
+        ItemStack inHand = player.getInventory().getItemInMainHand();
 
-        // If the player is trying to break too many blocks
-        if (treeFellerReachedThreshold) {
-            treeFellerReachedThreshold = false;
+        //The player swapped tools or the ability ran out while the tree was searched, the tree is left standing
+        if (!mmoPlayer.getAbilityMode(SuperAbilityType.TREE_FELLER) || !isSameTool(tool, inHand)) {
+            return;
+        }
 
+        // If the player is trying to break too many blocks
+        if (treeFellerSearch.hasReachedThreshold()) {
             NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE_FAILED, "Woodcutting.Skills.TreeFeller.Threshold");
 
             //Tree feller won't be activated for this block, award normal xp.
             processWoodcuttingBlockXP(blockState);
-            processHarvestLumber(blockState);
+
+            if (checkHarvestLumberActivation(blockState.getType())) {
+                Misc.spawnItemsFromCollection(player, Misc.getBlockCenter(blockState), originDrops, ItemSpawnReason.BONUS_DROPS);
+            }
 
             return;
         }
 
         // If the tool can't sustain the durability loss
-        if (!handleDurabilityLoss(treeFellerBlocks, player.getInventory().getItemInMainHand(), player)) {
+        if (!handleDurabilityLoss(treeFellerSearch.getLogCount(), inHand, player)) {
             NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE_FAILED, "Woodcutting.Skills.TreeFeller.Splinter");
 
             double health = player.getHealth();
@@ -128,86 +142,76 @@ public class WoodcuttingManager extends SkillManager {
             return;
         }
 
-        dropTreeFellerLootFromBlocks(treeFellerBlocks);
-        treeFellerReachedThreshold = false; // Reset the value after we're done with Tree Feller each time.
+        long[] treeFellerBlocks = treeFellerSearch.getTreeFellerBlocks();
+        boolean batchedBlockBreak = EventUtils.isBatchedBlockBreakEnabled();
+
+        // One event for the whole tree instead of a damage and break event per block
+        if (batchedBlockBreak) {
+            treeFellerBlocks = filterVetoedBlocks(blockState.getWorld(), treeFellerBlocks);
+        }
+
+        if (treeFellerBlocks.length == 0) {
+            return;
+        }
+
+        new TreeFellerTask(this, blockState.getWorld(), treeFellerBlocks, !batchedBlockBreak).runTaskTimer(mcMMO.p, 0, 1);
     }
 
     /**
-     * Processes Tree Feller in a recursive manner
-     *
-     * @param blockState Block being checked
-     * @param treeFellerBlocks List of blocks to be removed
+     * Vanilla already took durability off the tool for the log that started Tree Feller, so durability is not compared
      */
-    /*
-     * Algorithm: An int[][] of X/Z directions is created on static class
-     * initialization, representing a cylinder with radius of about 2 - the
-     * (0,0) center and all (+-2, +-2) corners are omitted.
-     *
-     * processTreeFellerTargetBlock() returns a boolean, which is used for the sole purpose of
-     * switching between these two behaviors:
-     *
-     * (Call blockState "this log" for the below explanation.)
-     *
-     *  [A] There is another log above this log (TRUNK)
-     *    Only the flat cylinder in the directions array is searched.
-     *  [B] There is not another log above this log (BRANCH AND TOP)
-     *    The cylinder in the directions array is extended up and down by 1
-     *    block in the Y-axis, and the block below this log is checked as
-     *    well. Due to the fact that the directions array will catch all
-     *    blocks on a red mushroom, the special method for it is eliminated.
-     *
-     * This algorithm has been shown to achieve a performance of 2-5
-     * milliseconds on regular trees and 10-15 milliseconds on jungle trees
-     * once the JIT has optimized the function (use the ability about 4 times
-     * before taking measurements).
-     */
-    private void processTree(BlockState blockState, Set<BlockState> treeFellerBlocks) {
-        List<BlockState> futureCenterBlocks = new ArrayList<>();
+    private static boolean isSameTool(@NotNull ItemStack tool, @NotNull ItemStack inHand) {
+        if (tool.getType() != inHand.getType() || tool.getAmount() != inHand.getAmount())
+            return false;
 
-        // Check the block up and take different behavior (smaller search) if it's a log
-        if (processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.UP).getState(), futureCenterBlocks, treeFellerBlocks)) {
-            for (int[] dir : directions) {
-                processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], 0, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
+        ItemMeta toolMeta = tool.getItemMeta();
+        ItemMeta inHandMeta = inHand.getItemMeta();
 
-                if (treeFellerReachedThreshold) {
-                    return;
-                }
-            }
+        if (toolMeta == null || inHandMeta == null)
+            return toolMeta == inHandMeta;
+
+        if (toolMeta instanceof Damageable && inHandMeta instanceof Damageable) {
+            ((Damageable) toolMeta).setDamage(0);
+            ((Damageable) inHandMeta).setDamage(0);
         }
-        else {
-            // Cover DOWN
-            processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.DOWN).getState(), futureCenterBlocks, treeFellerBlocks);
-            // Search in a cube
-            for (int y = -1; y <= 1; y++) {
-                for (int[] dir : directions) {
-                    processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], y, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
-
-                    if (treeFellerReachedThreshold) {
-                        return;
-                    }
-                }
-            }
+
+        return toolMeta.equals(inHandMeta);
+    }
+
+    private long @NotNull [] filterVetoedBlocks(@NotNull World world, long @NotNull [] treeFellerBlocks) {
+        List<Block> blocks = new ArrayList<>(treeFellerBlocks.length);
+
+        for (long key : treeFellerBlocks) {
+            blocks.add(world.getBlockAt(TreeFellerSearch.unpackX(key), TreeFellerSearch.unpackY(key), TreeFellerSearch.unpackZ(key)));
         }
 
-        // Recursive call for each log found
-        for (BlockState futureCenterBlock : futureCenterBlocks) {
-            if (treeFellerReachedThreshold) {
-                return;
-            }
+        McMMOPlayerMultiBlockBreakEvent event = EventUtils.simulateMultiBlockBreak(blocks, getPlayer(), PrimarySkillType.WOODCUTTING, true);
 
-            processTree(futureCenterBlock, treeFellerBlocks);
+        if (event.isCancelled()) {
+            return new long[0];
         }
+
+        long[] allowedBlocks = new long[treeFellerBlocks.length];
+        int allowedCount = 0;
+
+        for (int i = 0; i < treeFellerBlocks.length; i++) {
+            if (!event.isVetoed(blocks.get(i))) {
+                allowedBlocks[allowedCount++] = treeFellerBlocks[i];
+            }
+        }
+
+        return Arrays.copyOf(allowedBlocks, allowedCount);
     }
 
     /**
      * Handles the durability loss
      *
-     * @param treeFellerBlocks List of blocks to be removed
+     * @param logCount amount of logs to be removed
      * @param inHand tool being used
      * @param player the player holding the item
      * @return True if the tool can sustain the durability loss
      */
-    private static boolean handleDurabilityLoss(@NotNull Set<BlockState> treeFellerBlocks, @NotNull ItemStack inHand, @NotNull Player player) {
+    private static boolean handleDurabilityLoss(int logCount, @NotNull ItemStack inHand, @NotNull Player player) {
         //Treat the NBT tag for unbreakable and the durability enchant differently
         ItemMeta meta = inHand.getItemMeta();
 
@@ -215,15 +219,9 @@ public class WoodcuttingManager extends SkillManager {
             return true;
         }
 
-        int durabilityLoss = 0;
+        int durabilityLoss = logCount * mcMMO.p.getGeneralConfig().getAbilityToolDamage();
         Material type = inHand.getType();
 
-        for (BlockState blockState : treeFellerBlocks) {
-            if (BlockUtils.hasWoodcuttingXP(blockState)) {
-                durabilityLoss += mcMMO.p.getGeneralConfig().getAbilityToolDamage();
-            }
-        }
-
         // Call PlayerItemDamageEvent first to make sure it's not cancelled
         //TODO: Put this event stuff in handleDurabilityChange
         final PlayerItemDamageEvent event = new PlayerItemDamageEvent(player, inHand, durabilityLoss);
@@ -239,105 +237,66 @@ public class WoodcuttingManager extends SkillManager {
     }
 
     /**
-     * Handle a block addition to the list of blocks to be removed and to the
-     * list of blocks used for future recursive calls of
-     * 'processTree()'
+     * Breaks a single Tree Feller block and handles its drops
+     * Blocks that stopped being part of the tree since the search are skipped
      *
-     * @param blockState Block to be added
-     * @param futureCenterBlocks List of blocks that will be used to call
-     *     'processTree()'
-     * @param treeFellerBlocks List of blocks to be removed
-     * @return true if and only if the given blockState was a Log not already
-     *     in treeFellerBlocks.
+     * @param block Block to be dropped
+     * @param processedLogCount how many logs have given out XP for this tree feller so far
+     * @param simulateBreak true if fake break events should be fired for the block, false if the batch was already checked
+     * @return Amount of experience awarded for the block
      */
-    private boolean processTreeFellerTargetBlock(@NotNull BlockState blockState, @NotNull List<BlockState> futureCenterBlocks, @NotNull Set<BlockState> treeFellerBlocks) {
-        if (treeFellerBlocks.contains(blockState) || mcMMO.getPlaceStore().isTrue(blockState)) {
-            return false;
-        }
+    int processTreeFellerBlock(@NotNull Block block, int processedLogCount, boolean simulateBreak) {
+        Player player = getPlayer();
+        BlockState blockState = block.getState();
+        boolean isLog = BlockUtils.hasWoodcuttingXP(blockState);
 
-        // Without this check Tree Feller propagates through leaves until the threshold is hit
-        if (treeFellerBlocks.size() > treeFellerThreshold) {
-            treeFellerReachedThreshold = true;
+        if (!isLog && !BlockUtils.isNonWoodPartOfTree(blockState)) {
+            return 0;
         }
 
-        if (BlockUtils.hasWoodcuttingXP(blockState)) {
-            treeFellerBlocks.add(blockState);
-            futureCenterBlocks.add(blockState);
-            return true;
-        }
-        else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
-            treeFellerBlocks.add(blockState);
-            return false;
+        if (simulateBreak && !EventUtils.simulateBlockBreak(block, player, true)) {
+            return 0;
         }
-        return false;
-    }
 
-    /**
-     * Handles the dropping of blocks
-     *
-     * @param treeFellerBlocks List of blocks to be dropped
-     */
-    private void dropTreeFellerLootFromBlocks(@NotNull Set<BlockState> treeFellerBlocks) {
-        Player player = getPlayer();
         int xp = 0;
-        int processedLogCount = 0;
 
-        for (BlockState blockState : treeFellerBlocks) {
-            int beforeXP = xp;
-            Block block = blockState.getBlock();
+        /*
+         * Handle Drops & XP
+         */
 
-            if (!EventUtils.simulateBlockBreak(block, player, true)) {
-                continue;
-            }
+        if (isLog) {
+            //Add XP
+            xp = processTreeFellerXPGains(blockState, processedLogCount);
 
-            /*
-             * Handle Drops & XP
-             */
+            //Drop displaced block
+            Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
 
-            if (BlockUtils.hasWoodcuttingXP(blockState)) {
-                //Add XP
-                xp += processTreeFellerXPGains(blockState, processedLogCount);
+            //Bonus Drops / Harvest lumber checks
+            processHarvestLumber(blockState);
+        } else {
+            //Drop displaced non-woodcutting XP blocks
 
-                //Drop displaced block
+            if(RankUtils.hasUnlockedSubskill(player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
                 Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
 
-                //Bonus Drops / Harvest lumber checks
-                processHarvestLumber(blockState);
-            } else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
-                //Drop displaced non-woodcutting XP blocks
-
-                if(RankUtils.hasUnlockedSubskill(player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
-                    Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
-
-                    if(RankUtils.hasReachedRank(2, player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
-                        if(mcMMO.p.getAdvancedConfig().isKnockOnWoodXPOrbEnabled()) {
-                            if(RandomChanceUtil.rollDice(10, 100)) {
-                                int randOrbCount = Math.max(1, Misc.getRandom().nextInt(100));
-                                Misc.spawnExperienceOrb(blockState.getLocation(), randOrbCount);
-                            }
+                if(RankUtils.hasReachedRank(2, player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
+                    if(mcMMO.p.getAdvancedConfig().isKnockOnWoodXPOrbEnabled()) {
+                        if(RandomChanceUtil.rollDice(10, 100)) {
+                            int randOrbCount = Math.max(1, Misc.getRandom().nextInt(100));
+                            Misc.spawnExperienceOrb(blockState.getLocation(), randOrbCount);
                         }
                     }
-
-                } else {
-                    Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK, 1);
                 }
-            }
-
-            blockState.setType(Material.AIR);
-            blockState.update(true);
 
-            //Update only when XP changes
-            processedLogCount = updateProcessedLogCount(xp, processedLogCount, beforeXP);
+            } else {
+                Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK, 1);
+            }
         }
 
-        applyXpGain(xp, XPGainReason.PVE);
-    }
-
-    private int updateProcessedLogCount(int xp, int processedLogCount, int beforeXP) {
-        if(beforeXP != xp)
-            processedLogCount+=1;
+        blockState.setType(Material.AIR);
+        blockState.update(true);
 
-        return processedLogCount;
+        return xp;
     }
 
     /**
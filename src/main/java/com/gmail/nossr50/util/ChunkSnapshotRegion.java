@@ -0,0 +1,163 @@
+package com.gmail.nossr50.util;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.blockmeta.ChunkStore;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Read only copy of loaded chunks and their placed block data, safe to search from any thread
+ * Chunks are only captured once a search actually reaches them, a search that runs into a chunk it does not have yet is rerun once that chunk is captured
+ */
+public class ChunkSnapshotRegion {
+    private final @NotNull World world;
+    private final int minWorldHeight;
+    private final int maxWorldHeight;
+    private final @NotNull Map<Long, CapturedChunk> chunks = new HashMap<>();
+
+    //Chunks the last search needed but were never captured, only touched by the thread running the search
+    private final @NotNull Set<Long> missingChunks = new HashSet<>();
+
+    private ChunkSnapshotRegion(@NotNull World world) {
+        this.world = world;
+        this.minWorldHeight = mcMMO.getCompatibilityManager().getWorldCompatibilityLayer().getMinWorldHeight(world);
+        this.maxWorldHeight = mcMMO.getCompatibilityManager().getWorldCompatibilityLayer().getMaxWorldHeight(world);
+    }
+
+    /**
+     * Captures the chunk holding a block, must be called from the main thread
+     * Chunks around it are captured later if a search reaches them
+     *
+     * @param world the world to capture
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return the captured region
+     */
+    public static @NotNull ChunkSnapshotRegion capture(@NotNull World world, int x, int z) {
+        ChunkSnapshotRegion region = new ChunkSnapshotRegion(world);
+        region.captureChunk(x >> 4, z >> 4);
+        return region;
+    }
+
+    /**
+     * Chunks that are not loaded are remembered as empty and never loaded by this
+     */
+    private void captureChunk(int chunkX, int chunkZ) {
+        if (!world.isChunkLoaded(chunkX, chunkZ)) {
+            chunks.put(chunkKey(chunkX, chunkZ), null);
+            return;
+        }
+
+        //Height maps, biomes and temperatures are never read so skip copying them
+        ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+        ChunkStore placedBlocks = mcMMO.getPlaceStore().copyChunkStore(chunkX, chunkZ, world);
+
+        chunks.put(chunkKey(chunkX, chunkZ), new CapturedChunk(snapshot, placedBlocks));
+    }
+
+    /**
+     * Get the type of a block in the region
+     *
+     * @return the block type, or null if the block is outside of the world or in a chunk that is not loaded
+     */
+    public @Nullable Material getType(int x, int y, int z) {
+        CapturedChunk chunk = getChunk(x, y, z);
+        return chunk == null ? null : chunk.snapshot.getBlockType(x & 15, y, z & 15);
+    }
+
+    /**
+     * Checks if a block was placed by a player, the same way {@link com.gmail.nossr50.util.blockmeta.UserBlockTracker#isTrue(org.bukkit.block.Block)} does
+     *
+     * @return true if the block was placed by a player
+     */
+    public boolean isPlacedBlock(int x, int y, int z) {
+        CapturedChunk chunk = getChunk(x, y, z);
+        return chunk != null && chunk.placedBlocks != null && chunk.placedBlocks.isTrue(Math.abs(x) % 16, y, Math.abs(z) % 16);
+    }
+
+    private @Nullable CapturedChunk getChunk(int x, int y, int z) {
+        if (y < minWorldHeight || y >= maxWorldHeight)
+            return null;
+
+        long chunkKey = chunkKey(x >> 4, z >> 4);
+        CapturedChunk chunk = chunks.get(chunkKey);
+
+        if (chunk == null && !chunks.containsKey(chunkKey)) {
+            missingChunks.add(chunkKey);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Blocks must never be read through the world off the main thread, use {@link #getType(int, int, int)} instead
+     *
+     * @return the world this region was captured from
+     */
+    public @NotNull World getWorld() {
+        return world;
+    }
+
+    /**
+     * Runs a search over this region on a worker thread and hands the result back to the main thread
+     * If the search reached chunks that were not captured yet they are captured and the search runs again from scratch, so it must not depend on earlier runs
+     * The callback is dropped if mcMMO gets disabled while the search is running
+     *
+     * @param search the search to run, must only read from this region and thread safe state
+     * @param callback receives the result of the search on the main thread
+     * @param <T> the result type
+     */
+    public <T> void searchAsync(@NotNull Function<ChunkSnapshotRegion, T> search, @NotNull Consumer<T> callback) {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                missingChunks.clear();
+                T result = search.apply(ChunkSnapshotRegion.this);
+
+                if (!mcMMO.p.isEnabled())
+                    return;
+
+                new BukkitRunnable() {
+                    @Override
+                    public void run() {
+                        if (missingChunks.isEmpty()) {
+                            callback.accept(result);
+                            return;
+                        }
+
+                        for (long chunkKey : missingChunks) {
+                            captureChunk((int) (chunkKey >> 32), (int) chunkKey);
+                        }
+
+                        searchAsync(search, callback);
+                    }
+                }.runTask(mcMMO.p);
+            }
+        }.runTaskAsynchronously(mcMMO.p);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static class CapturedChunk {
+        private final @NotNull ChunkSnapshot snapshot;
+        private final @Nullable ChunkStore placedBlocks;
+
+        private CapturedChunk(@NotNull ChunkSnapshot snapshot, @Nullable ChunkStore placedBlocks) {
+            this.snapshot = snapshot;
+            this.placedBlocks = placedBlocks;
+        }
+    }
+}
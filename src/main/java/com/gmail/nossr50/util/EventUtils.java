@@ -21,6 +21,7 @@ import com.gmail.nossr50.events.party.McMMOPartyLevelUpEvent;
 import com.gmail.nossr50.events.party.McMMOPartyTeleportEvent;
 import com.gmail.nossr50.events.party.McMMOPartyXpGainEvent;
 import com.gmail.nossr50.events.players.McMMOPlayerProfileLoadEvent;
+import com.gmail.nossr50.events.skills.McMMOPlayerMultiBlockBreakEvent;
 import com.gmail.nossr50.events.skills.abilities.McMMOPlayerAbilityActivateEvent;
 import com.gmail.nossr50.events.skills.abilities.McMMOPlayerAbilityDeactivateEvent;
 import com.gmail.nossr50.events.skills.fishing.McMMOPlayerFishingTreasureEvent;
@@ -43,14 +44,19 @@ import org.bukkit.entity.FishHook;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.player.PlayerFishEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -329,6 +335,51 @@ public final class EventUtils {
         return !damageEvent.isCancelled() && !breakEvent.isCancelled();
     }
 
+    /**
+     * Checks if abilities should fire a single {@link McMMOPlayerMultiBlockBreakEvent} instead of simulating a break for every block
+     * Protection and logging plugins that never opted in only see the per block events, so those are kept until every block listener has opted in
+     *
+     * @return true if batched block break events are enabled and every other block listener handles them
+     */
+    public static boolean isBatchedBlockBreakEnabled() {
+        if (!mcMMO.p.getGeneralConfig().getBatchedBlockBreakEventsEnabled())
+            return false;
+
+        return haveAllListenersOptedIn(BlockDamageEvent.getHandlerList()) && haveAllListenersOptedIn(BlockBreakEvent.getHandlerList());
+    }
+
+    private static boolean haveAllListenersOptedIn(@NotNull HandlerList handlerList) {
+        for (RegisteredListener registeredListener : handlerList.getRegisteredListeners()) {
+            Plugin plugin = registeredListener.getPlugin();
+
+            if (plugin != mcMMO.p && !McMMOPlayerMultiBlockBreakEvent.hasOptedIn(plugin))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Simulate breaking a batch of blocks with a single event, used instead of {@link #simulateBlockBreak(Block, Player, boolean)} when batched block break events are enabled
+     *
+     * @param blocks The blocks to break
+     * @param player The player breaking the blocks
+     * @param skill The skill responsible for breaking the blocks
+     * @param shouldArmSwing true if an armswing event should be fired, false otherwise
+     * @return the event after it was called, check {@link McMMOPlayerMultiBlockBreakEvent#isVetoed(Block)} for each block
+     */
+    public static @NotNull McMMOPlayerMultiBlockBreakEvent simulateMultiBlockBreak(@NotNull List<Block> blocks, @NotNull Player player, @NotNull PrimarySkillType skill, boolean shouldArmSwing) {
+        // Support for NoCheat
+        if (shouldArmSwing) {
+            callFakeArmSwingEvent(player);
+        }
+
+        McMMOPlayerMultiBlockBreakEvent event = new McMMOPlayerMultiBlockBreakEvent(player, skill, blocks);
+        mcMMO.p.getServer().getPluginManager().callEvent(event);
+
+        return event;
+    }
+
     public static void handlePartyTeleportEvent(Player teleportingPlayer, Player targetPlayer) {
         McMMOPlayer mcMMOPlayer = UserManager.getPlayer(teleportingPlayer);
 
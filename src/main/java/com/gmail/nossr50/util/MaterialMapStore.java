@@ -60,6 +60,47 @@ public class MaterialMapStore {
 
     private final @NotNull HashMap<String, Integer> tierValue;
 
+    //Bit flags for each classification, indexed into materialFlags by Material ordinal
+    private static final long ABILITY_BLACKLIST = 1L << 0;
+    private static final long TOOL_BLACKLIST = 1L << 1;
+    private static final long MOSSY = 1L << 2;
+    private static final long TREE_FELLER_DESTRUCTIBLE = 1L << 3;
+    private static final long HERBALISM_ABILITY = 1L << 4;
+    private static final long BLOCK_CRACKER = 1L << 5;
+    private static final long SHROOMY = 1L << 6;
+    private static final long MULTI_BLOCK_PLANT = 1L << 7;
+    private static final long FOOD = 1L << 8;
+    private static final long GLASS = 1L << 9;
+    private static final long NETHERITE_ARMOR = 1L << 10;
+    private static final long NETHERITE_TOOL = 1L << 11;
+    private static final long WOOD_TOOL = 1L << 12;
+    private static final long STONE_TOOL = 1L << 13;
+    private static final long LEATHER_ARMOR = 1L << 14;
+    private static final long IRON_ARMOR = 1L << 15;
+    private static final long IRON_TOOL = 1L << 16;
+    private static final long STRING_TOOL = 1L << 17;
+    private static final long GOLD_ARMOR = 1L << 18;
+    private static final long GOLD_TOOL = 1L << 19;
+    private static final long CHAINMAIL_ARMOR = 1L << 20;
+    private static final long DIAMOND_ARMOR = 1L << 21;
+    private static final long DIAMOND_TOOL = 1L << 22;
+    private static final long ARMOR = 1L << 23;
+    private static final long SWORD = 1L << 24;
+    private static final long AXE = 1L << 25;
+    private static final long HOE = 1L << 26;
+    private static final long SHOVEL = 1L << 27;
+    private static final long PICKAXE = 1L << 28;
+    private static final long TRIDENT = 1L << 29;
+    private static final long BOW = 1L << 30;
+    private static final long CROSSBOW = 1L << 31;
+    private static final long TOOL = 1L << 32;
+    private static final long ENCHANTABLE = 1L << 33;
+    private static final long ORE = 1L << 34;
+    private static final long INTENDED_TOOL_PICKAXE = 1L << 35;
+
+    private final long @NotNull [] materialFlags;
+    private final int @NotNull [] materialTiers;
+
 
     public MaterialMapStore()
     {
@@ -108,6 +149,9 @@ public class MaterialMapStore {
 
         tierValue = new HashMap<>();
 
+        materialFlags = new long[Material.values().length];
+        materialTiers = new int[Material.values().length];
+
         fillVanillaMaterialRegisters();
     }
 
@@ -130,46 +174,147 @@ public class MaterialMapStore {
         fillIntendedTools();
 
         fillTierMap();
+
+        //Must run last, it snapshots every register above
+        buildMaterialTables();
+    }
+
+    /**
+     * Flattens the string registers into tables indexed by Material ordinal
+     * This turns every Material classification check into an array read and a bit test instead of a key lookup and a string hash
+     */
+    private void buildMaterialTables() {
+        for(Material material : Material.values()) {
+            int index = material.ordinal();
+            materialTiers[index] = 1; //1 for unknown items
+
+            //Legacy materials have no namespaced key
+            if(material.isLegacy())
+                continue;
+
+            String id = material.getKey().getKey();
+            long flags = 0L;
+
+            if(abilityBlackList.contains(id))
+                flags |= ABILITY_BLACKLIST;
+            if(toolBlackList.contains(id))
+                flags |= TOOL_BLACKLIST;
+            if(mossyWhiteList.contains(id))
+                flags |= MOSSY;
+            if(treeFellerDestructibleWhiteList.contains(id))
+                flags |= TREE_FELLER_DESTRUCTIBLE;
+            if(herbalismAbilityBlackList.contains(id))
+                flags |= HERBALISM_ABILITY;
+            if(blockCrackerWhiteList.contains(id))
+                flags |= BLOCK_CRACKER;
+            if(canMakeShroomyWhiteList.contains(id))
+                flags |= SHROOMY;
+            if(multiBlockPlant.contains(id))
+                flags |= MULTI_BLOCK_PLANT;
+            if(foodItemWhiteList.contains(id))
+                flags |= FOOD;
+            if(glassBlocks.contains(id))
+                flags |= GLASS;
+            if(netheriteArmor.contains(id))
+                flags |= NETHERITE_ARMOR;
+            if(netheriteTools.contains(id))
+                flags |= NETHERITE_TOOL;
+            if(woodTools.contains(id))
+                flags |= WOOD_TOOL;
+            if(stoneTools.contains(id))
+                flags |= STONE_TOOL;
+            if(leatherArmor.contains(id))
+                flags |= LEATHER_ARMOR;
+            if(ironArmor.contains(id))
+                flags |= IRON_ARMOR;
+            if(ironTools.contains(id))
+                flags |= IRON_TOOL;
+            if(stringTools.contains(id))
+                flags |= STRING_TOOL;
+            if(goldArmor.contains(id))
+                flags |= GOLD_ARMOR;
+            if(goldTools.contains(id))
+                flags |= GOLD_TOOL;
+            if(chainmailArmor.contains(id))
+                flags |= CHAINMAIL_ARMOR;
+            if(diamondArmor.contains(id))
+                flags |= DIAMOND_ARMOR;
+            if(diamondTools.contains(id))
+                flags |= DIAMOND_TOOL;
+            if(armors.contains(id))
+                flags |= ARMOR;
+            if(swords.contains(id))
+                flags |= SWORD;
+            if(axes.contains(id))
+                flags |= AXE;
+            if(hoes.contains(id))
+                flags |= HOE;
+            if(shovels.contains(id))
+                flags |= SHOVEL;
+            if(pickAxes.contains(id))
+                flags |= PICKAXE;
+            if(tridents.contains(id))
+                flags |= TRIDENT;
+            if(bows.contains(id))
+                flags |= BOW;
+            if(crossbows.contains(id))
+                flags |= CROSSBOW;
+            if(tools.contains(id))
+                flags |= TOOL;
+            if(enchantables.contains(id))
+                flags |= ENCHANTABLE;
+            if(ores.contains(id))
+                flags |= ORE;
+            if(intendedToolPickAxe.contains(id))
+                flags |= INTENDED_TOOL_PICKAXE;
+
+            materialFlags[index] = flags;
+            materialTiers[index] = getTier(id);
+        }
+    }
+
+    private boolean hasFlag(@NotNull Material material, long flag) {
+        return (materialFlags[material.ordinal()] & flag) != 0;
     }
 
     public boolean isMultiBlockPlant(@NotNull Material material)
     {
-        return multiBlockPlant.contains(material.getKey().getKey());
+        return hasFlag(material, MULTI_BLOCK_PLANT);
     }
 
     public boolean isAbilityActivationBlackListed(@NotNull Material material)
     {
-        return abilityBlackList.contains(material.getKey().getKey());
+        return hasFlag(material, ABILITY_BLACKLIST);
     }
 
     public boolean isToolActivationBlackListed(@NotNull Material material)
     {
-        return toolBlackList.contains(material.getKey().getKey());
+        return hasFlag(material, TOOL_BLACKLIST);
     }
 
     public boolean isMossyWhiteListed(@NotNull Material material)
     {
-        return mossyWhiteList.contains(material.getKey().getKey());
+        return hasFlag(material, MOSSY);
     }
 
     public boolean isTreeFellerDestructible(@NotNull Material material)
     {
-        return treeFellerDestructibleWhiteList.contains(material.getKey().getKey());
+        return hasFlag(material, TREE_FELLER_DESTRUCTIBLE);
     }
 
     public boolean isHerbalismAbilityWhiteListed(@NotNull Material material)
     {
-        return herbalismAbilityBlackList.contains(material.getKey().getKey());
+        return hasFlag(material, HERBALISM_ABILITY);
     }
 
     public boolean isBlockCrackerWhiteListed(@NotNull Material material)
     {
-        return blockCrackerWhiteList.contains(material.getKey().getKey());
+        return hasFlag(material, BLOCK_CRACKER);
     }
 
     public boolean isShroomyWhiteListed(@NotNull Material material)
     {
-        return canMakeShroomyWhiteList.contains(material.getKey().getKey());
+        return hasFlag(material, SHROOMY);
     }
 
     private void fillTierMap() {
@@ -757,7 +902,7 @@ public class MaterialMapStore {
      * @return true if it is used for armor
      */
     public boolean isArmor(@NotNull Material material) {
-        return isArmor(material.getKey().getKey());
+        return hasFlag(material, ARMOR);
     }
 
     /**
@@ -770,7 +915,7 @@ public class MaterialMapStore {
     }
 
     public boolean isTool(@NotNull Material material) {
-        return isTool(material.getKey().getKey());
+        return hasFlag(material, TOOL);
     }
 
     public boolean isTool(@NotNull String id) {
@@ -778,7 +923,7 @@ public class MaterialMapStore {
     }
 
     public boolean isEnchantable(@NotNull Material material) {
-        return isEnchantable(material.getKey().getKey());
+        return hasFlag(material, ENCHANTABLE);
     }
 
     public boolean isEnchantable(@NotNull String id) {
@@ -786,7 +931,7 @@ public class MaterialMapStore {
     }
 
     public boolean isOre(@NotNull Material material) {
-        return isOre(material.getKey().getKey());
+        return hasFlag(material, ORE);
     }
 
     public boolean isOre(@NotNull String id) {
@@ -794,7 +939,7 @@ public class MaterialMapStore {
     }
 
     public boolean isBow(@NotNull Material material) {
-        return isBow(material.getKey().getKey());
+        return hasFlag(material, BOW);
     }
 
     public boolean isBow(@NotNull String id) {
@@ -802,7 +947,7 @@ public class MaterialMapStore {
     }
 
     public boolean isCrossbow(@NotNull Material material) {
-        return isCrossbow(material.getKey().getKey());
+        return hasFlag(material, CROSSBOW);
     }
 
     public boolean isCrossbow(@NotNull String id) {
@@ -810,7 +955,7 @@ public class MaterialMapStore {
     }
 
     public boolean isLeatherArmor(@NotNull Material material) {
-        return isLeatherArmor(material.getKey().getKey());
+        return hasFlag(material, LEATHER_ARMOR);
     }
 
     public boolean isLeatherArmor(@NotNull String id) {
@@ -818,7 +963,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIronArmor(@NotNull Material material) {
-        return isIronArmor(material.getKey().getKey());
+        return hasFlag(material, IRON_ARMOR);
     }
 
     public boolean isIronArmor(@NotNull String id) {
@@ -826,7 +971,7 @@ public class MaterialMapStore {
     }
 
     public boolean isGoldArmor(@NotNull Material material) {
-        return isGoldArmor(material.getKey().getKey());
+        return hasFlag(material, GOLD_ARMOR);
     }
 
     public boolean isGoldArmor(@NotNull String id) {
@@ -834,7 +979,7 @@ public class MaterialMapStore {
     }
 
     public boolean isDiamondArmor(@NotNull Material material) {
-        return isDiamondArmor(material.getKey().getKey());
+        return hasFlag(material, DIAMOND_ARMOR);
     }
 
     public boolean isDiamondArmor(@NotNull String id) {
@@ -842,7 +987,7 @@ public class MaterialMapStore {
     }
 
     public boolean isChainmailArmor(@NotNull Material material) {
-        return isChainmailArmor(material.getKey().getKey());
+        return hasFlag(material, CHAINMAIL_ARMOR);
     }
 
     public boolean isChainmailArmor(@NotNull String id) {
@@ -850,7 +995,7 @@ public class MaterialMapStore {
     }
 
     public boolean isNetheriteArmor(@NotNull Material material) {
-        return isNetheriteArmor(material.getKey().getKey());
+        return hasFlag(material, NETHERITE_ARMOR);
     }
 
     public boolean isNetheriteArmor(@NotNull String id) {
@@ -858,7 +1003,7 @@ public class MaterialMapStore {
     }
 
     public boolean isWoodTool(@NotNull Material material) {
-        return isWoodTool(material.getKey().getKey());
+        return hasFlag(material, WOOD_TOOL);
     }
 
     public boolean isWoodTool(@NotNull String id) {
@@ -866,7 +1011,7 @@ public class MaterialMapStore {
     }
 
     public boolean isStoneTool(@NotNull Material material) {
-        return isStoneTool(material.getKey().getKey());
+        return hasFlag(material, STONE_TOOL);
     }
 
     public boolean isStoneTool(@NotNull String id) {
@@ -874,7 +1019,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIronTool(@NotNull Material material) {
-        return isIronTool(material.getKey().getKey());
+        return hasFlag(material, IRON_TOOL);
     }
 
     public boolean isIronTool(@NotNull String id) {
@@ -882,7 +1027,7 @@ public class MaterialMapStore {
     }
 
     public boolean isGoldTool(@NotNull Material material) {
-        return isGoldTool(material.getKey().getKey());
+        return hasFlag(material, GOLD_TOOL);
     }
 
     public boolean isGoldTool(@NotNull String id) {
@@ -890,7 +1035,7 @@ public class MaterialMapStore {
     }
 
     public boolean isDiamondTool(@NotNull Material material) {
-        return isDiamondTool(material.getKey().getKey());
+        return hasFlag(material, DIAMOND_TOOL);
     }
 
     public boolean isDiamondTool(@NotNull String id) {
@@ -898,7 +1043,7 @@ public class MaterialMapStore {
     }
 
     public boolean isSword(@NotNull Material material) {
-        return isSword(material.getKey().getKey());
+        return hasFlag(material, SWORD);
     }
 
     public boolean isSword(@NotNull String id) {
@@ -906,7 +1051,7 @@ public class MaterialMapStore {
     }
 
     public boolean isAxe(@NotNull Material material) {
-        return isAxe(material.getKey().getKey());
+        return hasFlag(material, AXE);
     }
 
     public boolean isAxe(@NotNull String id) {
@@ -914,7 +1059,7 @@ public class MaterialMapStore {
     }
 
     public boolean isPickAxe(@NotNull Material material) {
-        return isPickAxe(material.getKey().getKey());
+        return hasFlag(material, PICKAXE);
     }
 
     public boolean isPickAxe(@NotNull String id) {
@@ -922,7 +1067,7 @@ public class MaterialMapStore {
     }
 
     public boolean isShovel(@NotNull Material material) {
-        return isShovel(material.getKey().getKey());
+        return hasFlag(material, SHOVEL);
     }
 
     public boolean isShovel(@NotNull String id) {
@@ -930,7 +1075,7 @@ public class MaterialMapStore {
     }
 
     public boolean isHoe(@NotNull Material material) {
-        return isHoe(material.getKey().getKey());
+        return hasFlag(material, HOE);
     }
 
     public boolean isHoe(@NotNull String id) {
@@ -938,7 +1083,7 @@ public class MaterialMapStore {
     }
 
     public boolean isNetheriteTool(@NotNull Material material) {
-        return isNetheriteTool(material.getKey().getKey());
+        return hasFlag(material, NETHERITE_TOOL);
     }
 
     public boolean isNetheriteTool(@NotNull String id) {
@@ -946,7 +1091,7 @@ public class MaterialMapStore {
     }
 
     public boolean isStringTool(@NotNull Material material) {
-        return isStringTool(material.getKey().getKey());
+        return hasFlag(material, STRING_TOOL);
     }
 
     public boolean isStringTool(@NotNull String id) {
@@ -954,11 +1099,11 @@ public class MaterialMapStore {
     }
 
     public boolean isGlass(@NotNull Material material) {
-        return glassBlocks.contains(material.getKey().getKey());
+        return hasFlag(material, GLASS);
     }
 
     public boolean isFood(@NotNull Material material) {
-        return foodItemWhiteList.contains(material.getKey().getKey());
+        return hasFlag(material, FOOD);
     }
 
     private void fillMultiBlockPlantSet()
@@ -1294,7 +1439,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIntendedToolPickaxe(@NotNull Material material) {
-        return intendedToolPickAxe.contains(material.getKey().getKey());
+        return hasFlag(material, INTENDED_TOOL_PICKAXE);
     }
 
     public boolean isIntendedToolPickaxe(@NotNull String string) {
@@ -1311,7 +1456,7 @@ public class MaterialMapStore {
 
 
     public int getTier(@NotNull Material material) {
-        return getTier(material.getKey().getKey());
+        return materialTiers[material.ordinal()];
     }
 
     public int getTier(@NotNull String id) {
@@ -14,19 +14,10 @@ public class MetadataConstants {
      * Take great care if you ever modify the value of these keys
      */
     public static final @NotNull String METADATA_KEY_REPLANT = "mcMMO: Recently Replanted";
-    public static final @NotNull String METADATA_KEY_EXPLOSION_FROM_RUPTURE = "mcMMO: Rupture Explosion";
     public static final @NotNull String METADATA_KEY_FISH_HOOK_REF = "mcMMO: Fish Hook Tracker";
-    public static final @NotNull String METADATA_KEY_DODGE_TRACKER = "mcMMO: Dodge Tracker";
-    public static final @NotNull String METADATA_KEY_CUSTOM_DAMAGE = "mcMMO: Custom Damage";
-    public static final @NotNull String METADATA_KEY_TRAVELING_BLOCK = "mcMMO: Traveling Block";
     public static final @NotNull String METADATA_KEY_PISTON_TRACKING = "mcMMO: Piston Tracking";
     public static final @NotNull String METADATA_KEY_TRACKED_TNT = "mcMMO: Tracked TNT";
-    public static final @NotNull String METADATA_KEY_NAME_VISIBILITY = "mcMMO: Name Visibility";
     public static final @NotNull String METADATA_KEY_TRACKED_ITEM = "mcMMO: Tracked Item";
-    public static final @NotNull String METADATA_KEY_INF_ARROW = "mcMMO: Infinite Arrow";
-    public static final @NotNull String METADATA_KEY_TRACKED_ARROW = "mcMMO: Tracked Arrow";
-    public static final @NotNull String METADATA_KEY_BOW_FORCE = "mcMMO: Bow Force";
-    public static final @NotNull String METADATA_KEY_ARROW_DISTANCE = "mcMMO: Arrow Distance";
     public static final @NotNull String METADATA_KEY_BONUS_DROPS = "mcMMO: Double Drops";
     public static final @NotNull String METADATA_KEY_DISARMED_ITEM = "mcMMO: Disarmed Item";
     public static final @NotNull String METADATA_KEY_PLAYER_DATA = "mcMMO: Player Data";
@@ -42,9 +33,6 @@ public class MetadataConstants {
     public static final @NotNull String METADATA_KEY_PLAYER_TAMED_MOB = "mcmmo_player_tamed_mob";
     public static final @NotNull String METADATA_KEY_VILLAGER_TRADE_ORIGIN_ITEM = "mcmmo_villager_trade_origin_item";
     public static final @NotNull String METADATA_KEY_EXPLOITED_ENDERMEN = "mcmmo_exploited_endermen";
-    public static final @NotNull String METADATA_KEY_CUSTOM_NAME = "mcmmo_custom_name";
-    public static final @NotNull String METADATA_KEY_OLD_NAME_KEY = "mcmmo_old_name";
-    public static final @NotNull String METADATA_KEY_RUPTURE = "mcmmo_rupture";
 
     public static final byte SIMPLE_FLAG_VALUE = (byte) 0x1;
 
@@ -61,11 +49,6 @@ public class MetadataConstants {
         temp.add(MetadataConstants.METADATA_KEY_PLAYER_BRED_MOB);
         temp.add(MetadataConstants.METADATA_KEY_PLAYER_TAMED_MOB);
         temp.add(MetadataConstants.METADATA_KEY_EXPLOITED_ENDERMEN);
-        temp.add(MetadataConstants.METADATA_KEY_CUSTOM_NAME);
-        temp.add(MetadataConstants.METADATA_KEY_RUPTURE);
-        temp.add(MetadataConstants.METADATA_KEY_EXPLOSION_FROM_RUPTURE);
-        temp.add(MetadataConstants.METADATA_KEY_OLD_NAME_KEY);
-        temp.add(MetadataConstants.METADATA_KEY_DODGE_TRACKER);
 
         MOB_METADATA_KEYS = ImmutableSet.copyOf(temp);
     }
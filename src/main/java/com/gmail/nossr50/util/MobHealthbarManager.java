@@ -0,0 +1,152 @@
+package com.gmail.nossr50.util;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.scheduler.TickTask;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Tracks every mob showing a healthbar along with the name it had before, and restores them all from a single timer
+ * Every healthbar is shown for the same time, so keeping them in the order they were last refreshed keeps them ordered by deadline
+ * Must only be used from the main thread
+ */
+public class MobHealthbarManager extends TickTask {
+    //Healthbars that never expire are still dropped once their mob is gone
+    private static final int SWEEP_INTERVAL = 100;
+
+    //Entity id -> healthbar, oldest deadline first
+    private final @NotNull LinkedHashMap<Integer, Healthbar> healthbars = new LinkedHashMap<>();
+    private long currentTick;
+
+    /**
+     * Shows a healthbar as the name of a mob, the name it had before is restored once the display time is over
+     * Showing another healthbar on the same mob only replaces the text and pushes the deadline back
+     *
+     * @param target target mob
+     * @param healthDisplay the healthbar text
+     * @param displayTicks how long to show the healthbar for, -1 to keep it until the mob dies
+     */
+    public void showHealthbar(@NotNull LivingEntity target, @NotNull String healthDisplay, int displayTicks) {
+        Healthbar healthbar = healthbars.remove(target.getEntityId());
+
+        if (healthbar == null) {
+            String oldName = target.getCustomName();
+
+            if (oldName == null) {
+                oldName = "";
+            }
+
+            //Leftover healthbar from before a restart, there is no real name to restore
+            if (ChatColor.stripColor(oldName).equalsIgnoreCase(ChatColor.stripColor(healthDisplay))) {
+                healthbar = new Healthbar(target, "", false);
+            } else {
+                healthbar = new Healthbar(target, oldName, target.isCustomNameVisible());
+            }
+        }
+
+        healthbar.deadline = displayTicks == -1 ? Long.MAX_VALUE : currentTick + displayTicks;
+        healthbars.put(target.getEntityId(), healthbar);
+
+        target.setCustomName(healthDisplay);
+        target.setCustomNameVisible(true);
+
+        if (!isScheduled())
+            mcMMO.getTickWheel().schedule(this, 1, 1);
+    }
+
+    public boolean hasHealthbar(@NotNull LivingEntity target) {
+        return healthbars.containsKey(target.getEntityId());
+    }
+
+    /**
+     * Puts back the name a mob had before its healthbar was shown, does nothing if it has no healthbar
+     *
+     * @param target target mob
+     */
+    public void restoreName(@NotNull LivingEntity target) {
+        Healthbar healthbar = healthbars.remove(target.getEntityId());
+
+        if (healthbar != null) {
+            healthbar.restore();
+        }
+    }
+
+    /**
+     * Restores the names of every mob in a chunk that is unloading, so healthbars are not saved with the chunk
+     *
+     * @param chunk the unloading chunk
+     */
+    public void restoreNamesInChunk(@NotNull Chunk chunk) {
+        Iterator<Healthbar> iterator = healthbars.values().iterator();
+
+        while (iterator.hasNext()) {
+            Healthbar healthbar = iterator.next();
+            Location location = healthbar.target.getLocation();
+
+            if (location.getWorld() == chunk.getWorld() && location.getBlockX() >> 4 == chunk.getX() && location.getBlockZ() >> 4 == chunk.getZ()) {
+                iterator.remove();
+                healthbar.restore();
+            }
+        }
+    }
+
+    /**
+     * Restores the names of every mob showing a healthbar
+     */
+    public void restoreAllNames() {
+        for (Healthbar healthbar : healthbars.values()) {
+            healthbar.restore();
+        }
+
+        healthbars.clear();
+        cancel();
+    }
+
+    @Override
+    public void run() {
+        currentTick++;
+
+        Iterator<Healthbar> iterator = healthbars.values().iterator();
+
+        while (iterator.hasNext()) {
+            Healthbar healthbar = iterator.next();
+
+            if (healthbar.deadline > currentTick)
+                break;
+
+            iterator.remove();
+            healthbar.restore();
+        }
+
+        if (currentTick % SWEEP_INTERVAL == 0) {
+            healthbars.values().removeIf(healthbar -> !healthbar.target.isValid());
+        }
+
+        if (healthbars.isEmpty())
+            cancel();
+    }
+
+    private static class Healthbar {
+        private final @NotNull LivingEntity target;
+        private final @NotNull String oldName;
+        private final boolean oldNameVisible;
+        private long deadline;
+
+        private Healthbar(@NotNull LivingEntity target, @NotNull String oldName, boolean oldNameVisible) {
+            this.target = target;
+            this.oldName = oldName;
+            this.oldNameVisible = oldNameVisible;
+        }
+
+        private void restore() {
+            target.setCustomName(oldName);
+            target.setCustomNameVisible(oldNameVisible);
+        }
+    }
+}
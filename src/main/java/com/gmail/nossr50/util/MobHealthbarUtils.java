@@ -1,16 +1,13 @@
 package com.gmail.nossr50.util;
 
 import com.gmail.nossr50.datatypes.MobHealthbarType;
-import com.gmail.nossr50.datatypes.meta.OldName;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.runnables.MobHealthDisplayUpdaterTask;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.metadata.FixedMetadataValue;
 
 public final class MobHealthbarUtils {
     private MobHealthbarUtils() {}
@@ -48,41 +45,14 @@ public final class MobHealthbarUtils {
             return;
         }
 
-        String originalName = target.getName();
-        String oldName = target.getCustomName();
-
-        /*
-         * Store the name in metadata
-         */
-        if(target.getMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY).size() <= 0)
-            target.setMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY, new OldName(originalName, plugin));
-
-        if (oldName == null) {
-            oldName = "";
-        }
-
-        boolean oldNameVisible = target.isCustomNameVisible();
-        String newName = createHealthDisplay(mcMMO.p.getGeneralConfig().getMobHealthbarDefault(), target, damage);
-
-        target.setCustomName(newName);
-        target.setCustomNameVisible(true);
-
         int displayTime = mcMMO.p.getGeneralConfig().getMobHealthbarTime();
+        String newName = createHealthDisplay(mcMMO.p.getGeneralConfig().getMobHealthbarDefault(), target, damage);
 
-        if (displayTime != -1) {
-            boolean updateName = !ChatColor.stripColor(oldName).equalsIgnoreCase(ChatColor.stripColor(newName));
-
-            if (updateName) {
-                target.setMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME, new FixedMetadataValue(mcMMO.p, oldName));
-                target.setMetadata(MetadataConstants.METADATA_KEY_NAME_VISIBILITY, new FixedMetadataValue(mcMMO.p, oldNameVisible));
-            }
-            else if (!target.hasMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME)) {
-                target.setMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME, new FixedMetadataValue(mcMMO.p, ""));
-                target.setMetadata(MetadataConstants.METADATA_KEY_NAME_VISIBILITY, new FixedMetadataValue(mcMMO.p, false));
-            }
-
-            new MobHealthDisplayUpdaterTask(target).runTaskLater(mcMMO.p, displayTime * Misc.TICK_CONVERSION_FACTOR); // Clear health display after 3 seconds
+        if (newName == null) {
+            return;
         }
+
+        mcMMO.getMobHealthbarManager().showHealthbar(target, newName, displayTime == -1 ? -1 : displayTime * Misc.TICK_CONVERSION_FACTOR);
     }
 
     private static String createHealthDisplay(MobHealthbarType mobHealthbarType, LivingEntity entity, double damage) {
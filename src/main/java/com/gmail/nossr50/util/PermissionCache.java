@@ -0,0 +1,107 @@
+package com.gmail.nossr50.util;
+
+import org.bukkit.permissions.Permissible;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per player cache of permission checks, so checking a node already resolved since the last {@link #invalidate()} is a bit test
+ * Every node gets an id the first time it is checked by anyone, the id is the index of its bit in every cache
+ * Nodes known ahead of time should resolve their id once with {@link #getNodeId(String)} so checking them never touches the node string
+ * Must only be used from the main thread
+ */
+public class PermissionCache {
+    private static final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+
+    //Indexed by node id, replaced by a copy whenever a node is added so readers never need a lock
+    private static volatile String[] nodes = new String[256];
+    private static int nodeCount;
+
+    //Bit set once a node has been resolved, and whether it was granted
+    private long[] known = new long[4];
+    private long[] granted = new long[4];
+
+    /**
+     * Get the id of a permission node, giving it one if it never had one
+     *
+     * @param node the permission node
+     * @return the id of the node
+     */
+    public static int getNodeId(@NotNull String node) {
+        Integer nodeId = nodeIds.get(node);
+        return nodeId != null ? nodeId : addNode(node);
+    }
+
+    private static synchronized int addNode(@NotNull String node) {
+        Integer nodeId = nodeIds.get(node);
+
+        if (nodeId != null)
+            return nodeId;
+
+        String[] updatedNodes = Arrays.copyOf(nodes, nodeCount == nodes.length ? nodeCount * 2 : nodes.length);
+        updatedNodes[nodeCount] = node;
+        nodes = updatedNodes;
+        nodeIds.put(node, nodeCount);
+
+        return nodeCount++;
+    }
+
+    /**
+     * @param nodeId an id from {@link #getNodeId(String)}
+     * @return the permission node with that id
+     */
+    public static @NotNull String getNode(int nodeId) {
+        return nodes[nodeId];
+    }
+
+    /**
+     * Checks a permission node, asking the permissible only if the node has not been resolved since the last {@link #invalidate()}
+     *
+     * @param permissible the owner of this cache
+     * @param node the permission node
+     * @return true if the node is granted
+     */
+    public boolean hasPermission(@NotNull Permissible permissible, @NotNull String node) {
+        return hasPermission(permissible, getNodeId(node));
+    }
+
+    /**
+     * Same as {@link #hasPermission(Permissible, String)} for a node id from {@link #getNodeId(String)}
+     *
+     * @param permissible the owner of this cache
+     * @param nodeId the id of the permission node
+     * @return true if the node is granted
+     */
+    public boolean hasPermission(@NotNull Permissible permissible, int nodeId) {
+        int word = nodeId >>> 6;
+        long bit = 1L << nodeId;
+
+        if (word >= known.length) {
+            int length = Math.max(known.length * 2, word + 1);
+            known = Arrays.copyOf(known, length);
+            granted = Arrays.copyOf(granted, length);
+        }
+
+        if ((known[word] & bit) == 0) {
+            if (permissible.hasPermission(getNode(nodeId))) {
+                granted[word] |= bit;
+            } else {
+                granted[word] &= ~bit;
+            }
+
+            known[word] |= bit;
+        }
+
+        return (granted[word] & bit) != 0;
+    }
+
+    /**
+     * Forgets every resolved node, used when the permissions of the player may have changed
+     */
+    public void invalidate() {
+        Arrays.fill(known, 0);
+    }
+}
@@ -1,101 +1,146 @@
 package com.gmail.nossr50.util;
 
 import com.gmail.nossr50.commands.party.PartySubcommandType;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.ItemType;
 import com.gmail.nossr50.datatypes.skills.MaterialType;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.AbstractSubSkill;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.player.UserManager;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Server;
 import org.bukkit.World;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permissible;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
 import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Permissions {
+    //Ids of nodes built from enums, indexed by ordinal so a check is a bit test in the permission cache
+    private static final int[] MCTOP_NODES = getSkillNodes("mcmmo.commands.mctop.", "");
+    private static final int[] SKILLRESET_NODES = getSkillNodes("mcmmo.commands.skillreset.", "");
+    private static final int[] SKILLRESET_OTHERS_NODES = getSkillNodes("mcmmo.commands.skillreset.others.", "");
+    private static final int[] XPLOCK_NODES = getSkillNodes("mcmmo.commands.xplock.", "");
+    private static final int[] LUCKY_NODES = getSkillNodes("mcmmo.perks.lucky.", "");
+    private static final int[] QUADRUPLE_XP_NODES = getSkillNodes("mcmmo.perks.xp.quadruple.", "");
+    private static final int[] TRIPLE_XP_NODES = getSkillNodes("mcmmo.perks.xp.triple.", "");
+    private static final int[] DOUBLE_AND_ONE_HALF_XP_NODES = getSkillNodes("mcmmo.perks.xp.150percentboost.", "");
+    private static final int[] DOUBLE_XP_NODES = getSkillNodes("mcmmo.perks.xp.double.", "");
+    private static final int[] ONE_AND_ONE_HALF_XP_NODES = getSkillNodes("mcmmo.perks.xp.50percentboost.", "");
+    private static final int[] ONE_AND_ONE_TENTH_XP_NODES = getSkillNodes("mcmmo.perks.xp.10percentboost.", "");
+    private static final int[] CUSTOM_XP_BOOST_NODES = getSkillNodes("mcmmo.perks.xp.customboost.", "");
+    private static final int[] SKILL_NODES = getSkillNodes("mcmmo.skills.", "");
+    private static final int[] VANILLA_XP_BOOST_NODES = getSkillNodes("mcmmo.ability.", ".vanillaxpboost");
+    private static final int[] REPAIR_ITEM_TYPE_NODES = getNodes(ItemType.values(), "mcmmo.ability.repair.", "repair");
+    private static final int[] REPAIR_MATERIAL_TYPE_NODES = getNodes(MaterialType.values(), "mcmmo.ability.repair.", "repair");
+    private static final int[] SALVAGE_ITEM_TYPE_NODES = getNodes(ItemType.values(), "mcmmo.ability.salvage.", "salvage");
+    private static final int[] SALVAGE_MATERIAL_TYPE_NODES = getNodes(MaterialType.values(), "mcmmo.ability.salvage.", "salvage");
+    private static final int[] PARTY_SUBCOMMAND_NODES = getNodes(PartySubcommandType.values(), "mcmmo.commands.party.", "");
+
+    //Ids of the "all" nodes checked next to the per skill xp perks
+    private static final int QUADRUPLE_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.quadruple.all");
+    private static final int TRIPLE_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.triple.all");
+    private static final int DOUBLE_AND_ONE_HALF_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.150percentboost.all");
+    private static final int DOUBLE_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.double.all");
+    private static final int ONE_AND_ONE_HALF_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.50percentboost.all");
+    private static final int ONE_AND_ONE_TENTH_XP_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.10percentboost.all");
+    private static final int CUSTOM_XP_BOOST_ALL_NODE = PermissionCache.getNodeId("mcmmo.perks.xp.customboost.all");
+
+    //There are too many materials and entities to resolve every node up front, these are filled in as they are checked, -1 until then
+    private static final int[] GREEN_THUMB_BLOCK_NODES = getUnresolvedNodes(Material.values().length);
+    private static final int[] GREEN_THUMB_PLANT_NODES = getUnresolvedNodes(Material.values().length);
+    private static final int[] CALL_OF_THE_WILD_NODES = getUnresolvedNodes(EntityType.values().length);
+    private static final Map<String, String> PARTY_TELEPORT_WORLD_NODES = new ConcurrentHashMap<>();
+
     private Permissions() {}
 
     /*
      * GENERAL
      */
-    public static boolean motd(Permissible permissible) { return permissible.hasPermission("mcmmo.motd"); }
-    public static boolean levelUpBroadcast(Permissible permissible) { return permissible.hasPermission("mcmmo.broadcast.levelup"); }
-    public static boolean updateNotifications(Permissible permissible) {return permissible.hasPermission("mcmmo.tools.updatecheck"); }
-    public static boolean chimaeraWing(Permissible permissible) { return permissible.hasPermission("mcmmo.item.chimaerawing"); }
-    public static boolean showversion(Permissible permissible) { return permissible.hasPermission("mcmmo.showversion"); }
+    public static boolean motd(Permissible permissible) { return has(permissible, "mcmmo.motd"); }
+    public static boolean levelUpBroadcast(Permissible permissible) { return has(permissible, "mcmmo.broadcast.levelup"); }
+    public static boolean updateNotifications(Permissible permissible) {return has(permissible, "mcmmo.tools.updatecheck"); }
+    public static boolean chimaeraWing(Permissible permissible) { return has(permissible, "mcmmo.item.chimaerawing"); }
+    public static boolean showversion(Permissible permissible) { return has(permissible, "mcmmo.showversion"); }
 
     /* BYPASS */
-    public static boolean hardcoreBypass(Permissible permissible) { return permissible.hasPermission("mcmmo.bypass.hardcoremode"); }
-    public static boolean arcaneBypass(Permissible permissible) { return permissible.hasPermission("mcmmo.bypass.arcanebypass"); }
+    public static boolean hardcoreBypass(Permissible permissible) { return has(permissible, "mcmmo.bypass.hardcoremode"); }
+    public static boolean arcaneBypass(Permissible permissible) { return has(permissible, "mcmmo.bypass.arcanebypass"); }
 
     /* CHAT */
-    public static boolean partyChat(Permissible permissible) { return permissible.hasPermission("mcmmo.chat.partychat"); }
-    public static boolean adminChat(Permissible permissible) { return permissible.hasPermission("mcmmo.chat.adminchat"); }
-    public static boolean colorChat(Permissible permissible) { return permissible.hasPermission("mcmmo.chat.colors"); }
+    public static boolean partyChat(Permissible permissible) { return has(permissible, "mcmmo.chat.partychat"); }
+    public static boolean adminChat(Permissible permissible) { return has(permissible, "mcmmo.chat.adminchat"); }
+    public static boolean colorChat(Permissible permissible) { return has(permissible, "mcmmo.chat.colors"); }
 
     /*
      * COMMANDS
      */
 
-    public static boolean mmoinfo(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoinfo"); }
-    public static boolean addlevels(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.addlevels"); }
-    public static boolean addlevelsOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.addlevels.others"); }
+    public static boolean mmoinfo(Permissible permissible) { return has(permissible, "mcmmo.commands.mmoinfo"); }
+    public static boolean addlevels(Permissible permissible) { return has(permissible, "mcmmo.commands.addlevels"); }
+    public static boolean addlevelsOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.addlevels.others"); }
 
-    public static boolean addxp(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.addxp"); }
-    public static boolean addxpOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.addxp.others"); }
+    public static boolean addxp(Permissible permissible) { return has(permissible, "mcmmo.commands.addxp"); }
+    public static boolean addxpOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.addxp.others"); }
 
-    public static boolean hardcoreModify(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.hardcore.modify"); }
-    public static boolean hardcoreToggle(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.hardcore.toggle"); }
+    public static boolean hardcoreModify(Permissible permissible) { return has(permissible, "mcmmo.commands.hardcore.modify"); }
+    public static boolean hardcoreToggle(Permissible permissible) { return has(permissible, "mcmmo.commands.hardcore.toggle"); }
 
-    public static boolean inspect(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.inspect")); }
-    public static boolean inspectFar(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.inspect.far")); }
-    public static boolean inspectHidden(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.inspect.hidden")); }
+    public static boolean inspect(Permissible permissible) { return (has(permissible, "mcmmo.commands.inspect")); }
+    public static boolean inspectFar(Permissible permissible) { return (has(permissible, "mcmmo.commands.inspect.far")); }
+    public static boolean inspectHidden(Permissible permissible) { return (has(permissible, "mcmmo.commands.inspect.hidden")); }
 
-    public static boolean mcability(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcability")); }
-    public static boolean mcabilityOthers(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcability.others")); }
+    public static boolean mcability(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcability")); }
+    public static boolean mcabilityOthers(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcability.others")); }
 
-    public static boolean adminChatSpy(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcchatspy");}
-    public static boolean adminChatSpyOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcchatspy.others");}
+    public static boolean adminChatSpy(Permissible permissible) { return has(permissible, "mcmmo.commands.mcchatspy");}
+    public static boolean adminChatSpyOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.mcchatspy.others");}
 
-    public static boolean mcgod(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcgod"); }
-    public static boolean mcgodOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcgod.others"); }
+    public static boolean mcgod(Permissible permissible) { return has(permissible, "mcmmo.commands.mcgod"); }
+    public static boolean mcgodOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.mcgod.others"); }
 
-    public static boolean mcmmoDescription(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcmmo.description"); }
-    public static boolean mcmmoHelp(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcmmo.help"); }
+    public static boolean mcmmoDescription(Permissible permissible) { return has(permissible, "mcmmo.commands.mcmmo.description"); }
+    public static boolean mcmmoHelp(Permissible permissible) { return has(permissible, "mcmmo.commands.mcmmo.help"); }
 
-    public static boolean mcrank(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrank")); }
-    public static boolean mcrankOthers(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrank.others")); }
-    public static boolean mcrankFar(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrank.others.far")); }
-    public static boolean mcrankOffline(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrank.others.offline")); }
+    public static boolean mcrank(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrank")); }
+    public static boolean mcrankOthers(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrank.others")); }
+    public static boolean mcrankFar(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrank.others.far")); }
+    public static boolean mcrankOffline(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrank.others.offline")); }
 
-    public static boolean mcrefresh(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrefresh")); }
-    public static boolean mcrefreshOthers(Permissible permissible) { return (permissible.hasPermission("mcmmo.commands.mcrefresh.others")); }
+    public static boolean mcrefresh(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrefresh")); }
+    public static boolean mcrefreshOthers(Permissible permissible) { return (has(permissible, "mcmmo.commands.mcrefresh.others")); }
 
-    public static boolean mctop(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.commands.mctop." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean mctop(Permissible permissible, PrimarySkillType skill) { return has(permissible, MCTOP_NODES[skill.ordinal()]); }
 
-    public static boolean mmoedit(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoedit"); }
-    public static boolean mmoeditOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoedit.others"); }
+    public static boolean mmoedit(Permissible permissible) { return has(permissible, "mcmmo.commands.mmoedit"); }
+    public static boolean mmoeditOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.mmoedit.others"); }
 
-    public static boolean skillreset(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.skillreset"); }
-    public static boolean skillreset(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.commands.skillreset." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean skillresetOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.skillreset.others"); }
-    public static boolean skillresetOthers(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.commands.skillreset.others." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean skillreset(Permissible permissible) { return has(permissible, "mcmmo.commands.skillreset"); }
+    public static boolean skillreset(Permissible permissible, PrimarySkillType skill) { return has(permissible, SKILLRESET_NODES[skill.ordinal()]); }
+    public static boolean skillresetOthers(Permissible permissible) { return has(permissible, "mcmmo.commands.skillreset.others"); }
+    public static boolean skillresetOthers(Permissible permissible, PrimarySkillType skill) { return has(permissible, SKILLRESET_OTHERS_NODES[skill.ordinal()]); }
 
-    public static boolean xplock(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.commands.xplock." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean xplock(Permissible permissible, PrimarySkillType skill) { return has(permissible, XPLOCK_NODES[skill.ordinal()]); }
 
-    public static boolean xprateSet(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.xprate.set"); }
-    public static boolean xprateReset(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.xprate.reset"); }
+    public static boolean xprateSet(Permissible permissible) { return has(permissible, "mcmmo.commands.xprate.set"); }
+    public static boolean xprateReset(Permissible permissible) { return has(permissible, "mcmmo.commands.xprate.reset"); }
 
-    public static boolean mcpurge(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcpurge"); }
-    public static boolean mcremove(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mcremove"); }
-    public static boolean mmoupdate(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoupdate"); }
-    public static boolean reloadlocale(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.reloadlocale"); }
+    public static boolean mcpurge(Permissible permissible) { return has(permissible, "mcmmo.commands.mcpurge"); }
+    public static boolean mcremove(Permissible permissible) { return has(permissible, "mcmmo.commands.mcremove"); }
+    public static boolean mmoupdate(Permissible permissible) { return has(permissible, "mcmmo.commands.mmoupdate"); }
+    public static boolean reloadlocale(Permissible permissible) { return has(permissible, "mcmmo.commands.reloadlocale"); }
+    public static boolean reloadWorldBlacklist(Permissible permissible) { return has(permissible, "mcmmo.commands.reloadworldblacklist"); }
 
     /*
      * PERKS
@@ -103,139 +148,216 @@ public final class Permissions {
 
     /* BYPASS PERKS */
 
-    public static boolean hasRepairEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.repairenchant"); }
-    public static boolean hasSalvageEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.salvageenchant"); }
+    public static boolean hasRepairEnchantBypassPerk(Permissible permissible) { return has(permissible, "mcmmo.perks.bypass.repairenchant"); }
+    public static boolean hasSalvageEnchantBypassPerk(Permissible permissible) { return has(permissible, "mcmmo.perks.bypass.salvageenchant"); }
 
-    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.lucky." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return has(permissible, LUCKY_NODES[skill.ordinal()]); }
 
     /* XP PERKS */
     public static boolean quadrupleXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.quadruple.all")
-            || permissible.hasPermission("mcmmo.perks.xp.quadruple." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, QUADRUPLE_XP_ALL_NODE)
+            || has(permissible, QUADRUPLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean tripleXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.triple.all")
-            || permissible.hasPermission("mcmmo.perks.xp.triple." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, TRIPLE_XP_ALL_NODE)
+            || has(permissible, TRIPLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean doubleAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.150percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.150percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, DOUBLE_AND_ONE_HALF_XP_ALL_NODE)
+            || has(permissible, DOUBLE_AND_ONE_HALF_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean doubleXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.double.all")
-            || permissible.hasPermission("mcmmo.perks.xp.double." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, DOUBLE_XP_ALL_NODE)
+            || has(permissible, DOUBLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean oneAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.50percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.50percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, ONE_AND_ONE_HALF_XP_ALL_NODE)
+            || has(permissible, ONE_AND_ONE_HALF_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean oneAndOneTenthXp(Permissible permissible, PrimarySkillType skill) { 
-        return permissible.hasPermission("mcmmo.perks.xp.10percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.10percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+        return has(permissible, ONE_AND_ONE_TENTH_XP_ALL_NODE)
+            || has(permissible, ONE_AND_ONE_TENTH_XP_NODES[skill.ordinal()]); 
     }
 
     public static boolean customXpBoost(Permissible permissible, PrimarySkillType skill) {
-        return permissible.hasPermission("mcmmo.perks.xp.customboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.customboost." + skill.toString().toLowerCase(Locale.ENGLISH));
+        return has(permissible, CUSTOM_XP_BOOST_ALL_NODE)
+            || has(permissible, CUSTOM_XP_BOOST_NODES[skill.ordinal()]);
     }
 
 
     /* ACTIVATION PERKS */
-    public static boolean twelveSecondActivationBoost(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.activationtime.twelveseconds"); }
-    public static boolean eightSecondActivationBoost(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.activationtime.eightseconds"); }
-    public static boolean fourSecondActivationBoost(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.activationtime.fourseconds"); }
+    public static boolean twelveSecondActivationBoost(Permissible permissible) { return has(permissible, "mcmmo.perks.activationtime.twelveseconds"); }
+    public static boolean eightSecondActivationBoost(Permissible permissible) { return has(permissible, "mcmmo.perks.activationtime.eightseconds"); }
+    public static boolean fourSecondActivationBoost(Permissible permissible) { return has(permissible, "mcmmo.perks.activationtime.fourseconds"); }
 
     /* COOLDOWN PERKS */
-    public static boolean halvedCooldowns(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.cooldowns.halved"); }
-    public static boolean thirdedCooldowns(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.cooldowns.thirded"); }
-    public static boolean quarteredCooldowns(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.cooldowns.quartered"); }
+    public static boolean halvedCooldowns(Permissible permissible) { return has(permissible, "mcmmo.perks.cooldowns.halved"); }
+    public static boolean thirdedCooldowns(Permissible permissible) { return has(permissible, "mcmmo.perks.cooldowns.thirded"); }
+    public static boolean quarteredCooldowns(Permissible permissible) { return has(permissible, "mcmmo.perks.cooldowns.quartered"); }
 
     /*
      * SKILLS
      */
 
-    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return permissible.hasPermission("mcmmo.skills." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.ability." + skill.toString().toLowerCase(Locale.ENGLISH) + ".vanillaxpboost"); }
-    public static boolean isSubSkillEnabled(Permissible permissible, SubSkillType subSkillType) { return permissible.hasPermission(subSkillType.getPermissionNodeAddress()); }
-    public static boolean isSubSkillEnabled(Permissible permissible, AbstractSubSkill abstractSubSkill) { return permissible.hasPermission(abstractSubSkill.getPermissionNode()); }
+    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return has(permissible, SKILL_NODES[skill.ordinal()]); }
+    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return has(permissible, VANILLA_XP_BOOST_NODES[skill.ordinal()]); }
+    public static boolean isSubSkillEnabled(Permissible permissible, SubSkillType subSkillType) { return has(permissible, subSkillType.getPermissionNodeId()); }
+    public static boolean isSubSkillEnabled(Permissible permissible, AbstractSubSkill abstractSubSkill) { return has(permissible, abstractSubSkill.getPermissionNode()); }
 
     /* ACROBATICS */
-    public static boolean dodge(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.acrobatics.dodge"); }
-    public static boolean gracefulRoll(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.acrobatics.gracefulroll"); }
-    public static boolean roll(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.acrobatics.roll"); }
+    public static boolean dodge(Permissible permissible) { return has(permissible, "mcmmo.ability.acrobatics.dodge"); }
+    public static boolean gracefulRoll(Permissible permissible) { return has(permissible, "mcmmo.ability.acrobatics.gracefulroll"); }
+    public static boolean roll(Permissible permissible) { return has(permissible, "mcmmo.ability.acrobatics.roll"); }
 
     /* ALCHEMY */
-    public static boolean catalysis(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.alchemy.catalysis"); }
-    public static boolean concoctions(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.alchemy.concoctions"); }
+    public static boolean catalysis(Permissible permissible) { return has(permissible, "mcmmo.ability.alchemy.catalysis"); }
+    public static boolean concoctions(Permissible permissible) { return has(permissible, "mcmmo.ability.alchemy.concoctions"); }
 
     /* ARCHERY */
-    public static boolean arrowRetrieval(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.archery.trackarrows"); }
-    public static boolean daze(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.archery.daze"); }
+    public static boolean arrowRetrieval(Permissible permissible) { return has(permissible, "mcmmo.ability.archery.trackarrows"); }
+    public static boolean daze(Permissible permissible) { return has(permissible, "mcmmo.ability.archery.daze"); }
 
     /* AXES */
-    public static boolean skullSplitter(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.axes.skullsplitter"); }
+    public static boolean skullSplitter(Permissible permissible) { return has(permissible, "mcmmo.ability.axes.skullsplitter"); }
 
     /* EXCAVATION */
-    public static boolean gigaDrillBreaker(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.excavation.gigadrillbreaker"); }
+    public static boolean gigaDrillBreaker(Permissible permissible) { return has(permissible, "mcmmo.ability.excavation.gigadrillbreaker"); }
 
     /* HERBALISM */
-    public static boolean greenTerra(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.herbalism.greenterra"); }
-    public static boolean greenThumbBlock(Permissible permissible, Material material) { return permissible.hasPermission("mcmmo.ability.herbalism.greenthumb.blocks." + material.toString().replace("_", "").toLowerCase(Locale.ENGLISH)); }
-    public static boolean greenThumbPlant(Permissible permissible, Material material) { return permissible.hasPermission("mcmmo.ability.herbalism.greenthumb.plants." + material.toString().replace("_", "").toLowerCase(Locale.ENGLISH)); }
+    public static boolean greenTerra(Permissible permissible) { return has(permissible, "mcmmo.ability.herbalism.greenterra"); }
+    public static boolean greenThumbBlock(Permissible permissible, Material material) { return has(permissible, getGreenThumbNode(GREEN_THUMB_BLOCK_NODES, "mcmmo.ability.herbalism.greenthumb.blocks.", material)); }
+    public static boolean greenThumbPlant(Permissible permissible, Material material) { return has(permissible, getGreenThumbNode(GREEN_THUMB_PLANT_NODES, "mcmmo.ability.herbalism.greenthumb.plants.", material)); }
 
     /* MINING */
-    public static boolean biggerBombs(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.mining.blastmining.biggerbombs"); }
-    public static boolean demolitionsExpertise(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.mining.blastmining.demolitionsexpertise"); }
-    public static boolean remoteDetonation(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.mining.blastmining.detonate"); }
-    public static boolean superBreaker(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.mining.superbreaker"); }
+    public static boolean biggerBombs(Permissible permissible) { return has(permissible, "mcmmo.ability.mining.blastmining.biggerbombs"); }
+    public static boolean demolitionsExpertise(Permissible permissible) { return has(permissible, "mcmmo.ability.mining.blastmining.demolitionsexpertise"); }
+    public static boolean remoteDetonation(Permissible permissible) { return has(permissible, "mcmmo.ability.mining.blastmining.detonate"); }
+    public static boolean superBreaker(Permissible permissible) { return has(permissible, "mcmmo.ability.mining.superbreaker"); }
 
     /* REPAIR */
-    public static boolean repairItemType(Permissible permissible, ItemType repairItemType) { return permissible.hasPermission("mcmmo.ability.repair." + repairItemType.toString().toLowerCase(Locale.ENGLISH) + "repair"); }
-    public static boolean repairMaterialType(Permissible permissible, MaterialType repairMaterialType) { return permissible.hasPermission("mcmmo.ability.repair." + repairMaterialType.toString().toLowerCase(Locale.ENGLISH) + "repair"); }
+    public static boolean repairItemType(Permissible permissible, ItemType repairItemType) { return has(permissible, REPAIR_ITEM_TYPE_NODES[repairItemType.ordinal()]); }
+    public static boolean repairMaterialType(Permissible permissible, MaterialType repairMaterialType) { return has(permissible, REPAIR_MATERIAL_TYPE_NODES[repairMaterialType.ordinal()]); }
 
     /* SALVAGE */
-    public static boolean arcaneSalvage(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.salvage.arcanesalvage"); }
+    public static boolean arcaneSalvage(Permissible permissible) { return has(permissible, "mcmmo.ability.salvage.arcanesalvage"); }
 
-    public static boolean salvageItemType(Permissible permissible, ItemType salvageItemType) { return permissible.hasPermission("mcmmo.ability.salvage." + salvageItemType.toString().toLowerCase(Locale.ENGLISH) + "salvage"); }
-    public static boolean salvageMaterialType(Permissible permissible, MaterialType salvageMaterialType) { return permissible.hasPermission("mcmmo.ability.salvage." + salvageMaterialType.toString().toLowerCase(Locale.ENGLISH) + "salvage"); }
+    public static boolean salvageItemType(Permissible permissible, ItemType salvageItemType) { return has(permissible, SALVAGE_ITEM_TYPE_NODES[salvageItemType.ordinal()]); }
+    public static boolean salvageMaterialType(Permissible permissible, MaterialType salvageMaterialType) { return has(permissible, SALVAGE_MATERIAL_TYPE_NODES[salvageMaterialType.ordinal()]); }
 
     /* SMELTING */
-    public static boolean fluxMining(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.smelting.fluxmining"); }
-    public static boolean fuelEfficiency(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.smelting.fuelefficiency"); }
+    public static boolean fluxMining(Permissible permissible) { return has(permissible, "mcmmo.ability.smelting.fluxmining"); }
+    public static boolean fuelEfficiency(Permissible permissible) { return has(permissible, "mcmmo.ability.smelting.fuelefficiency"); }
 
     /* SWORDS */
-    public static boolean serratedStrikes(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.swords.serratedstrikes"); }
+    public static boolean serratedStrikes(Permissible permissible) { return has(permissible, "mcmmo.ability.swords.serratedstrikes"); }
 
     /* TAMING */
-    public static boolean callOfTheWild(Permissible permissible, EntityType type) { return permissible.hasPermission("mcmmo.ability.taming.callofthewild." + type.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean callOfTheWild(Permissible permissible, EntityType type) { return has(permissible, getCallOfTheWildNode(type)); }
 
     /* UNARMED */
-    public static boolean berserk(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.unarmed.berserk"); }
+    public static boolean berserk(Permissible permissible) { return has(permissible, "mcmmo.ability.unarmed.berserk"); }
 
     /* WOODCUTTING */
-    public static boolean treeFeller(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.woodcutting.treefeller"); }
+    public static boolean treeFeller(Permissible permissible) { return has(permissible, "mcmmo.ability.woodcutting.treefeller"); }
 
     /*
      * PARTY
      */
-    public static boolean partySizeBypass(Permissible permissible) { return permissible.hasPermission("mcmmo.bypass.partylimit" ); }
-    public static boolean party(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.party"); }
-    public static boolean partySubcommand(Permissible permissible, PartySubcommandType subcommand) { return permissible.hasPermission("mcmmo.commands.party." + subcommand.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean friendlyFire(Permissible permissible) { return permissible.hasPermission("mcmmo.party.friendlyfire"); }
+    public static boolean partySizeBypass(Permissible permissible) { return has(permissible, "mcmmo.bypass.partylimit" ); }
+    public static boolean party(Permissible permissible) { return has(permissible, "mcmmo.commands.party"); }
+    public static boolean partySubcommand(Permissible permissible, PartySubcommandType subcommand) { return has(permissible, PARTY_SUBCOMMAND_NODES[subcommand.ordinal()]); }
+    public static boolean friendlyFire(Permissible permissible) { return has(permissible, "mcmmo.party.friendlyfire"); }
 
     /* TELEPORT */
-    public static boolean partyTeleportSend(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.ptp.send"); }
-    public static boolean partyTeleportAccept(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.ptp.accept"); }
-    public static boolean partyTeleportAcceptAll(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.ptp.acceptall"); }
-    public static boolean partyTeleportToggle(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.ptp.toggle"); }
+    public static boolean partyTeleportSend(Permissible permissible) { return has(permissible, "mcmmo.commands.ptp.send"); }
+    public static boolean partyTeleportAccept(Permissible permissible) { return has(permissible, "mcmmo.commands.ptp.accept"); }
+    public static boolean partyTeleportAcceptAll(Permissible permissible) { return has(permissible, "mcmmo.commands.ptp.acceptall"); }
+    public static boolean partyTeleportToggle(Permissible permissible) { return has(permissible, "mcmmo.commands.ptp.toggle"); }
+
+    public static boolean partyTeleportAllWorlds(Permissible permissible) { return has(permissible, "mcmmo.commands.ptp.world.all"); }
+    public static boolean partyTeleportWorld(Permissible permissible, World world) { return has(permissible, PARTY_TELEPORT_WORLD_NODES.computeIfAbsent(world.getName(), worldName -> "mcmmo.commands.ptp.world." + worldName)); }
+
+    /**
+     * Checks a permission node, going through the permission cache of the player when it is safe to
+     *
+     * @param permissible target permissible
+     * @param nodeId the id of the permission node, see {@link PermissionCache#getNodeId(String)}
+     * @return true if the node is granted
+     */
+    private static boolean has(@NotNull Permissible permissible, int nodeId) {
+        if (permissible instanceof Player && Bukkit.isPrimaryThread()) {
+            McMMOPlayer mcMMOPlayer = UserManager.getPlayer((Player) permissible);
+
+            if (mcMMOPlayer != null) {
+                return mcMMOPlayer.getPermissionCache().hasPermission(permissible, nodeId);
+            }
+        }
+
+        return permissible.hasPermission(PermissionCache.getNode(nodeId));
+    }
+
+    /**
+     * Same as {@link #has(Permissible, int)} for nodes that were not resolved up front
+     */
+    private static boolean has(@NotNull Permissible permissible, @NotNull String node) {
+        if (permissible instanceof Player && Bukkit.isPrimaryThread()) {
+            McMMOPlayer mcMMOPlayer = UserManager.getPlayer((Player) permissible);
+
+            if (mcMMOPlayer != null) {
+                return mcMMOPlayer.getPermissionCache().hasPermission(permissible, node);
+            }
+        }
+
+        return permissible.hasPermission(node);
+    }
+
+    private static int @NotNull [] getSkillNodes(@NotNull String prefix, @NotNull String suffix) {
+        return getNodes(PrimarySkillType.values(), prefix, suffix);
+    }
+
+    private static int @NotNull [] getNodes(@NotNull Enum<?>[] types, @NotNull String prefix, @NotNull String suffix) {
+        int[] nodes = new int[types.length];
 
-    public static boolean partyTeleportAllWorlds(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.ptp.world.all"); }
-    public static boolean partyTeleportWorld(Permissible permissible, World world) { return permissible.hasPermission("mcmmo.commands.ptp.world." + world.getName()); }
+        for (Enum<?> type : types) {
+            nodes[type.ordinal()] = PermissionCache.getNodeId(prefix + type.toString().toLowerCase(Locale.ENGLISH) + suffix);
+        }
+
+        return nodes;
+    }
+
+    private static int @NotNull [] getUnresolvedNodes(int length) {
+        int[] nodes = new int[length];
+        Arrays.fill(nodes, -1);
+        return nodes;
+    }
+
+    //Racing threads can only ever resolve the same id, so filling these lazily needs no locking
+    private static int getGreenThumbNode(int @NotNull [] nodes, @NotNull String prefix, @NotNull Material material) {
+        int node = nodes[material.ordinal()];
+
+        if (node == -1) {
+            node = PermissionCache.getNodeId(prefix + material.toString().replace("_", "").toLowerCase(Locale.ENGLISH));
+            nodes[material.ordinal()] = node;
+        }
+
+        return node;
+    }
+
+    private static int getCallOfTheWildNode(@NotNull EntityType type) {
+        int node = CALL_OF_THE_WILD_NODES[type.ordinal()];
+
+        if (node == -1) {
+            node = PermissionCache.getNodeId("mcmmo.ability.taming.callofthewild." + type.toString().toLowerCase(Locale.ENGLISH));
+            CALL_OF_THE_WILD_NODES[type.ordinal()] = node;
+        }
+
+        return node;
+    }
 
     public static void generateWorldTeleportPermissions() {
         Server server = mcMMO.p.getServer();
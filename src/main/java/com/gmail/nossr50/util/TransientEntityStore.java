@@ -0,0 +1,67 @@
+package com.gmail.nossr50.util;
+
+import com.gmail.nossr50.datatypes.meta.TransientEntityState;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.WeakHashMap;
+
+/**
+ * Holds the {@link TransientEntityState} of entities, in place of Bukkit metadata
+ * Entities are weakly referenced so state for removed or unloaded entities is collected without any cleanup task,
+ * state is also removed explicitly when an entity dies or a projectile lands
+ * This is only meant to be accessed from the main thread
+ */
+public class TransientEntityStore {
+    private final @NotNull WeakHashMap<Entity, TransientEntityState> entityStates = new WeakHashMap<>();
+
+    /**
+     * Get the state of an entity if it has any
+     *
+     * @param entity target entity
+     * @return the state of the entity, or null if none has been stored
+     */
+    public @Nullable TransientEntityState get(@NotNull Entity entity) {
+        return entityStates.get(entity);
+    }
+
+    /**
+     * Get the state of an entity, creating it if needed
+     *
+     * @param entity target entity
+     * @return the state of the entity
+     */
+    public @NotNull TransientEntityState getOrCreate(@NotNull Entity entity) {
+        return entityStates.computeIfAbsent(entity, key -> new TransientEntityState());
+    }
+
+    /**
+     * Remove all state stored for an entity
+     *
+     * @param entity target entity
+     */
+    public void remove(@NotNull Entity entity) {
+        entityStates.remove(entity);
+    }
+
+    public boolean isTrackedArrow(@NotNull Entity entity) {
+        TransientEntityState state = get(entity);
+        return state != null && state.isTrackedArrow();
+    }
+
+    public boolean isInfiniteArrow(@NotNull Entity entity) {
+        TransientEntityState state = get(entity);
+        return state != null && state.isInfiniteArrow();
+    }
+
+    public boolean isCustomDamage(@NotNull Entity entity) {
+        TransientEntityState state = get(entity);
+        return state != null && state.isCustomDamage();
+    }
+
+    public boolean isTravelingBlock(@NotNull Entity entity) {
+        TransientEntityState state = get(entity);
+        return state != null && state.isTravelingBlock();
+    }
+}
@@ -6,11 +6,10 @@ import com.gmail.nossr50.skills.taming.TrackedTamingEntity;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.skills.ParticleEffectUtils;
 import com.gmail.nossr50.util.text.StringUtils;
-import com.google.common.collect.ImmutableSet;
-import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -18,28 +17,29 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
+/**
+ * Tracks Call of the Wild summons so they can be counted per player and removed on logout, death or chunk unload
+ * Summons are indexed by the chunk they were last seen in, the index is updated on registration and teleports and revalidated when a chunk is looked up
+ * Must only be used from the main thread
+ */
 public class TransientEntityTracker {
-    //These two are updated in step with each other
-    private final @NotNull HashMap<UUID, HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>>> perPlayerTransientEntityMap;
-    private final @NotNull HashSet<LivingEntity> chunkLookupCache;
+    private static final int SUMMON_TYPE_COUNT = CallOfTheWildType.values().length;
 
-    public TransientEntityTracker() {
-        perPlayerTransientEntityMap = new HashMap<>();
-        chunkLookupCache = new HashSet<>();
-    }
-
-    public synchronized @NotNull HashSet<LivingEntity> getChunkLookupCache() {
-        return chunkLookupCache;
-    }
+    //Every tracked summon, keyed by the UUID of the summoned entity
+    private final @NotNull HashMap<UUID, TrackedSummon> trackedSummons;
+    //Summons per chunk coordinates, summons of every world share this index
+    private final @NotNull HashMap<Long, ArrayList<TrackedSummon>> chunkIndex;
+    //Amount of summons per player, indexed by CallOfTheWildType ordinal
+    private final @NotNull HashMap<UUID, int[]> summonCounts;
 
-    public synchronized @NotNull HashMap<UUID, HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>>> getPerPlayerTransientEntityMap() {
-        return perPlayerTransientEntityMap;
+    public TransientEntityTracker() {
+        trackedSummons = new HashMap<>();
+        chunkIndex = new HashMap<>();
+        summonCounts = new HashMap<>();
     }
 
-    public synchronized void initPlayer(@NotNull Player player) {
-        if (!isPlayerRegistered(player.getUniqueId())) {
-            registerPlayer(player.getUniqueId());
-        }
+    public void initPlayer(@NotNull Player player) {
+        summonCounts.computeIfAbsent(player.getUniqueId(), uuid -> new int[SUMMON_TYPE_COUNT]);
     }
 
     /**
@@ -47,7 +47,7 @@ public class TransientEntityTracker {
      *
      * @param playerUUID target player
      */
-    public synchronized void cleanupPlayer(@NotNull UUID playerUUID) {
+    public void cleanupPlayer(@NotNull UUID playerUUID) {
         cleanPlayer(null, playerUUID);
     }
 
@@ -56,7 +56,7 @@ public class TransientEntityTracker {
      *
      * @param player target player
      */
-    public synchronized void cleanupPlayer(@NotNull Player player) {
+    public void cleanupPlayer(@NotNull Player player) {
         cleanPlayer(player, player.getUniqueId());
     }
 
@@ -67,61 +67,30 @@ public class TransientEntityTracker {
      * @param playerUUID target player UUID
      */
     private void cleanPlayer(@Nullable Player player, @NotNull UUID playerUUID) {
-        cleanupAllSummons(player, player.getUniqueId());
-        removePlayerFromMap(playerUUID);
-    }
-
-    private void removePlayerFromMap(@NotNull UUID playerUUID) {
-        getPerPlayerTransientEntityMap().remove(playerUUID);
-    }
-
-    /**
-     * Checks if a player has already been registered
-     * Being registered constitutes having necessary values initialized in our per-player map
-     *
-     * @param playerUUID target player
-     * @return true if the player is registered
-     */
-    private synchronized boolean isPlayerRegistered(@NotNull UUID playerUUID) {
-        return getPerPlayerTransientEntityMap().get(playerUUID) != null;
-    }
-
-    /**
-     * Register a player to our tracker, which initializes the necessary values in our per-player map
-     *
-     * @param playerUUID player to register
-     */
-    private synchronized void registerPlayer(@NotNull UUID playerUUID) {
-        getPerPlayerTransientEntityMap().put(playerUUID, new HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>>());
-
-        for(CallOfTheWildType callOfTheWildType : CallOfTheWildType.values()) {
-            getPerPlayerTransientEntityMap().get(playerUUID).put(callOfTheWildType, new HashSet<>());
-        }
-    }
-
-    /**
-     * Get the tracked transient entities map for a specific player
-     *
-     * @param playerUUID the target uuid of the player
-     * @return the tracked entities map for the player, null if the player isn't registered
-     */
-    public synchronized @Nullable HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>> getPlayerTrackedEntityMap(@NotNull UUID playerUUID) {
-        return getPerPlayerTransientEntityMap().get(playerUUID);
+        cleanupAllSummons(player, playerUUID);
+        summonCounts.remove(playerUUID);
     }
 
     /**
      * Registers an entity to a player
-     * This includes registration to our per-player map and our chunk lookup cache
+     * This includes the per-player counters and the chunk index
      *
      * @param playerUUID target player's UUID
      * @param trackedTamingEntity target entity
      */
-    public synchronized void registerEntity(@NotNull UUID playerUUID, @NotNull TrackedTamingEntity trackedTamingEntity) {
-        //Add to map entry
-        getTrackedEntities(playerUUID, trackedTamingEntity.getCallOfTheWildType()).add(trackedTamingEntity);
+    public void registerEntity(@NotNull UUID playerUUID, @NotNull TrackedTamingEntity trackedTamingEntity) {
+        LivingEntity livingEntity = trackedTamingEntity.getLivingEntity();
+        TrackedSummon summon = new TrackedSummon(trackedTamingEntity, playerUUID);
+
+        if (trackedSummons.putIfAbsent(livingEntity.getUniqueId(), summon) != null)
+            return;
 
-        //Add to cache for chunk lookups
-        addToChunkLookupCache(trackedTamingEntity);
+        int[] counts = summonCounts.get(playerUUID);
+
+        if (counts != null)
+            counts[trackedTamingEntity.getCallOfTheWildType().ordinal()]++;
+
+        index(summon, livingEntity.getLocation());
     }
 
     /**
@@ -130,100 +99,75 @@ public class TransientEntityTracker {
      * @param livingEntity target livinig entity
      * @return true if target living entity is a summon
      */
-    public synchronized boolean isTransientSummon(@NotNull LivingEntity livingEntity) {
-        return getChunkLookupCache().contains(livingEntity);
+    public boolean isTransientSummon(@NotNull LivingEntity livingEntity) {
+        return trackedSummons.containsKey(livingEntity.getUniqueId());
     }
 
     /**
-     * Get the tracked taming entities for a player
-     * If the player isn't registered this will return null
+     * Moves a summon in the chunk index, called when a summon is teleported
      *
-     * @param playerUUID the target uuid of the player
-     * @param callOfTheWildType target type
-     * @return the set of tracked entities for the player, null if the player isn't registered, the set can be empty
+     * @param livingEntity target entity
+     * @param location the new location of the entity
      */
-    private synchronized @Nullable HashSet<TrackedTamingEntity> getTrackedEntities(@NotNull UUID playerUUID, @NotNull CallOfTheWildType callOfTheWildType) {
-        HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>> playerEntityMap = getPlayerTrackedEntityMap(playerUUID);
+    public void updateSummonLocation(@NotNull LivingEntity livingEntity, @NotNull Location location) {
+        TrackedSummon summon = trackedSummons.get(livingEntity.getUniqueId());
 
-        if(playerEntityMap == null)
-            return null;
+        if (summon == null)
+            return;
 
-        return playerEntityMap.get(callOfTheWildType);
+        unindex(summon);
+        index(summon, location);
     }
 
     /**
-     * Adds an entity to our chunk lookup cache
-     *
-     * @param trackedTamingEntity target tracked taming entity
-     */
-    private synchronized void addToChunkLookupCache(@NotNull TrackedTamingEntity trackedTamingEntity) {
-        getChunkLookupCache().add(trackedTamingEntity.getLivingEntity());
-    }
-
-    /**
-     * Removes an entity from our tracker
-     * This includes removal from our per-player map and our chunk lookup cache
+     * Get all transient entities that exist in a specific chunk
+     * Summons indexed in this chunk that have walked away are moved to their current chunk instead
      *
-     * @param livingEntity target entity
+     * @param chunk the chunk to match
+     * @return a list of transient entities that are located in the provided chunk
      */
-    private void unregisterEntity(@NotNull LivingEntity livingEntity) {
-        chunkLookupCacheCleanup(livingEntity);
-        perPlayerTransientMapCleanup(livingEntity);
-    }
+    public @NotNull List<LivingEntity> getAllTransientEntitiesInChunk(@NotNull Chunk chunk) {
+        ArrayList<TrackedSummon> indexed = chunkIndex.get(chunkKey(chunk.getX(), chunk.getZ()));
 
-    /**
-     * Removes an entity from our chunk lookup cache
-     *
-     * @param livingEntity target entity
-     */
-    private void chunkLookupCacheCleanup(@NotNull LivingEntity livingEntity) {
-        getChunkLookupCache().remove(livingEntity);
-    }
+        if (indexed == null)
+            return Collections.emptyList();
 
-    /**
-     * Clean a living entity from our tracker
-     * Iterates over all players and their registered entities
-     * Doesn't do any kind of failure checking, if it doesn't find any player with a registered entity nothing bad happens or is reported
-     * However it should never happen like that, so maybe we could consider adding some failure to execute checking in the future
-     *
-     * @param livingEntity
-     */
-    private void perPlayerTransientMapCleanup(@NotNull LivingEntity livingEntity) {
-        for(UUID uuid : getPerPlayerTransientEntityMap().keySet()) {
-            for(CallOfTheWildType callOfTheWildType : CallOfTheWildType.values()) {
+        ArrayList<LivingEntity> matchingEntities = new ArrayList<>();
+        UUID worldUID = chunk.getWorld().getUID();
 
-                HashSet<TrackedTamingEntity> trackedEntities = getTrackedEntities(uuid, callOfTheWildType);
+        for (TrackedSummon summon : new ArrayList<>(indexed)) {
+            if (!worldUID.equals(summon.worldUID))
+                continue;
 
-                if(trackedEntities == null)
-                    continue;
+            LivingEntity livingEntity = summon.trackedTamingEntity.getLivingEntity();
+            Location location = livingEntity.getLocation();
 
-                Iterator<TrackedTamingEntity> iterator = trackedEntities.iterator();
-                while (iterator.hasNext()) {
-                    if(iterator.next().getLivingEntity().equals(livingEntity)) {
-                        iterator.remove();
-                        return;
-                    }
-                }
+            if (isInChunk(location, chunk)) {
+                matchingEntities.add(livingEntity);
+            } else {
+                unindex(summon);
+                index(summon, location);
             }
         }
+
+        return matchingEntities;
     }
 
     /**
-     * Get all transient entities that exist in a specific chunk
-     *
-     * @param chunk the chunk to match
-     * @return a list of transient entities that are located in the provided chunk
+     * Moves every summon to the chunk it is currently in
+     * Only needed where EntitiesUnloadEvent does not exist, nothing else catches summons that walked into a chunk without the index seeing them
      */
-    public synchronized @NotNull List<LivingEntity> getAllTransientEntitiesInChunk(@NotNull Chunk chunk) {
-        ArrayList<LivingEntity> matchingEntities = new ArrayList<>();
+    public void reindexAllSummons() {
+        for (TrackedSummon summon : trackedSummons.values()) {
+            Location location = summon.trackedTamingEntity.getLivingEntity().getLocation();
+            World world = location.getWorld();
 
-        for(LivingEntity livingEntity : getChunkLookupCache()) {
-            if(livingEntity.getLocation().getChunk().equals(chunk)) {
-                matchingEntities.add(livingEntity);
-            }
-        }
+            if (world != null && world.getUID().equals(summon.worldUID) && chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4) == summon.chunkKey)
+                continue;
 
-        return matchingEntities;
+            unindex(summon);
+            index(summon, location);
+        }
     }
 
     /**
@@ -233,23 +177,23 @@ public class TransientEntityTracker {
      * @param callOfTheWildType summon type
      * @return the amount of summons currently active for player of target type
      */
-    public synchronized int getAmountCurrentlySummoned(@NotNull UUID playerUUID, @NotNull CallOfTheWildType callOfTheWildType) {
-        HashSet<TrackedTamingEntity> trackedEntities = getTrackedEntities(playerUUID, callOfTheWildType);
+    public int getAmountCurrentlySummoned(@NotNull UUID playerUUID, @NotNull CallOfTheWildType callOfTheWildType) {
+        int[] counts = summonCounts.get(playerUUID);
 
-        if(trackedEntities == null)
+        if(counts == null)
             return 0;
 
-        return trackedEntities.size();
+        return counts[callOfTheWildType.ordinal()];
     }
 
     /**
      * Kills a summon and removes its metadata
-     * Then it removes it from the tracker / chunk lookup cache
+     * Then it removes it from the tracker / chunk index
      *
      * @param livingEntity entity to remove
      * @param player associated player
      */
-    public synchronized void removeSummon(@NotNull LivingEntity livingEntity, @Nullable Player player, boolean timeExpired) {
+    public void removeSummon(@NotNull LivingEntity livingEntity, @Nullable Player player, boolean timeExpired) {
         //Kill the summon & remove it
         if(livingEntity.isValid()) {
             livingEntity.setHealth(0); //Should trigger entity death events
@@ -280,14 +224,23 @@ public class TransientEntityTracker {
     }
 
     /**
-     * Remove all tracked entities from existence if they currently exist
-     * Clear the tracked entity lists afterwards
+     * Removes an entity from our tracker
+     * Safe to call more than once, death events fired while killing a summon end up here too
      *
-     * @deprecated use {@link #cleanupAllSummons(Player, UUID)} instead
+     * @param livingEntity target entity
      */
-    @Deprecated
-    private void cleanupAllSummons(@NotNull UUID playerUUID) {
-        cleanupAllSummons(Bukkit.getPlayer(playerUUID), playerUUID);
+    private void unregisterEntity(@NotNull LivingEntity livingEntity) {
+        TrackedSummon summon = trackedSummons.remove(livingEntity.getUniqueId());
+
+        if (summon == null)
+            return;
+
+        unindex(summon);
+
+        int[] counts = summonCounts.get(summon.ownerUUID);
+
+        if (counts != null)
+            counts[summon.trackedTamingEntity.getCallOfTheWildType().ordinal()]--;
     }
 
     /**
@@ -297,20 +250,64 @@ public class TransientEntityTracker {
      * @param playerUUID used to grab associated data, cannot be null
      */
     private void cleanupAllSummons(@Nullable Player player, @NotNull UUID playerUUID) {
-        for(CallOfTheWildType callOfTheWildType : CallOfTheWildType.values()) {
-            HashSet<TrackedTamingEntity> trackedEntities = getTrackedEntities(playerUUID, callOfTheWildType);
+        int[] counts = summonCounts.get(playerUUID);
 
-            if(trackedEntities == null) {
-                continue;
-            }
+        //Nothing summoned, skip looking through every summon
+        if (counts != null && Arrays.stream(counts).allMatch(count -> count == 0))
+            return;
 
-            ImmutableSet<TrackedTamingEntity> immutableSet = ImmutableSet.copyOf(trackedEntities);
+        ArrayList<LivingEntity> toRemove = new ArrayList<>();
 
-            for(TrackedTamingEntity trackedTamingEntity : immutableSet) {
-                //Remove from existence
-                removeSummon(trackedTamingEntity.getLivingEntity(), player, false);
-            }
+        for (TrackedSummon summon : trackedSummons.values()) {
+            if (summon.ownerUUID.equals(playerUUID))
+                toRemove.add(summon.trackedTamingEntity.getLivingEntity());
+        }
+
+        for (LivingEntity livingEntity : toRemove) {
+            //Remove from existence
+            removeSummon(livingEntity, player, false);
+        }
+    }
+
+    private void index(@NotNull TrackedSummon summon, @NotNull Location location) {
+        World world = location.getWorld();
+
+        summon.worldUID = world == null ? null : world.getUID();
+        summon.chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        chunkIndex.computeIfAbsent(summon.chunkKey, key -> new ArrayList<>(2)).add(summon);
+    }
+
+    private void unindex(@NotNull TrackedSummon summon) {
+        ArrayList<TrackedSummon> indexed = chunkIndex.get(summon.chunkKey);
+
+        if (indexed == null)
+            return;
+
+        indexed.remove(summon);
+
+        if (indexed.isEmpty())
+            chunkIndex.remove(summon.chunkKey);
+    }
+
+    private static boolean isInChunk(@NotNull Location location, @NotNull Chunk chunk) {
+        return location.getWorld() == chunk.getWorld()
+                && location.getBlockX() >> 4 == chunk.getX()
+                && location.getBlockZ() >> 4 == chunk.getZ();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static class TrackedSummon {
+        private final @NotNull TrackedTamingEntity trackedTamingEntity;
+        private final @NotNull UUID ownerUUID;
+        private UUID worldUID;
+        private long chunkKey;
 
+        private TrackedSummon(@NotNull TrackedTamingEntity trackedTamingEntity, @NotNull UUID ownerUUID) {
+            this.trackedTamingEntity = trackedTamingEntity;
+            this.ownerUUID = ownerUUID;
         }
     }
 }
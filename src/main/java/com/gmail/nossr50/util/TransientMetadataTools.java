@@ -12,27 +12,11 @@ public class TransientMetadataTools {
     }
 
     public void cleanLivingEntityMetadata(@NotNull LivingEntity entity) {
-        //Since it's not written anywhere, apparently the GC won't touch objects with metadata still present on them
-        if (entity.hasMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME)) {
-            entity.setCustomName(entity.getMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME).get(0).asString());
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_CUSTOM_NAME, pluginRef);
-        }
-
-//        if(entity.hasMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY)) {
-//            CombatUtils.fixNames(entity);
-//            entity.removeMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY, pluginRef);
-//        }
-
         //Involved in changing mob names to hearts
-        if (entity.hasMetadata(MetadataConstants.METADATA_KEY_NAME_VISIBILITY)) {
-            entity.setCustomNameVisible(entity.getMetadata(MetadataConstants.METADATA_KEY_NAME_VISIBILITY).get(0).asBoolean());
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_NAME_VISIBILITY, pluginRef);
-        }
+        mcMMO.getMobHealthbarManager().restoreName(entity);
 
-        //Gets assigned to endermen, potentially doesn't get cleared before this point
-        if(entity.hasMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK)) {
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK, pluginRef);
-        }
+        //Traveling blocks, custom damage, dodge tracking, etc
+        mcMMO.getTransientEntityStore().remove(entity);
 
         //Cleanup mob metadata
         mcMMO.getCompatibilityManager().getPersistentDataLayer().removeMobFlags(entity);
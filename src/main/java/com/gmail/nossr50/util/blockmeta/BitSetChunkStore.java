@@ -98,6 +98,15 @@ public class BitSetChunkStore implements ChunkStore {
         return store.isEmpty();
     }
 
+    /**
+     * @return a copy of this chunk store that is not marked dirty
+     */
+    public @NotNull BitSetChunkStore copy() {
+        BitSetChunkStore copy = new BitSetChunkStore(worldUid, worldMin, worldMax, cx, cz);
+        copy.store.or(store);
+        return copy;
+    }
+
     private int coordToIndex(int x, int y, int z) {
         return coordToIndex(x, y, z, worldMin, worldMax);
     }
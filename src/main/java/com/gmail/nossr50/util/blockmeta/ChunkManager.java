@@ -2,9 +2,18 @@ package com.gmail.nossr50.util.blockmeta;
 
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface ChunkManager extends UserBlockTracker {
     void closeAll();
     void chunkUnloaded(int cx, int cz, @NotNull World world);
     void unloadWorld(@NotNull World world);
+
+    /**
+     * Copies the data of a chunk so it can be read off the main thread, must be called from the main thread
+     * The copy is indexed the same way this manager indexes blocks, and never changes afterwards
+     *
+     * @return a copy of the chunk data, or null if nothing is set to true in the chunk
+     */
+    @Nullable ChunkStore copyChunkStore(int cx, int cz, @NotNull World world);
 }
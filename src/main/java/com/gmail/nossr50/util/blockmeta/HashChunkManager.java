@@ -152,6 +152,25 @@ public class HashChunkManager implements ChunkManager {
         }
     }
 
+    @Override
+    public synchronized @Nullable ChunkStore copyChunkStore(int cx, int cz, @NotNull World world) {
+        CoordinateKey chunkKey = toChunkKey(world.getUID(), cx, cz);
+
+        // Get/Load chunkstore, it is unloaded along with the chunk
+        ChunkStore chunkStore = chunkMap.computeIfAbsent(chunkKey, k -> {
+            ChunkStore loaded = loadChunk(chunkKey.x, chunkKey.z, world);
+            if (loaded == null)
+                return null;
+            chunkUsageMap.computeIfAbsent(toRegionKey(chunkKey.worldID, chunkKey.x, chunkKey.z), j -> new HashSet<>()).add(chunkKey);
+            return loaded;
+        });
+
+        if (chunkStore == null || chunkStore.isEmpty())
+            return null;
+
+        return ((BitSetChunkStore) chunkStore).copy();
+    }
+
     private synchronized boolean isTrue(int x, int y, int z, @NotNull World world) {
         CoordinateKey chunkKey = blockCoordinateToChunkKey(world.getUID(), x, y, z);
 
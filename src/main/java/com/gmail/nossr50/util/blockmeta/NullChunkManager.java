@@ -4,6 +4,7 @@ import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class NullChunkManager implements ChunkManager {
 
@@ -16,6 +17,11 @@ public class NullChunkManager implements ChunkManager {
     @Override
     public void unloadWorld(@NotNull World world) {}
 
+    @Override
+    public @Nullable ChunkStore copyChunkStore(int cx, int cz, @NotNull World world) {
+        return null;
+    }
+
     @Override
     public boolean isTrue(@NotNull Block block) {
         return false;
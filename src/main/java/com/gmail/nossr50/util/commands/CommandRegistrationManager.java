@@ -3,6 +3,7 @@ package com.gmail.nossr50.util.commands;
 import com.gmail.nossr50.commands.*;
 import com.gmail.nossr50.commands.admin.CompatibilityCommand;
 import com.gmail.nossr50.commands.admin.McmmoReloadLocaleCommand;
+import com.gmail.nossr50.commands.admin.McmmoReloadWorldBlacklistCommand;
 import com.gmail.nossr50.commands.admin.PlayerDebugCommand;
 import com.gmail.nossr50.commands.chat.McChatSpy;
 import com.gmail.nossr50.commands.database.McpurgeCommand;
@@ -417,6 +418,15 @@ public final class CommandRegistrationManager {
         command.setExecutor(new McmmoReloadLocaleCommand());
     }
 
+    private static void registerReloadWorldBlacklistCommand() {
+        PluginCommand command = mcMMO.p.getCommand("mcmmoreloadworldblacklist");
+        command.setDescription("Reloads the world blacklist"); // TODO: Localize
+        command.setPermission("mcmmo.commands.reloadworldblacklist");
+        command.setPermissionMessage(permissionsMessage);
+        command.setUsage(LocaleLoader.getString("Commands.Usage.0", "mcmmoreloadworldblacklist"));
+        command.setExecutor(new McmmoReloadWorldBlacklistCommand());
+    }
+
     private static void registerCompatibilityCommand() {
         PluginCommand command = mcMMO.p.getCommand("mmocompat"); //TODO: Localize
         command.setDescription(LocaleLoader.getString("Commands.Description.mmocompat"));
@@ -479,6 +489,7 @@ public final class CommandRegistrationManager {
 
         // Admin commands
         registerReloadLocaleCommand();
+        registerReloadWorldBlacklistCommand();
 
         // Misc
         registerCompatibilityCommand();
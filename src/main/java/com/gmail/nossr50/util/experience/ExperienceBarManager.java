@@ -69,15 +69,15 @@ public class ExperienceBarManager {
             experienceBarHideTaskHashMap.get(primarySkillType).cancel();
         }
 
-        scheduleHideTask(primarySkillType, plugin);
+        scheduleHideTask(primarySkillType);
     }
 
-    private void scheduleHideTask(PrimarySkillType primarySkillType, Plugin plugin) {
+    private void scheduleHideTask(PrimarySkillType primarySkillType) {
         if(alwaysVisible.contains(primarySkillType))
             return;
 
         ExperienceBarHideTask experienceBarHideTask = new ExperienceBarHideTask(this, mcMMOPlayer, primarySkillType);
-        experienceBarHideTask.runTaskLater(plugin, 20* delaySeconds);
+        mcMMO.getTickWheel().schedule(experienceBarHideTask, 20* delaySeconds);
         experienceBarHideTaskHashMap.put(primarySkillType, experienceBarHideTask);
     }
 
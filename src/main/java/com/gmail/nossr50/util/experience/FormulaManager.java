@@ -4,37 +4,91 @@ import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.experience.FormulaType;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.skills.SkillTools;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
 
 public class FormulaManager {
     private static final File formulaFile = new File(mcMMO.getFlatFileDirectory() + "formula.yml");
 
-    // Experience needed to reach a level, cached values to improve conversion speed
-    private Map<Integer, Integer> experienceNeededRetroLinear;
-    private Map<Integer, Integer> experienceNeededStandardLinear;
-    private Map<Integer, Integer> experienceNeededRetroExponential;
-    private Map<Integer, Integer> experienceNeededStandardExponential;
+    // Highest level precomputed when a skill has no level cap, anything above is calculated on demand
+    private static final int UNCAPPED_RETRO_TABLE_LEVEL = 5000;
+    private static final int UNCAPPED_STANDARD_TABLE_LEVEL = 500;
+    // Upper bound on the precomputed range, protects against absurdly high configured caps
+    private static final int MAX_TABLE_LEVEL = 100000;
+
+    // Experience needed to reach the next level, indexed by level, precomputed to improve lookup and conversion speed
+    private int[] experienceNeededLinear;
+    private int[] experienceNeededExponential;
+
+    // Total experience needed to reach a level from level 0, indexed by level (one entry longer than the tables above)
+    private long[] totalExperienceLinear;
+    private long[] totalExperienceExponential;
 
     private FormulaType previousFormula;
 
     public FormulaManager() {
         /* Setting for Classic Mode (Scales a lot of stuff up by * 10) */
-        initExperienceNeededMaps();
+        initExperienceNeededTables();
         loadFormula();
     }
 
     /**
-     * Initialize maps used for XP to next level
+     * Initialize the dense tables used for XP to next level and total XP lookups
+     * Retro Mode can't change without a restart, so only the tables for the active scaling are built
      */
-    private void initExperienceNeededMaps() {
-        experienceNeededRetroLinear = new HashMap<>();
-        experienceNeededRetroExponential = new HashMap<>();
-        experienceNeededStandardLinear = new HashMap<>();
-        experienceNeededStandardExponential = new HashMap<>();
+    private void initExperienceNeededTables() {
+        int tableSize = getTableMaxLevel() + 1;
+
+        experienceNeededLinear = buildExperienceNeededTable(tableSize, FormulaType.LINEAR);
+        experienceNeededExponential = buildExperienceNeededTable(tableSize, FormulaType.EXPONENTIAL);
+        totalExperienceLinear = buildTotalExperienceTable(experienceNeededLinear);
+        totalExperienceExponential = buildTotalExperienceTable(experienceNeededExponential);
+    }
+
+    /**
+     * Get the highest level that should be precomputed, based on the configured level caps
+     *
+     * @return the highest level covered by the tables
+     */
+    private int getTableMaxLevel() {
+        int highestCap = 0;
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            highestCap = Math.max(highestCap, mcMMO.p.getSkillTools().getLevelCap(primarySkillType));
+        }
+
+        //The cumulative curve uses power level to determine the XP needed, so it needs to be covered as well
+        if (ExperienceConfig.getInstance().getCumulativeCurveEnabled()) {
+            highestCap = Math.max(highestCap, mcMMO.p.getGeneralConfig().getPowerLevelCap());
+        }
+
+        if (highestCap == Integer.MAX_VALUE) {
+            return mcMMO.isRetroModeEnabled() ? UNCAPPED_RETRO_TABLE_LEVEL : UNCAPPED_STANDARD_TABLE_LEVEL;
+        }
+
+        return Math.min(highestCap, MAX_TABLE_LEVEL);
+    }
+
+    private int[] buildExperienceNeededTable(int tableSize, FormulaType formulaType) {
+        int[] table = new int[tableSize];
+
+        for (int level = 0; level < tableSize; level++) {
+            table[level] = processXPToNextLevel(level, formulaType);
+        }
+
+        return table;
+    }
+
+    private long[] buildTotalExperienceTable(int[] experienceNeeded) {
+        long[] table = new long[experienceNeeded.length + 1];
+
+        for (int level = 0; level < experienceNeeded.length; level++) {
+            table[level + 1] = table[level] + experienceNeeded[level];
+        }
+
+        return table;
     }
 
     /**
@@ -65,15 +119,9 @@ public class FormulaManager {
      * @return The total amount of experience
      */
     public int calculateTotalExperience(int skillLevel, int skillXPLevel) {
-        int totalXP = 0;
-
-        for (int level = 0; level < skillLevel; level++) {
-            totalXP += getXPtoNextLevel(level, previousFormula);
-        }
-
-        totalXP += skillXPLevel;
+        long totalXP = getTotalXPToReachLevel(skillLevel, previousFormula) + skillXPLevel;
 
-        return totalXP;
+        return (int) Math.min(totalXP, Integer.MAX_VALUE);
     }
 
     /**
@@ -86,29 +134,54 @@ public class FormulaManager {
      * @return the amount of levels and experience
      */
     public int[] calculateNewLevel(PrimarySkillType primarySkillType, int experience, FormulaType formulaType) {
-        int newLevel = 0;
-        int remainder = 0;
+        if (experience <= 0) {
+            return new int[]{ 0, 0 };
+        }
+
         int maxLevel = mcMMO.p.getSkillTools().getLevelCap(primarySkillType);
+        long[] totalExperience = getTotalExperienceTable(formulaType);
+        int lastTableLevel = totalExperience.length - 1;
+
+        //Binary search for the highest level whose total experience fits within the given experience
+        int low = 0;
+        int high = Math.min(maxLevel, lastTableLevel);
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (totalExperience[mid] <= experience) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        int newLevel = low;
+        long remainder = experience - totalExperience[newLevel];
 
-        while (experience > 0 && newLevel < maxLevel) {
+        //Levels beyond the precomputed range are walked one at a time
+        while (remainder > 0 && newLevel >= lastTableLevel && newLevel < maxLevel) {
             int experienceToNextLevel = getXPtoNextLevel(newLevel, formulaType);
 
-            if (experience - experienceToNextLevel < 0) {
-                remainder = experience;
+            if (remainder < experienceToNextLevel) {
                 break;
             }
 
             newLevel++;
-            experience -= experienceToNextLevel;
+            remainder -= experienceToNextLevel;
         }
 
-        return new int[]{ newLevel, remainder };
+        //Leftover experience is discarded once the level cap is reached
+        if (newLevel >= maxLevel) {
+            remainder = 0;
+        }
+
+        return new int[]{ newLevel, (int) remainder };
     }
 
     /**
-     * Get the cached amount of experience needed to reach the next level,
-     * if cache doesn't contain the given value it is calculated and added
-     * to the cached data.
+     * Get the amount of experience needed to reach the next level,
+     * levels outside of the precomputed tables are calculated on demand.
      *
      * @param level level to check
      * @param formulaType The {@link FormulaType} used
@@ -125,9 +198,50 @@ public class FormulaManager {
             formulaType = FormulaType.LINEAR;
         }
 
+        int[] experienceNeeded = getExperienceNeededTable(formulaType);
+
+        if (level >= 0 && level < experienceNeeded.length) {
+            return experienceNeeded[level];
+        }
+
         return processXPToNextLevel(level, formulaType);
     }
 
+    /**
+     * Get the total amount of experience needed to go from level 0 to the given level
+     *
+     * @param level target level
+     * @param formulaType The {@link FormulaType} used
+     * @return total amount of experience needed to reach the level
+     */
+    public long getTotalXPToReachLevel(int level, FormulaType formulaType) {
+        if (level <= 0) {
+            return 0;
+        }
+
+        long[] totalExperience = getTotalExperienceTable(formulaType);
+
+        if (level < totalExperience.length) {
+            return totalExperience[level];
+        }
+
+        long totalXP = totalExperience[totalExperience.length - 1];
+
+        for (int x = totalExperience.length - 1; x < level; x++) {
+            totalXP += getXPtoNextLevel(x, formulaType);
+        }
+
+        return totalXP;
+    }
+
+    private int[] getExperienceNeededTable(FormulaType formulaType) {
+        return formulaType == FormulaType.EXPONENTIAL ? experienceNeededExponential : experienceNeededLinear;
+    }
+
+    private long[] getTotalExperienceTable(FormulaType formulaType) {
+        return formulaType == FormulaType.EXPONENTIAL ? totalExperienceExponential : totalExperienceLinear;
+    }
+
     /**
      * Gets the value of XP needed for the next level based on the level Scaling, the level, and the formula type
      * @param level target level
@@ -136,7 +250,7 @@ public class FormulaManager {
     private int processXPToNextLevel(int level, FormulaType formulaType) {
         if(mcMMO.isRetroModeEnabled())
         {
-            return processXPRetroToNextLevel(level, formulaType);
+            return calculateXPNeeded(level, formulaType);
         } else {
             return processStandardXPToNextLevel(level, formulaType);
         }
@@ -148,40 +262,15 @@ public class FormulaManager {
      * @return raw xp needed to reach the next level
      */
     private int processStandardXPToNextLevel(int level, FormulaType formulaType) {
-        Map<Integer, Integer> experienceMapRef = formulaType == FormulaType.LINEAR ? experienceNeededStandardLinear : experienceNeededStandardExponential;
-
-        if(!experienceMapRef.containsKey(level)) {
-            int experienceSum = 0;
-            int retroIndex = (level * 10) + 1;
-
-            //Sum the range of levels in Retro that this Standard level would represent
-            for(int x = retroIndex; x < (retroIndex + 10); x++) {
-                //calculateXPNeeded doesn't cache results so we use that instead of invoking the Retro XP methods to avoid memory bloat
-                experienceSum += calculateXPNeeded(x, formulaType);
-            }
-
-            experienceMapRef.put(level, experienceSum);
-        }
-
-        return experienceMapRef.get(level);
-    }
-
-    /**
-     * Calculates the XP to next level for Retro Mode scaling
-     * Results are cached to reduce needless operations
-     * @param level target level
-     * @param formulaType target formula type
-     * @return raw xp needed to reach the next level based on formula type
-     */
-    private int processXPRetroToNextLevel(int level, FormulaType formulaType) {
-        Map<Integer, Integer> experienceMapRef = formulaType == FormulaType.LINEAR ? experienceNeededRetroLinear : experienceNeededRetroExponential;
+        long experienceSum = 0;
+        int retroIndex = (level * 10) + 1;
 
-        if (!experienceMapRef.containsKey(level)) {
-            int experience = calculateXPNeeded(level, formulaType);
-            experienceMapRef.put(level, experience);
+        //Sum the range of levels in Retro that this Standard level would represent
+        for(int x = retroIndex; x < (retroIndex + 10); x++) {
+            experienceSum += calculateXPNeeded(x, formulaType);
         }
 
-        return experienceMapRef.get(level);
+        return (int) Math.min(experienceSum, Integer.MAX_VALUE);
     }
 
     /**
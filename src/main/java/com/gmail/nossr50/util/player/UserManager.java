@@ -8,14 +8,24 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class UserManager {
 
-    private static HashSet<McMMOPlayer> playerDataSet; //Used to track players for sync saves on shutdown
+    /*
+     * The registry is the source of truth for loaded players, the metadata is only kept around for API compatibility
+     * These are concurrent so they can be read from async tasks (profile loading, chat, etc)
+     */
+    private static final Map<UUID, McMMOPlayer> playersByUUID = new ConcurrentHashMap<>();
+    private static final Map<String, McMMOPlayer> playersByName = new ConcurrentHashMap<>();
 
     private UserManager() {}
 
@@ -25,17 +35,15 @@ public final class UserManager {
      * @param mcMMOPlayer the player profile to start tracking
      */
     public static void track(McMMOPlayer mcMMOPlayer) {
-        mcMMOPlayer.getPlayer().setMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA, new FixedMetadataValue(mcMMO.p, mcMMOPlayer));
-
-        if(playerDataSet == null)
-            playerDataSet = new HashSet<>();
+        Player player = mcMMOPlayer.getPlayer();
+        player.setMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA, new FixedMetadataValue(mcMMO.p, mcMMOPlayer));
 
-        playerDataSet.add(mcMMOPlayer); //for sync saves on shutdown
+        playersByUUID.put(player.getUniqueId(), mcMMOPlayer);
+        playersByName.put(player.getName().toLowerCase(Locale.ENGLISH), mcMMOPlayer);
     }
 
     public static void cleanupPlayer(McMMOPlayer mcMMOPlayer) {
-        if(playerDataSet != null)
-            playerDataSet.remove(mcMMOPlayer);
+        untrack(mcMMOPlayer);
     }
 
     /**
@@ -48,9 +56,7 @@ public final class UserManager {
         mcMMOPlayer.cleanup();
         player.removeMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA, mcMMO.p);
 
-        if(playerDataSet != null) {
-            playerDataSet.remove(mcMMOPlayer); //Clear sync save tracking
-        }
+        untrack(mcMMOPlayer);
     }
 
     /**
@@ -58,21 +64,20 @@ public final class UserManager {
      */
     public static void clearAll() {
         for (Player player : mcMMO.p.getServer().getOnlinePlayers()) {
-            remove(player);
+            if (hasPlayerDataKey(player)) {
+                remove(player);
+            }
         }
 
-        if(playerDataSet != null)
-            playerDataSet.clear(); //Clear sync save tracking
+        playersByUUID.clear();
+        playersByName.clear();
     }
 
     /**
      * Save all users ON THIS THREAD.
      */
     public static void saveAll() {
-        if(playerDataSet == null)
-            return;
-
-        ImmutableList<McMMOPlayer> trackedSyncData = ImmutableList.copyOf(playerDataSet);
+        ImmutableList<McMMOPlayer> trackedSyncData = ImmutableList.copyOf(playersByUUID.values());
 
         mcMMO.p.getLogger().info("Saving mcMMOPlayers... (" + trackedSyncData.size() + ")");
 
@@ -92,15 +97,7 @@ public final class UserManager {
     }
 
     public static Collection<McMMOPlayer> getPlayers() {
-        Collection<McMMOPlayer> playerCollection = new ArrayList<>();
-
-        for (Player player : mcMMO.p.getServer().getOnlinePlayers()) {
-            if (hasPlayerDataKey(player)) {
-                playerCollection.add(getPlayer(player));
-            }
-        }
-
-        return playerCollection;
+        return new ArrayList<>(playersByUUID.values());
     }
 
     /**
@@ -131,28 +128,44 @@ public final class UserManager {
      * @return McMMOPlayer object for this player, null if Player has not been loaded
      */
     public static McMMOPlayer getPlayer(Player player) {
-        //Avoid Array Index out of bounds
-        if(player != null && player.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA))
-            return (McMMOPlayer) player.getMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA).get(0).value();
-        else
+        if(player == null)
             return null;
+
+        return playersByUUID.get(player.getUniqueId());
     }
 
-    private static McMMOPlayer retrieveMcMMOPlayer(String playerName, boolean offlineValid) {
-        Player player = mcMMO.p.getServer().getPlayerExact(playerName);
+    /**
+     * Gets the McMMOPlayer object for a player by UUID, this can be null if the player is offline or has not yet been loaded.
+     * Safe to call from async tasks.
+     * @param uuid target player UUID
+     * @return McMMOPlayer object for this player, null if Player has not been loaded
+     */
+    public static @Nullable McMMOPlayer getPlayer(@NotNull UUID uuid) {
+        return playersByUUID.get(uuid);
+    }
 
-        if (player == null) {
-            if (!offlineValid) {
-                mcMMO.p.getLogger().warning("A valid mcMMOPlayer object could not be found for " + playerName + ".");
-            }
+    private static McMMOPlayer retrieveMcMMOPlayer(String playerName, boolean offlineValid) {
+        McMMOPlayer mcMMOPlayer = playerName == null ? null : playersByName.get(playerName.toLowerCase(Locale.ENGLISH));
 
-            return null;
+        if (mcMMOPlayer == null && !offlineValid) {
+            mcMMO.p.getLogger().warning("A valid mcMMOPlayer object could not be found for " + playerName + ".");
         }
 
-        return getPlayer(player);
+        return mcMMOPlayer;
     }
 
     public static boolean hasPlayerDataKey(Entity entity) {
-        return entity != null && entity.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA);
+        return entity instanceof Player && playersByUUID.containsKey(entity.getUniqueId());
+    }
+
+    private static void untrack(McMMOPlayer mcMMOPlayer) {
+        if (mcMMOPlayer == null)
+            return;
+
+        Player player = mcMMOPlayer.getPlayer();
+
+        //Only remove the entries if they still point at this McMMOPlayer, a newer session may have replaced them
+        playersByUUID.remove(player.getUniqueId(), mcMMOPlayer);
+        playersByName.remove(player.getName().toLowerCase(Locale.ENGLISH), mcMMOPlayer);
     }
 }
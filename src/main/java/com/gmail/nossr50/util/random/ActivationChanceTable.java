@@ -0,0 +1,59 @@
+package com.gmail.nossr50.util.random;
+
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.datatypes.skills.SubSkillType;
+import com.gmail.nossr50.util.Permissions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Per player cache of sub-skill activation chances, so a proc check is an array read and a dice roll
+ * A chance is recomputed when the parent skill level or the lucky perk it was computed with changes
+ * The lucky perk is read through the player's {@link com.gmail.nossr50.util.PermissionCache}
+ */
+public class ActivationChanceTable {
+    private static final int SUB_SKILL_COUNT = SubSkillType.values().length;
+
+    //Indexed by sub-skill ordinal * 2, +1 for chances using the sub-skill probability cap
+    private final double[] chances = new double[SUB_SKILL_COUNT * 2];
+    private final int[] chanceLevels = new int[SUB_SKILL_COUNT * 2];
+    private final boolean[] chanceLucky = new boolean[SUB_SKILL_COUNT * 2];
+
+    public ActivationChanceTable() {
+        invalidate();
+    }
+
+    /**
+     * Get the chance of a sub-skill activating, computed the same way as {@link RandomChanceUtil#calculateChanceOfSuccess(RandomChanceSkill)}
+     *
+     * @param mcMMOPlayer the owner of this table
+     * @param subSkillType target sub-skill
+     * @param hasCap whether the sub-skill's maximum probability applies
+     * @return the chance of success from 0-100, can go above 100 with the lucky perk
+     */
+    public double getChance(@NotNull McMMOPlayer mcMMOPlayer, @NotNull SubSkillType subSkillType, boolean hasCap) {
+        PrimarySkillType parentSkill = subSkillType.getParentSkill();
+        int index = subSkillType.ordinal() * 2 + (hasCap ? 1 : 0);
+        int skillLevel = mcMMOPlayer.getSkillLevel(parentSkill);
+        boolean isLucky = Permissions.lucky(mcMMOPlayer.getPlayer(), parentSkill);
+
+        if (chanceLevels[index] != skillLevel || chanceLucky[index] != isLucky) {
+            double probabilityCap = hasCap ? RandomChanceUtil.getMaximumProbability(subSkillType) : RandomChanceUtil.LINEAR_CURVE_VAR;
+
+            chances[index] = RandomChanceUtil.calculateChanceOfSuccess(skillLevel, probabilityCap, RandomChanceUtil.getMaxBonusLevelCap(subSkillType), isLucky);
+            chanceLevels[index] = skillLevel;
+            chanceLucky[index] = isLucky;
+        }
+
+        return chances[index];
+    }
+
+    /**
+     * Drops every cached chance
+     */
+    public void invalidate() {
+        Arrays.fill(chanceLevels, -1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.gmail.nossr50.util.random;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Weighted random selection in constant time using Walker's alias method
+ * The table is built once from a set of weights, every draw afterwards costs one bounded int and one double
+ */
+public class AliasTable {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Builds an alias table, outcome i is drawn with a chance of weights[i] / sum(weights)
+     *
+     * @param weights the weight of every outcome, must not be negative and must not all be 0
+     * @throws IllegalArgumentException if the weights are empty, negative or all 0
+     */
+    public AliasTable(double @NotNull [] weights) {
+        int outcomes = weights.length;
+        double totalWeight = 0;
+
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("Weights must be finite and positive, got " + weight);
+
+            totalWeight += weight;
+        }
+
+        if (totalWeight <= 0)
+            throw new IllegalArgumentException("At least one weight must be greater than 0");
+
+        probabilities = new double[outcomes];
+        aliases = new int[outcomes];
+
+        //Vose's construction, every column is filled by one outcome below the average and topped up by one above it
+        double[] scaled = new double[outcomes];
+        int[] small = new int[outcomes];
+        int[] large = new int[outcomes];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < outcomes; i++) {
+            scaled[i] = weights[i] * outcomes / totalWeight;
+
+            if (scaled[i] < 1)
+                small[smallSize++] = i;
+            else
+                large[largeSize++] = i;
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+
+            if (scaled[more] < 1)
+                small[smallSize++] = more;
+            else
+                large[largeSize++] = more;
+        }
+
+        //Whatever is left is full up to rounding errors
+        while (largeSize > 0) {
+            int i = large[--largeSize];
+            probabilities[i] = 1;
+            aliases[i] = i;
+        }
+
+        while (smallSize > 0) {
+            int i = small[--smallSize];
+            probabilities[i] = 1;
+            aliases[i] = i;
+        }
+    }
+
+    /**
+     * Builds a table out of percentages that are rolled one after the other, like the drop rates in our treasure configs
+     * Outcome i is drawn with a chance of chances[i] percent, outcome chances.length is drawn with whatever is left of 100
+     * Chances past a total of 100 are cut off, the same way a dice roll walking through them would never reach them
+     *
+     * @param chances chances from 0-100, negative chances are treated as 0
+     * @return an alias table with chances.length + 1 outcomes
+     */
+    public static @NotNull AliasTable ofPercentages(double @NotNull [] chances) {
+        double[] weights = new double[chances.length + 1];
+        double total = 0;
+
+        for (int i = 0; i < chances.length; i++) {
+            double chance = Math.min(Math.max(chances[i], 0), 100 - total);
+
+            weights[i] = chance;
+            total += chance;
+        }
+
+        weights[chances.length] = Math.max(100 - total, 0);
+        return new AliasTable(weights);
+    }
+
+    /**
+     * Draws an outcome
+     *
+     * @param random source of randomness
+     * @return an outcome from 0 to {@link #size()} - 1
+     */
+    public int sample(@NotNull Random random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * @return the amount of outcomes in this table
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
@@ -2,7 +2,6 @@ package com.gmail.nossr50.util.random;
 
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
-import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.UserManager;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -26,7 +25,7 @@ public class RandomChanceSkill implements RandomChanceExecution {
         }
 
         if (player != null)
-            isLucky = Permissions.lucky(player, subSkillType.getParentSkill());
+            isLucky = RandomChanceUtil.isLucky(player, subSkillType.getParentSkill());
         else
             isLucky = false;
 
@@ -45,7 +44,7 @@ public class RandomChanceSkill implements RandomChanceExecution {
         }
 
         if (player != null)
-            isLucky = Permissions.lucky(player, subSkillType.getParentSkill());
+            isLucky = RandomChanceUtil.isLucky(player, subSkillType.getParentSkill());
         else
             isLucky = false;
 
@@ -67,7 +66,7 @@ public class RandomChanceSkill implements RandomChanceExecution {
         }
 
         if (player != null)
-            isLucky = Permissions.lucky(player, subSkillType.getParentSkill());
+            isLucky = RandomChanceUtil.isLucky(player, subSkillType.getParentSkill());
         else
             isLucky = false;
 
@@ -108,7 +107,7 @@ public class RandomChanceSkill implements RandomChanceExecution {
         }
 
         if (player != null)
-            isLucky = Permissions.lucky(player, subSkillType.getParentSkill());
+            isLucky = RandomChanceUtil.isLucky(player, subSkillType.getParentSkill());
         else
             isLucky = false;
 
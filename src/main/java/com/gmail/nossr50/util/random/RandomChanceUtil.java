@@ -1,5 +1,6 @@
 package com.gmail.nossr50.util.random;
 
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.events.skills.secondaryabilities.SubSkillEvent;
@@ -7,6 +8,7 @@ import com.gmail.nossr50.events.skills.secondaryabilities.SubSkillRandomCheckEve
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.EventUtils;
 import com.gmail.nossr50.util.Permissions;
+import com.gmail.nossr50.util.player.UserManager;
 import com.gmail.nossr50.util.skills.SkillActivationType;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -82,6 +84,19 @@ public class RandomChanceUtil {
         return chanceOfSuccess > (ThreadLocalRandom.current().nextInt(bound) * resultModifier);
     }
 
+    /**
+     * The exact probability of {@link #rollDice(double, int)} succeeding
+     *
+     * @return the probability of success from 0-1
+     */
+    public static double getRollDiceProbability(double chanceOfSuccess, int bound) {
+        if (chanceOfSuccess <= 0)
+            return 0;
+
+        //Amount of results from 0 to bound - 1 that are below the chance
+        return Math.min(Math.ceil(chanceOfSuccess), bound) / bound;
+    }
+
     /**
      * Used for stuff like Excavation, Fishing, etc...
      *
@@ -167,11 +182,37 @@ public class RandomChanceUtil {
         return chanceOfSuccess;
     }
 
+    /**
+     * Same formula as {@link #calculateChanceOfSuccess(RandomChanceSkill)} without needing a {@link RandomChanceSkill}
+     *
+     * @return the chance of success from 0-100 (100 = guaranteed), can go above 100 with luck
+     */
+    public static double calculateChanceOfSuccess(double skillLevel, double maximumProbability, double maximumBonusLevel, boolean isLucky) {
+        double chanceOfSuccess;
+
+        if (skillLevel >= maximumBonusLevel) {
+            chanceOfSuccess = maximumProbability;
+        } else {
+            chanceOfSuccess = getChanceOfSuccess(skillLevel, maximumProbability, maximumBonusLevel);
+        }
+
+        return addLuck(isLucky, chanceOfSuccess);
+    }
+
     public static double calculateChanceOfSuccess(@NotNull RandomChanceSkillStatic randomChance) {
-        double chanceOfSuccess = getChanceOfSuccess(randomChance.getXPos(), 100, 100);
+        return calculateStaticChanceOfSuccess(randomChance.getXPos(), randomChance.isLucky());
+    }
+
+    /**
+     * Same formula as {@link #calculateChanceOfSuccess(RandomChanceSkillStatic)} without needing a {@link RandomChanceSkillStatic}
+     *
+     * @return the chance of success from 0-100 (100 = guaranteed), can go above 100 with luck
+     */
+    public static double calculateStaticChanceOfSuccess(double xPos, boolean isLucky) {
+        double chanceOfSuccess = getChanceOfSuccess(xPos, 100, 100);
 
         //Add Luck
-        chanceOfSuccess = addLuck(randomChance.isLucky(), chanceOfSuccess);
+        chanceOfSuccess = addLuck(isLucky, chanceOfSuccess);
 
         return chanceOfSuccess;
     }
@@ -215,11 +256,17 @@ public class RandomChanceUtil {
     }
 
     public static boolean checkRandomChanceExecutionSuccess(@Nullable Player player, @NotNull SubSkillType subSkillType, boolean hasCap) {
-        return checkRandomChanceExecutionSuccess(new RandomChanceSkill(player, subSkillType, hasCap));
+        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+
+        //Profile not loaded, do it the slow way
+        if (mcMMOPlayer == null)
+            return checkRandomChanceExecutionSuccess(new RandomChanceSkill(player, subSkillType, hasCap));
+
+        return rollDice(mcMMOPlayer.getActivationChanceTable().getChance(mcMMOPlayer, subSkillType, hasCap), 100);
     }
 
     public static boolean checkRandomChanceExecutionSuccess(@Nullable Player player, @NotNull SubSkillType subSkillType) {
-        return checkRandomChanceExecutionSuccess(new RandomChanceSkill(player, subSkillType));
+        return checkRandomChanceExecutionSuccess(player, subSkillType, false);
     }
 
     public static boolean checkRandomChanceExecutionSuccess(@Nullable Player player, @NotNull SubSkillType subSkillType, boolean hasCap, double resultModifier) {
@@ -233,7 +280,15 @@ public class RandomChanceUtil {
 
     public static boolean checkRandomStaticChanceExecutionSuccess(@Nullable Player player, @NotNull SubSkillType subSkillType) {
         try {
-            return checkRandomChanceExecutionSuccess(new RandomChanceSkillStatic(getStaticRandomChance(subSkillType), player, subSkillType));
+            double staticChance = getStaticRandomChance(subSkillType);
+            McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+
+            if (mcMMOPlayer != null) {
+                boolean isLucky = Permissions.lucky(mcMMOPlayer.getPlayer(), subSkillType.getParentSkill());
+                return rollDice(addLuck(isLucky, getChanceOfSuccess(staticChance, 100, 100)), 100);
+            }
+
+            return checkRandomChanceExecutionSuccess(new RandomChanceSkillStatic(staticChance, player, subSkillType));
         } catch (InvalidStaticChance invalidStaticChance) {
             //Catch invalid static skills
             invalidStaticChance.printStackTrace();
@@ -314,12 +369,23 @@ public class RandomChanceUtil {
     }
 
     public static double addLuck(@NotNull Player player, @NotNull PrimarySkillType primarySkillType, double chance) {
-        if (Permissions.lucky(player, primarySkillType))
+        if (isLucky(player, primarySkillType))
             return chance * LUCKY_MODIFIER;
         else
             return chance;
     }
 
+    /**
+     * Whether a player has the lucky perk for a skill, cached per player when their profile is loaded
+     *
+     * @param player target player
+     * @param primarySkillType target skill
+     * @return true if the player is lucky for that skill
+     */
+    public static boolean isLucky(@NotNull Player player, @NotNull PrimarySkillType primarySkillType) {
+        return Permissions.lucky(player, primarySkillType);
+    }
+
     public static double addLuck(boolean isLucky, double chance) {
         if (isLucky)
             return chance * LUCKY_MODIFIER;
@@ -0,0 +1,45 @@
+package com.gmail.nossr50.util.scheduler;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cheap timer that runs on the {@link TickWheel} instead of the Bukkit scheduler
+ * The task is its own handle, it can be cancelled or rescheduled any number of times without allocating
+ */
+public abstract class TickTask implements Runnable {
+    //Managed by the wheel that owns this task
+    @Nullable TickWheel wheel;
+    @Nullable TickTask prev;
+    @Nullable TickTask next;
+    int bucket = -1;
+    long deadline;
+    long period;
+
+    /**
+     * Moves this task so it runs after the given delay, keeping its period
+     * The task must have been scheduled on a wheel at least once
+     *
+     * @param delay delay in ticks, values below 1 run on the next tick
+     */
+    public void reschedule(long delay) {
+        if (wheel == null)
+            throw new IllegalStateException("Task was never scheduled");
+
+        wheel.schedule(this, delay, period);
+    }
+
+    /**
+     * Stops this task from running, does nothing if it is not scheduled
+     */
+    public void cancel() {
+        if (wheel != null)
+            wheel.cancel(this);
+    }
+
+    /**
+     * @return true if this task is waiting to run
+     */
+    public boolean isScheduled() {
+        return bucket != -1;
+    }
+}
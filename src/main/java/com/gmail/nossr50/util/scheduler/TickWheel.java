@@ -0,0 +1,260 @@
+package com.gmail.nossr50.util.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+
+/**
+ * Hierarchical timing wheel for the many short lived per player timers (ability cooldowns, tool lowering, scoreboard reverts...)
+ * A single repeating Bukkit task drives every timer, scheduling and cancelling is O(1) and never touches the Bukkit scheduler
+ * Timers close to expiring sit in the first level, later ones sit in coarser levels and cascade down as time passes
+ * Must only be used from the main thread
+ */
+public class TickWheel {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (WHEEL_BITS * LEVELS)) - 1; //About 9.7 days, longer timers are parked and re-added
+
+    private final TickTask[] buckets = new TickTask[WHEEL_SIZE * LEVELS];
+    private long currentTick;
+    private int size;
+    private BukkitRunnable driver;
+
+    /**
+     * Starts driving this wheel from a repeating task
+     *
+     * @param plugin the plugin owning the driver task
+     */
+    public void start(@NotNull Plugin plugin) {
+        if (driver != null)
+            return;
+
+        driver = new BukkitRunnable() {
+            @Override
+            public void run() {
+                advance(plugin);
+            }
+        };
+        driver.runTaskTimer(plugin, 1, 1);
+    }
+
+    /**
+     * Stops the driver task and drops every pending timer
+     */
+    public void stop() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            TickTask task = buckets[i];
+
+            while (task != null) {
+                TickTask next = task.next;
+                task.prev = task.next = null;
+                task.bucket = -1;
+                task = next;
+            }
+
+            buckets[i] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Schedules a task to run once, replacing any previous schedule of that task
+     *
+     * @param task the task to schedule
+     * @param delay delay in ticks, values below 1 run on the next tick
+     * @return the task
+     */
+    public <T extends TickTask> @NotNull T schedule(@NotNull T task, long delay) {
+        return schedule(task, delay, 0);
+    }
+
+    /**
+     * Schedules a task, replacing any previous schedule of that task
+     *
+     * @param task the task to schedule
+     * @param delay delay in ticks before the first run, values below 1 run on the next tick
+     * @param period ticks between runs, 0 or less to only run once
+     * @return the task
+     */
+    public <T extends TickTask> @NotNull T schedule(@NotNull T task, long delay, long period) {
+        if (task.wheel != null && task.wheel != this)
+            task.wheel.cancel(task);
+        else if (task.isScheduled())
+            unlink(task);
+
+        task.wheel = this;
+        task.period = Math.max(period, 0);
+        task.deadline = currentTick + Math.max(delay, 1);
+        link(task);
+        return task;
+    }
+
+    /**
+     * Schedules a plain runnable to run once
+     *
+     * @param runnable the code to run
+     * @param delay delay in ticks, values below 1 run on the next tick
+     * @return a handle to cancel or reschedule the timer
+     */
+    public @NotNull TickTask schedule(@NotNull Runnable runnable, long delay) {
+        return schedule(wrap(runnable), delay, 0);
+    }
+
+    /**
+     * Schedules a plain runnable to run repeatedly
+     *
+     * @param runnable the code to run
+     * @param delay delay in ticks before the first run
+     * @param period ticks between runs
+     * @return a handle to cancel or reschedule the timer
+     */
+    public @NotNull TickTask scheduleRepeating(@NotNull Runnable runnable, long delay, long period) {
+        return schedule(wrap(runnable), delay, Math.max(period, 1));
+    }
+
+    /**
+     * Cancels a task, does nothing if it is not scheduled on this wheel
+     *
+     * @param task the task to cancel
+     */
+    public void cancel(@NotNull TickTask task) {
+        if (task.wheel == this && task.isScheduled())
+            unlink(task);
+    }
+
+    /**
+     * @return the number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves the wheel forward by one tick and runs every timer that expired
+     * Called by the driver task, exposed for tests
+     *
+     * @param plugin plugin used to log timers that throw, may be null to rethrow instead
+     */
+    void advance(@Nullable Plugin plugin) {
+        long now = ++currentTick;
+        int index = (int) (now & WHEEL_MASK);
+
+        //Each time a level wraps around, pull the next slot of the level above down into finer slots
+        for (int level = 1; index == 0 && level < LEVELS; level++) {
+            index = (int) ((now >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+            cascade(level, index);
+        }
+
+        int bucket = (int) (now & WHEEL_MASK);
+        TickTask task;
+
+        while ((task = buckets[bucket]) != null) {
+            unlink(task);
+
+            //Timers longer than the wheel can hold get parked, put them back until they are really due
+            if (task.deadline > now) {
+                link(task);
+                continue;
+            }
+
+            //Re-add repeating tasks first so they can cancel themselves while running
+            if (task.period > 0) {
+                task.deadline = now + task.period;
+                link(task);
+            }
+
+            try {
+                task.run();
+            }
+            catch (RuntimeException e) {
+                if (plugin == null)
+                    throw e;
+
+                plugin.getLogger().log(Level.SEVERE, "Timer " + task.getClass().getName() + " threw an exception", e);
+            }
+        }
+    }
+
+    private void cascade(int level, int index) {
+        int bucket = level * WHEEL_SIZE + index;
+        TickTask task = buckets[bucket];
+        buckets[bucket] = null;
+
+        while (task != null) {
+            TickTask next = task.next;
+            task.prev = task.next = null;
+            task.bucket = -1;
+            size--;
+            link(task);
+            task = next;
+        }
+    }
+
+    private void link(TickTask task) {
+        long delta = task.deadline - currentTick;
+        long expires = task.deadline;
+        int bucket;
+
+        if (delta < 0) {
+            bucket = (int) (currentTick & WHEEL_MASK);
+        }
+        else {
+            if (delta > MAX_DELAY) {
+                delta = MAX_DELAY;
+                expires = currentTick + MAX_DELAY;
+            }
+
+            int level = 0;
+
+            while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1)))
+                level++;
+
+            bucket = level * WHEEL_SIZE + (int) ((expires >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        }
+
+        TickTask head = buckets[bucket];
+        task.prev = null;
+        task.next = head;
+
+        if (head != null)
+            head.prev = task;
+
+        buckets[bucket] = task;
+        task.bucket = bucket;
+        size++;
+    }
+
+    private void unlink(TickTask task) {
+        if (task.prev != null)
+            task.prev.next = task.next;
+        else
+            buckets[task.bucket] = task.next;
+
+        if (task.next != null)
+            task.next.prev = task.prev;
+
+        task.prev = task.next = null;
+        task.bucket = -1;
+        size--;
+    }
+
+    private static TickTask wrap(Runnable runnable) {
+        return new TickTask() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+        };
+    }
+}
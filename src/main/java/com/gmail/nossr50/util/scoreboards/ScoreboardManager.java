@@ -136,7 +136,7 @@ public class ScoreboardManager {
         abilityLabelsSkill = abilityLabelSkillBuilder.build();
     }
 
-    private static final List<String> dirtyPowerLevels = new ArrayList<>();
+    private static final Set<String> dirtyPowerLevels = new LinkedHashSet<>();
 
     public enum SidebarType {
         NONE,
@@ -238,12 +238,12 @@ public class ScoreboardManager {
             String playerName = player.getName();
 
             for (ScoreboardWrapper iWrapper : PLAYER_SCOREBOARDS.values()) {
-                if (iWrapper.isStatsScoreboard() && playerName.equals(iWrapper.targetPlayer) && wrapper.isBoardShown()) {
-                    wrapper.doSidebarUpdateSoon();
+                if (iWrapper.isStatsScoreboard() && playerName.equals(iWrapper.targetPlayer) && iWrapper.isBoardShown()) {
+                    iWrapper.doSidebarUpdateSoon();
                 }
             }
 
-            if (mcMMO.p.getGeneralConfig().getPowerLevelTagsEnabled() && !dirtyPowerLevels.contains(playerName)) {
+            if (mcMMO.p.getGeneralConfig().getPowerLevelTagsEnabled()) {
                 dirtyPowerLevels.add(playerName);
             }
 
@@ -486,6 +486,13 @@ public class ScoreboardManager {
             return false; // indicates
         }
 
+        if (dirtyPowerLevels.isEmpty()) {
+            return true;
+        }
+
+        // Resolve every changed power level once, then hand the whole batch to each board
+        Map<String, Integer> changedPowerLevels = new HashMap<>();
+
         for (String playerName : dirtyPowerLevels) {
             McMMOPlayer mcMMOPlayer = UserManager.getPlayer(playerName);
 
@@ -493,17 +500,20 @@ public class ScoreboardManager {
                 continue;
             }
 
-            Player player = mcMMOPlayer.getPlayer();
             int power = mcMMOPlayer.getPowerLevel();
 
             mainObjective.getScore(playerName).setScore(power);
+            changedPowerLevels.put(playerName, power);
+        }
 
+        dirtyPowerLevels.clear();
+
+        if (!changedPowerLevels.isEmpty()) {
             for (ScoreboardWrapper wrapper : PLAYER_SCOREBOARDS.values()) {
-                wrapper.updatePowerLevel(player, power);
+                wrapper.updatePowerLevels(changedPowerLevels);
             }
         }
 
-        dirtyPowerLevels.clear();
         return true;
     }
 
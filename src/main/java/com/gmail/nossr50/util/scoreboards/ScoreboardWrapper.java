@@ -15,20 +15,19 @@ import com.gmail.nossr50.skills.child.FamilyTree;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.scheduler.TickTask;
 import com.gmail.nossr50.util.scoreboards.ScoreboardManager.SidebarType;
 import com.gmail.nossr50.util.skills.SkillTools;
 import org.apache.commons.lang.Validate;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +54,10 @@ public class ScoreboardWrapper {
     public int leaderboardPage = -1;
     private boolean registered = false;
 
+    // Last score sent for each entry, so unchanged lines don't get sent again
+    private final Map<String, Integer> sidebarScores = new HashMap<>();
+    private final Map<String, Integer> powerScores = new HashMap<>();
+
     public ScoreboardWrapper(Player player, Scoreboard scoreboard) {
         this.player = player;
         this.playerName = player.getName();
@@ -75,19 +78,22 @@ public class ScoreboardWrapper {
             registered = true;
         }
 
+        sidebarScores.clear();
+        powerScores.clear();
+
         if (mcMMO.p.getGeneralConfig().getPowerLevelTagsEnabled()) {
             powerObjective.setDisplayName(ScoreboardManager.TAG_POWER_LEVEL);
             powerObjective.setDisplaySlot(DisplaySlot.BELOW_NAME);
 
             for (McMMOPlayer mcMMOPlayer : UserManager.getPlayers()) {
-                powerObjective.getScore(mcMMOPlayer.getProfile().getPlayerName()).setScore(mcMMOPlayer.getPowerLevel());
+                setPowerScore(mcMMOPlayer.getProfile().getPlayerName(), mcMMOPlayer.getPowerLevel());
             }
         }
     }
 
-    public BukkitTask updateTask = null;
+    public TickTask updateTask = null;
 
-    private class ScoreboardQuickUpdate extends BukkitRunnable {
+    private class ScoreboardQuickUpdate extends TickTask {
         @Override
         public void run() {
             updateSidebar();
@@ -95,9 +101,9 @@ public class ScoreboardWrapper {
         }
     }
 
-    public BukkitTask revertTask = null;
+    public TickTask revertTask = null;
 
-    private class ScoreboardChangeTask extends BukkitRunnable {
+    private class ScoreboardChangeTask extends TickTask {
         @Override
         public void run() {
             tryRevertBoard();
@@ -105,9 +111,9 @@ public class ScoreboardWrapper {
         }
     }
 
-    public BukkitTask cooldownTask = null;
+    public TickTask cooldownTask = null;
 
-    private class ScoreboardCooldownTask extends BukkitRunnable {
+    private class ScoreboardCooldownTask extends TickTask {
         @Override
         public void run() {
             // Stop updating if it's no longer something displaying cooldowns
@@ -124,7 +130,7 @@ public class ScoreboardWrapper {
     public void doSidebarUpdateSoon() {
         if (updateTask == null) {
             // To avoid spamming the scheduler, store the instance and run 2 ticks later
-            updateTask = new ScoreboardQuickUpdate().runTaskLater(mcMMO.p, 2L);
+            updateTask = mcMMO.getTickWheel().schedule(new ScoreboardQuickUpdate(), 2L);
         }
     }
 
@@ -132,7 +138,7 @@ public class ScoreboardWrapper {
         if (cooldownTask == null) {
             // Repeat every 5 seconds.
             // Cancels once all cooldowns are done, using stopCooldownUpdating().
-            cooldownTask = new ScoreboardCooldownTask().runTaskTimer(mcMMO.p, 5 * Misc.TICK_CONVERSION_FACTOR, 5 * Misc.TICK_CONVERSION_FACTOR);
+            cooldownTask = mcMMO.getTickWheel().schedule(new ScoreboardCooldownTask(), 5 * Misc.TICK_CONVERSION_FACTOR, 5 * Misc.TICK_CONVERSION_FACTOR);
         }
     }
 
@@ -215,7 +221,7 @@ public class ScoreboardWrapper {
         }
 
         player.setScoreboard(scoreboard);
-        revertTask = new ScoreboardChangeTask().runTaskLater(mcMMO.p, ticks);
+        revertTask = mcMMO.getTickWheel().schedule(new ScoreboardChangeTask(), ticks);
 
         // TODO is there any way to do the time that looks acceptable?
         // player.sendMessage(LocaleLoader.getString("Commands.Scoreboard.Timer", StringUtils.capitalize(sidebarType.toString().toLowerCase(Locale.ENGLISH)), ticks / 20F));
@@ -434,6 +440,9 @@ public class ScoreboardWrapper {
         if(!registerEvent.isCancelled())
             sidebarObjective = registerEvent.getTargetBoard().registerNewObjective(ScoreboardManager.SIDEBAR_OBJECTIVE, "dummy", SIDE_OBJECTIVE);
 
+        //Either a fresh objective or a different board type, nothing sent so far can be trusted
+        sidebarScores.clear();
+
         if (displayName.length() > 32) {
             displayName = displayName.substring(0, 32);
         }
@@ -492,38 +501,35 @@ public class ScoreboardWrapper {
                 if (!SkillTools.isChildSkill(targetSkill)) {
                     int currentXP = mcMMOPlayer.getSkillXpLevel(targetSkill);
 
-                    sidebarObjective.getScore(ScoreboardManager.LABEL_CURRENT_XP).setScore(currentXP);
-                    sidebarObjective.getScore(ScoreboardManager.LABEL_REMAINING_XP).setScore(mcMMOPlayer.getXpToLevel(targetSkill) - currentXP);
+                    setSidebarScore(ScoreboardManager.LABEL_CURRENT_XP, currentXP);
+                    setSidebarScore(ScoreboardManager.LABEL_REMAINING_XP, mcMMOPlayer.getXpToLevel(targetSkill) - currentXP);
                 }
                 else {
                     for (PrimarySkillType parentSkill : FamilyTree.getParents(targetSkill)) {
-                        sidebarObjective.getScore(ScoreboardManager.skillLabels.get(parentSkill)).setScore(mcMMOPlayer.getSkillLevel(parentSkill));
+                        setSidebarScore(ScoreboardManager.skillLabels.get(parentSkill), mcMMOPlayer.getSkillLevel(parentSkill));
                     }
                 }
 
-                sidebarObjective.getScore(ScoreboardManager.LABEL_LEVEL).setScore(mcMMOPlayer.getSkillLevel(targetSkill));
+                setSidebarScore(ScoreboardManager.LABEL_LEVEL, mcMMOPlayer.getSkillLevel(targetSkill));
 
                 if (mcMMO.p.getSkillTools().getSuperAbility(targetSkill) != null) {
                     boolean stopUpdating;
 
                     if (targetSkill == PrimarySkillType.MINING) {
                         // Special-Case: Mining has two abilities, both with cooldowns
-                        Score cooldownSB = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.SUPER_BREAKER));
-                        Score cooldownBM = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.BLAST_MINING));
                         int secondsSB = Math.max(mcMMOPlayer.calculateTimeRemaining(SuperAbilityType.SUPER_BREAKER), 0);
                         int secondsBM = Math.max(mcMMOPlayer.calculateTimeRemaining(SuperAbilityType.BLAST_MINING), 0);
 
-                        cooldownSB.setScore(secondsSB);
-                        cooldownBM.setScore(secondsBM);
+                        setSidebarScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.SUPER_BREAKER), secondsSB);
+                        setSidebarScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.BLAST_MINING), secondsBM);
 
                         stopUpdating = (secondsSB == 0 && secondsBM == 0);
                     }
                     else {
                         SuperAbilityType ability = mcMMO.p.getSkillTools().getSuperAbility(targetSkill);
-                        Score cooldown = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(ability));
                         int seconds = Math.max(mcMMOPlayer.calculateTimeRemaining(ability), 0);
 
-                        cooldown.setScore(seconds);
+                        setSidebarScore(ScoreboardManager.abilityLabelsSkill.get(ability), seconds);
 
                         stopUpdating = seconds == 0;
                     }
@@ -547,7 +553,7 @@ public class ScoreboardWrapper {
                         anyCooldownsActive = true;
                     }
 
-                    sidebarObjective.getScore(ScoreboardManager.abilityLabelsColored.get(ability)).setScore(seconds);
+                    setSidebarScore(ScoreboardManager.abilityLabelsColored.get(ability), seconds);
                 }
 
                 if (anyCooldownsActive) {
@@ -584,10 +590,10 @@ public class ScoreboardWrapper {
                         continue;
                     }
 
-                    sidebarObjective.getScore(ScoreboardManager.skillLabels.get(skill)).setScore(level);
+                    setSidebarScore(ScoreboardManager.skillLabels.get(skill), level);
                 }
 
-                sidebarObjective.getScore(ScoreboardManager.LABEL_POWER_LEVEL).setScore(powerLevel);
+                setSidebarScore(ScoreboardManager.LABEL_POWER_LEVEL, powerLevel);
                 break;
 
             case RANK_BOARD:
@@ -615,14 +621,14 @@ public class ScoreboardWrapper {
             rank = rankData.get(skill);
 
             if (rank != null) {
-                sidebarObjective.getScore(ScoreboardManager.skillLabels.get(skill)).setScore(rank);
+                setSidebarScore(ScoreboardManager.skillLabels.get(skill), rank);
             }
         }
 
         rank = rankData.get(null);
 
         if (rank != null) {
-            sidebarObjective.getScore(ScoreboardManager.LABEL_POWER_LEVEL).setScore(rank);
+            setSidebarScore(ScoreboardManager.LABEL_POWER_LEVEL, rank);
         }
     }
 
@@ -634,11 +640,41 @@ public class ScoreboardWrapper {
                 name = ChatColor.GOLD + "--You--";
             }
 
-            sidebarObjective.getScore(name).setScore(stat.statVal);
+            setSidebarScore(name, stat.statVal);
         }
     }
 
     public void updatePowerLevel(Player player, int newPowerLevel) {
-        powerObjective.getScore(player.getName()).setScore(newPowerLevel);
+        setPowerScore(player.getName(), newPowerLevel);
+    }
+
+    /**
+     * Apply a batch of power level changes to this board
+     *
+     * @param powerLevels player names mapped to their new power level
+     */
+    public void updatePowerLevels(Map<String, Integer> powerLevels) {
+        for (Map.Entry<String, Integer> entry : powerLevels.entrySet()) {
+            setPowerScore(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Set a line on the sidebar, only sending it to the client if its score changed
+     */
+    private void setSidebarScore(String entry, int score) {
+        Integer previousScore = sidebarScores.put(entry, score);
+
+        if (previousScore == null || previousScore != score) {
+            sidebarObjective.getScore(entry).setScore(score);
+        }
+    }
+
+    private void setPowerScore(String entry, int score) {
+        Integer previousScore = powerScores.put(entry, score);
+
+        if (previousScore == null || previousScore != score) {
+            powerObjective.getScore(entry).setScore(score);
+        }
     }
 }
@@ -0,0 +1,194 @@
+package com.gmail.nossr50.util.skills;
+
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.ItemUtils;
+import com.gmail.nossr50.util.player.UserManager;
+import org.bukkit.Material;
+import org.bukkit.entity.*;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.projectiles.ProjectileSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+
+/**
+ * Everything the combat pipeline needs to know about a single damage event, resolved once when the event comes in
+ * Skill handlers read the attacker, their held item and their permissions from here instead of looking them up again
+ * Must only be used from the main thread
+ */
+public final class CombatContext {
+    //Held item classes only change with the general config, so they are resolved once per material until it is reloaded
+    private static final @NotNull EnumMap<Material, HeldItemType> HELD_ITEM_TYPES = new EnumMap<>(Material.class);
+
+    private final @NotNull EntityDamageByEntityEvent event;
+    private final @NotNull Entity painSource;
+    private final @NotNull Entity painSourceRoot;
+    private final @NotNull LivingEntity target;
+    private final boolean pvp;
+
+    private final @Nullable Player attacker;
+    private final @Nullable McMMOPlayer mcMMOAttacker;
+    private final @Nullable ItemStack heldItem;
+    private final @NotNull HeldItemType heldItemType;
+
+    //Bits indexed by PrimarySkillType ordinal
+    private int checkedPermissions;
+    private int grantedPermissions;
+
+    public CombatContext(@NotNull EntityDamageByEntityEvent event, @NotNull Entity painSourceRoot, @NotNull LivingEntity target) {
+        this.event = event;
+        this.painSource = event.getDamager();
+        this.painSourceRoot = painSourceRoot;
+        this.target = target;
+        this.pvp = target instanceof Player || (target instanceof Tameable && ((Tameable) target).isTamed());
+
+        attacker = resolveAttacker(painSource);
+        mcMMOAttacker = attacker == null ? null : UserManager.getPlayer(attacker);
+
+        if (painSource instanceof Player) {
+            heldItem = ((Player) painSource).getInventory().getItemInMainHand();
+            heldItemType = getHeldItemType(heldItem);
+        } else {
+            heldItem = null;
+            heldItemType = HeldItemType.OTHER;
+        }
+    }
+
+    /**
+     * The player responsible for the damage, either directly, through an arrow they shot or through their wolf
+     */
+    private static @Nullable Player resolveAttacker(@NotNull Entity painSource) {
+        if (painSource instanceof Player)
+            return (Player) painSource;
+
+        if (painSource instanceof Wolf) {
+            AnimalTamer tamer = ((Wolf) painSource).getOwner();
+            return tamer instanceof Player ? (Player) tamer : null;
+        }
+
+        if (painSource instanceof Projectile) {
+            ProjectileSource shooter = ((Projectile) painSource).getShooter();
+            return shooter instanceof Player ? (Player) shooter : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Classifies an item the same way as {@link ItemUtils#isSword(ItemStack)}, {@link ItemUtils#isAxe(ItemStack)} and {@link ItemUtils#isUnarmed(ItemStack)}, in that order
+     *
+     * @param itemStack target item
+     * @return the combat class of the item
+     */
+    public static @NotNull HeldItemType getHeldItemType(@NotNull ItemStack itemStack) {
+        HeldItemType heldItemType = HELD_ITEM_TYPES.get(itemStack.getType());
+
+        if (heldItemType == null) {
+            if (ItemUtils.isSword(itemStack)) {
+                heldItemType = HeldItemType.SWORD;
+            } else if (ItemUtils.isAxe(itemStack)) {
+                heldItemType = HeldItemType.AXE;
+            } else if (ItemUtils.isUnarmed(itemStack)) {
+                heldItemType = HeldItemType.UNARMED;
+            } else {
+                heldItemType = HeldItemType.OTHER;
+            }
+
+            HELD_ITEM_TYPES.put(itemStack.getType(), heldItemType);
+        }
+
+        return heldItemType;
+    }
+
+    /**
+     * Forgets every resolved held item class, see {@link SkillTools#reloadCombatSettings()}
+     */
+    static void clearHeldItemTypes() {
+        HELD_ITEM_TYPES.clear();
+    }
+
+    public @NotNull EntityDamageByEntityEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the entity that directly dealt the damage
+     */
+    public @NotNull Entity getPainSource() {
+        return painSource;
+    }
+
+    /**
+     * @return the entity that dealt the damage, or the living entity that shot it when it was a projectile
+     */
+    public @NotNull Entity getPainSourceRoot() {
+        return painSourceRoot;
+    }
+
+    public @NotNull LivingEntity getTarget() {
+        return target;
+    }
+
+    public @Nullable Player getAttacker() {
+        return attacker;
+    }
+
+    /**
+     * @return the profile of the attacker, null if there is no attacking player or their profile is not loaded
+     */
+    public @Nullable McMMOPlayer getMcMMOAttacker() {
+        return mcMMOAttacker;
+    }
+
+    /**
+     * @return the item in the main hand of a player dealing melee damage, null for any other damage
+     */
+    public @Nullable ItemStack getHeldItem() {
+        return heldItem;
+    }
+
+    public @NotNull HeldItemType getHeldItemType() {
+        return heldItemType;
+    }
+
+    /**
+     * Same as {@link SkillTools#canCombatSkillsTrigger(PrimarySkillType, Entity)} for the target of this event
+     */
+    public boolean canCombatSkillsTrigger(@NotNull PrimarySkillType primarySkillType) {
+        SkillTools skillTools = mcMMO.p.getSkillTools();
+        return pvp ? skillTools.getPVPEnabled(primarySkillType) : skillTools.getPVEEnabled(primarySkillType);
+    }
+
+    /**
+     * Whether the attacker has the permission to use a skill, checked at most once per skill for this event
+     *
+     * @param primarySkillType target skill
+     * @return true if there is an attacker and they have the permission
+     */
+    public boolean hasSkillPermission(@NotNull PrimarySkillType primarySkillType) {
+        if (attacker == null)
+            return false;
+
+        int bit = 1 << primarySkillType.ordinal();
+
+        if ((checkedPermissions & bit) == 0) {
+            checkedPermissions |= bit;
+
+            if (mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(attacker, primarySkillType))
+                grantedPermissions |= bit;
+        }
+
+        return (grantedPermissions & bit) != 0;
+    }
+
+    public enum HeldItemType {
+        SWORD,
+        AXE,
+        UNARMED,
+        OTHER
+    }
+}
@@ -3,7 +3,7 @@ package com.gmail.nossr50.util.skills;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.experience.XPGainReason;
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
-import com.gmail.nossr50.datatypes.meta.OldName;
+import com.gmail.nossr50.datatypes.meta.TransientEntityState;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
@@ -35,21 +35,39 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.event.entity.EntityDamageEvent.DamageModifier;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.MetadataValue;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.projectiles.ProjectileSource;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public final class CombatUtils {
 
+    //Handlers for each type of entity that directly deals the damage, damagers without skills have no entry
+    private static final @NotNull EnumMap<EntityType, CombatHandler> DAMAGER_HANDLERS = new EnumMap<>(EntityType.class);
+    //Handlers for player melee attacks by the class of the held item
+    private static final @NotNull EnumMap<CombatContext.HeldItemType, CombatHandler> MELEE_HANDLERS = new EnumMap<>(CombatContext.HeldItemType.class);
+
+    static {
+        DAMAGER_HANDLERS.put(EntityType.PLAYER, CombatUtils::processPlayerAttack);
+        DAMAGER_HANDLERS.put(EntityType.WOLF, CombatUtils::processWolfAttack);
+        DAMAGER_HANDLERS.put(EntityType.ARROW, CombatUtils::processArrowAttack);
+        DAMAGER_HANDLERS.put(EntityType.SPECTRAL_ARROW, CombatUtils::processArrowAttack);
+
+        MELEE_HANDLERS.put(CombatContext.HeldItemType.SWORD, meleeSkill(PrimarySkillType.SWORDS, CombatUtils::processSwordCombat));
+        MELEE_HANDLERS.put(CombatContext.HeldItemType.AXE, meleeSkill(PrimarySkillType.AXES, CombatUtils::processAxeCombat));
+        MELEE_HANDLERS.put(CombatContext.HeldItemType.UNARMED, meleeSkill(PrimarySkillType.UNARMED, CombatUtils::processUnarmedCombat));
+    }
+
     private CombatUtils() {}
 
+    @FunctionalInterface
+    private interface CombatHandler {
+        void handle(@NotNull CombatContext context);
+    }
+
     private static @NotNull AbstractPersistentDataLayer getPersistentData() {
         return mcMMO.getCompatibilityManager().getPersistentDataLayer();
     }
@@ -70,15 +88,19 @@ public final class CombatUtils {
         return livingEntity.hasPotionEffect(PotionEffectType.WEAKNESS);
     }
 
-    private static void processSwordCombat(@NotNull LivingEntity target, @NotNull Player player, @NotNull EntityDamageByEntityEvent event) {
+    private static void processSwordCombat(@NotNull CombatContext context) {
+        EntityDamageByEntityEvent event = context.getEvent();
+
         if (event.getCause() == DamageCause.THORNS) {
             return;
         }
 
-        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+        LivingEntity target = context.getTarget();
+        Player player = context.getAttacker();
+        McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
         //Make sure the profiles been loaded
-        if(mcMMOPlayer == null) {
+        if(player == null || mcMMOPlayer == null) {
             return;
         }
 
@@ -129,22 +151,26 @@ public final class CombatUtils {
         }
     }
 
-    private static void processAxeCombat(@NotNull LivingEntity target, @NotNull Player player, @NotNull EntityDamageByEntityEvent event) {
+    private static void processAxeCombat(@NotNull CombatContext context) {
+        EntityDamageByEntityEvent event = context.getEvent();
+
         if (event.getCause() == DamageCause.THORNS) {
             return;
         }
-        
-        double initialDamage = event.getDamage();
-        double finalDamage = initialDamage;
-        Map<DamageModifier, Double> modifiers = getModifiers(event);
 
-        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+        LivingEntity target = context.getTarget();
+        Player player = context.getAttacker();
+        McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
         //Make sure the profiles been loaded
-        if(mcMMOPlayer == null) {
+        if(player == null || mcMMOPlayer == null) {
             return;
         }
 
+        double initialDamage = event.getDamage();
+        double finalDamage = initialDamage;
+        Map<DamageModifier, Double> modifiers = getModifiers(event);
+
         AxesManager axesManager = mcMMOPlayer.getAxesManager();
 
         if (axesManager.canActivateAbility()) {
@@ -181,21 +207,25 @@ public final class CombatUtils {
         printFinalDamageDebug(player, event, mcMMOPlayer);
     }
 
-    private static void processUnarmedCombat(@NotNull LivingEntity target, @NotNull Player player, @NotNull EntityDamageByEntityEvent event) {
+    private static void processUnarmedCombat(@NotNull CombatContext context) {
+        EntityDamageByEntityEvent event = context.getEvent();
+
         if (event.getCause() == DamageCause.THORNS) {
             return;
         }
 
-        double initialDamage = event.getDamage();
-        double finalDamage = initialDamage;
-
-        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+        LivingEntity target = context.getTarget();
+        Player player = context.getAttacker();
+        McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
         //Make sure the profiles been loaded
-        if(mcMMOPlayer == null) {
+        if(player == null || mcMMOPlayer == null) {
             return;
         }
 
+        double initialDamage = event.getDamage();
+        double finalDamage = initialDamage;
+
         UnarmedManager unarmedManager = mcMMOPlayer.getUnarmedManager();
 
         if (unarmedManager.canActivateAbility()) {
@@ -225,12 +255,15 @@ public final class CombatUtils {
         printFinalDamageDebug(player, event, mcMMOPlayer);
     }
 
-    private static void processTamingCombat(@NotNull LivingEntity target, @Nullable Player master, @NotNull Wolf wolf, @NotNull EntityDamageByEntityEvent event) {
+    private static void processTamingCombat(@NotNull CombatContext context, @NotNull Wolf wolf) {
+        EntityDamageByEntityEvent event = context.getEvent();
+        LivingEntity target = context.getTarget();
+        Player master = context.getAttacker();
         double initialDamage = event.getDamage();
         double finalDamage = initialDamage;
 
         if(master != null && master.isOnline() && master.isValid()) {
-            McMMOPlayer mcMMOPlayer = UserManager.getPlayer(master);
+            McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
             //Make sure the profiles been loaded
             if(mcMMOPlayer == null) {
@@ -259,13 +292,16 @@ public final class CombatUtils {
 
     }
 
-    private static void processArcheryCombat(@NotNull LivingEntity target, @NotNull Player player, @NotNull EntityDamageByEntityEvent event, @NotNull Projectile arrow) {
+    private static void processArcheryCombat(@NotNull CombatContext context, @NotNull Projectile arrow) {
+        EntityDamageByEntityEvent event = context.getEvent();
+        LivingEntity target = context.getTarget();
+        Player player = context.getAttacker();
         double initialDamage = event.getDamage();
 
-        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+        McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
         //Make sure the profiles been loaded
-        if(mcMMOPlayer == null) {
+        if(player == null || mcMMOPlayer == null) {
             cleanupArrowMetadata(arrow);
             return;
         }
@@ -283,7 +319,9 @@ public final class CombatUtils {
             finalDamage+=archeryManager.daze((Player) target); //the cast is checked by the if condition
         }
 
-        if (!arrow.hasMetadata(MetadataConstants.METADATA_KEY_INF_ARROW) && archeryManager.canRetrieveArrows()) {
+        TransientEntityState arrowState = mcMMO.getTransientEntityStore().get(arrow);
+
+        if ((arrowState == null || !arrowState.isInfiniteArrow()) && archeryManager.canRetrieveArrows()) {
             archeryManager.retrieveArrows(target, arrow);
         }
 
@@ -295,8 +333,8 @@ public final class CombatUtils {
         double distanceMultiplier = archeryManager.distanceXpBonusMultiplier(target, arrow);
         double forceMultiplier = 1.0; //Hacky Fix - some plugins spawn arrows and assign them to players after the ProjectileLaunchEvent fires
 
-        if(arrow.hasMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE))
-            forceMultiplier = arrow.getMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE).get(0).asDouble();
+        if(arrowState != null && arrowState.hasBowForce())
+            forceMultiplier = arrowState.getBowForce();
 
         applyScaledModifiers(initialDamage, finalDamage, event);
 
@@ -317,134 +355,139 @@ public final class CombatUtils {
      * @param event The event to run the combat checks on.
      */
     public static void processCombatAttack(@NotNull EntityDamageByEntityEvent event, @NotNull Entity painSourceRoot, @NotNull LivingEntity target) {
-        Entity painSource = event.getDamager();
-        EntityType entityType = painSource.getType();
+        CombatContext context = new CombatContext(event, painSourceRoot, target);
 
-        if (target instanceof Player) {
-            if(ExperienceConfig.getInstance().isNPCInteractionPrevented()) {
-                if (Misc.isNPCEntityExcludingVillagers(target)) {
-                    return;
-                }
-            }
+        if (target instanceof Player && !processDefenderCombat(context, (Player) target)) {
+            return;
+        }
 
-            Player player = (Player) target;
-            if (!UserManager.hasPlayerDataKey(player)) {
-                return;
-            }
+        CombatHandler combatHandler = DAMAGER_HANDLERS.get(context.getPainSource().getType());
 
-            McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
-            AcrobaticsManager acrobaticsManager = mcMMOPlayer.getAcrobaticsManager();
+        if (combatHandler != null) {
+            combatHandler.handle(context);
+        }
+    }
 
-            if (acrobaticsManager.canDodge(target)) {
-                event.setDamage(acrobaticsManager.dodgeCheck(painSourceRoot, event.getDamage()));
+    /**
+     * Skills of a player being hit
+     *
+     * @return false if the attack should not be processed any further
+     */
+    private static boolean processDefenderCombat(@NotNull CombatContext context, @NotNull Player player) {
+        if(ExperienceConfig.getInstance().isNPCInteractionPrevented()) {
+            if (Misc.isNPCEntityExcludingVillagers(player)) {
+                return false;
             }
+        }
 
-            if (ItemUtils.isSword(player.getInventory().getItemInMainHand())) {
-                if (!mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.SWORDS, target)) {
-                    return;
-                }
-
-                SwordsManager swordsManager = mcMMOPlayer.getSwordsManager();
+        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
 
-                if (swordsManager.canUseCounterAttack(painSource)) {
-                    swordsManager.counterAttackChecks((LivingEntity) painSource, event.getDamage());
-                }
-            }
+        if (mcMMOPlayer == null) {
+            return false;
         }
 
-        if (painSourceRoot instanceof Player && entityType == EntityType.PLAYER) {
-            Player player = (Player) painSourceRoot;
+        EntityDamageByEntityEvent event = context.getEvent();
+        AcrobaticsManager acrobaticsManager = mcMMOPlayer.getAcrobaticsManager();
 
-            if (!UserManager.hasPlayerDataKey(player)) {
-                return;
+        if (acrobaticsManager.canDodge(player)) {
+            event.setDamage(acrobaticsManager.dodgeCheck(context.getPainSourceRoot(), event.getDamage()));
+        }
+
+        if (CombatContext.getHeldItemType(player.getInventory().getItemInMainHand()) == CombatContext.HeldItemType.SWORD) {
+            if (!context.canCombatSkillsTrigger(PrimarySkillType.SWORDS)) {
+                return false;
             }
 
-            ItemStack heldItem = player.getInventory().getItemInMainHand();
+            SwordsManager swordsManager = mcMMOPlayer.getSwordsManager();
+            Entity painSource = context.getPainSource();
 
-            if (target instanceof Tameable) {
-                if (heldItem.getType() == Material.BONE) {
-                    TamingManager tamingManager = UserManager.getPlayer(player).getTamingManager();
+            if (swordsManager.canUseCounterAttack(painSource)) {
+                swordsManager.counterAttackChecks((LivingEntity) painSource, event.getDamage());
+            }
+        }
 
-                    if (tamingManager.canUseBeastLore()) {
-                        tamingManager.beastLore(target);
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
+        return true;
+    }
 
-                if (isFriendlyPet(player, (Tameable) target)) {
-                    return;
-                }
-            }
+    /**
+     * Melee attacks from a player, dispatched to the skill of the held item
+     */
+    private static void processPlayerAttack(@NotNull CombatContext context) {
+        Player player = context.getAttacker();
+        ItemStack heldItem = context.getHeldItem();
+        LivingEntity target = context.getTarget();
 
-            if (ItemUtils.isSword(heldItem)) {
-                if (!mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.SWORDS, target)) {
-                    return;
-                }
+        if (player == null || heldItem == null || context.getMcMMOAttacker() == null) {
+            return;
+        }
 
-                if (mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, PrimarySkillType.SWORDS)) {
-                    processSwordCombat(target, player, event);
+        if (target instanceof Tameable) {
+            if (heldItem.getType() == Material.BONE) {
+                TamingManager tamingManager = context.getMcMMOAttacker().getTamingManager();
 
-                }
-            }
-            else if (ItemUtils.isAxe(heldItem)) {
-                if (!mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.AXES, target)) {
+                if (tamingManager.canUseBeastLore()) {
+                    tamingManager.beastLore(target);
+                    context.getEvent().setCancelled(true);
                     return;
                 }
-
-                if (mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, PrimarySkillType.AXES)) {
-                    processAxeCombat(target, player, event);
-                }
             }
-            else if (ItemUtils.isUnarmed(heldItem)) {
-                if (!mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.UNARMED, target)) {
-                    return;
-                }
 
-                if (mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, PrimarySkillType.UNARMED)) {
-                    processUnarmedCombat(target, player, event);
-                }
+            if (isFriendlyPet(player, (Tameable) target)) {
+                return;
             }
         }
 
-        else if (entityType == EntityType.WOLF) {
-            Wolf wolf = (Wolf) painSource;
-            AnimalTamer tamer = wolf.getOwner();
+        CombatHandler combatHandler = MELEE_HANDLERS.get(context.getHeldItemType());
+
+        if (combatHandler != null) {
+            combatHandler.handle(context);
+        }
+    }
 
-            if (tamer instanceof Player && mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.TAMING, target)) {
-                Player master = (Player) tamer;
+    private static void processWolfAttack(@NotNull CombatContext context) {
+        Player master = context.getAttacker();
 
-                if (!Misc.isNPCEntityExcludingVillagers(master) && mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(master, PrimarySkillType.TAMING)) {
-                    processTamingCombat(target, master, wolf, event);
-                }
+        if (master != null && context.canCombatSkillsTrigger(PrimarySkillType.TAMING)) {
+            if (!Misc.isNPCEntityExcludingVillagers(master) && context.hasSkillPermission(PrimarySkillType.TAMING)) {
+                processTamingCombat(context, (Wolf) context.getPainSource());
             }
         }
-        else if (entityType == EntityType.ARROW || entityType == EntityType.SPECTRAL_ARROW) {
-            Projectile arrow = (Projectile) painSource;
-            ProjectileSource projectileSource = arrow.getShooter();
-
-            if (projectileSource instanceof Player && mcMMO.p.getSkillTools().canCombatSkillsTrigger(PrimarySkillType.ARCHERY, target)) {
-                Player player = (Player) projectileSource;
+    }
 
-                if (!Misc.isNPCEntityExcludingVillagers(player) && mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, PrimarySkillType.ARCHERY)) {
-                    processArcheryCombat(target, player, event, arrow);
-                } else {
-                    //Cleanup Arrow
-                    cleanupArrowMetadata(arrow);
-                }
+    private static void processArrowAttack(@NotNull CombatContext context) {
+        Projectile arrow = (Projectile) context.getPainSource();
+        Player player = context.getAttacker();
+        LivingEntity target = context.getTarget();
+
+        if (player != null && context.canCombatSkillsTrigger(PrimarySkillType.ARCHERY)) {
+            if (!Misc.isNPCEntityExcludingVillagers(player) && context.hasSkillPermission(PrimarySkillType.ARCHERY)) {
+                processArcheryCombat(context, arrow);
+            } else {
+                //Cleanup Arrow
+                cleanupArrowMetadata(arrow);
+            }
 
-                if (target.getType() != EntityType.CREEPER && !Misc.isNPCEntityExcludingVillagers(player) && mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, PrimarySkillType.TAMING)) {
-                    McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
+            if (target.getType() != EntityType.CREEPER && !Misc.isNPCEntityExcludingVillagers(player) && context.hasSkillPermission(PrimarySkillType.TAMING)) {
+                McMMOPlayer mcMMOPlayer = context.getMcMMOAttacker();
 
-                    if(mcMMOPlayer == null)
-                        return;
+                if(mcMMOPlayer == null)
+                    return;
 
-                    TamingManager tamingManager = mcMMOPlayer.getTamingManager();
-                    tamingManager.attackTarget(target);
-                }
+                TamingManager tamingManager = mcMMOPlayer.getTamingManager();
+                tamingManager.attackTarget(target);
             }
         }
+    }
 
+    /**
+     * Wraps a melee skill so it only runs when the skill can trigger against the target and the attacker has its permission
+     */
+    private static @NotNull CombatHandler meleeSkill(@NotNull PrimarySkillType primarySkillType, @NotNull CombatHandler combatHandler) {
+        return context -> {
+            if (context.canCombatSkillsTrigger(primarySkillType) && context.hasSkillPermission(primarySkillType)) {
+                combatHandler.handle(context);
+            }
+        };
     }
 
     /**
@@ -453,16 +496,7 @@ public final class CombatUtils {
      */
     public static void fixNames(@NotNull LivingEntity entity)
     {
-        List<MetadataValue> metadataValue = entity.getMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY);
-
-        if(metadataValue.size() <= 0)
-            return;
-
-        OldName oldName = (OldName) metadataValue.get(0);
-        entity.setCustomName(oldName.asString());
-        entity.setCustomNameVisible(false);
-
-        entity.removeMetadata(MetadataConstants.METADATA_KEY_OLD_NAME_KEY, mcMMO.p);
+        mcMMO.getMobHealthbarManager().restoreName(entity);
     }
 
     /**
@@ -634,15 +668,19 @@ public final class CombatUtils {
     }
 
     public static void removeIgnoreDamageMetadata(@NotNull LivingEntity target) {
-        target.removeMetadata(MetadataConstants.METADATA_KEY_CUSTOM_DAMAGE, mcMMO.p);
+        TransientEntityState targetState = mcMMO.getTransientEntityStore().get(target);
+
+        if(targetState != null) {
+            targetState.setCustomDamage(false);
+        }
     }
 
     public static void applyIgnoreDamageMetadata(@NotNull LivingEntity target) {
-        target.setMetadata(MetadataConstants.METADATA_KEY_CUSTOM_DAMAGE, MetadataConstants.MCMMO_METADATA_VALUE);
+        mcMMO.getTransientEntityStore().getOrCreate(target).setCustomDamage(true);
     }
 
     public static boolean hasIgnoreDamageMetadata(@NotNull LivingEntity target) {
-        return target.getMetadata(MetadataConstants.METADATA_KEY_CUSTOM_DAMAGE).size() != 0;
+        return mcMMO.getTransientEntityStore().isCustomDamage(target);
     }
 
     public static void dealNoInvulnerabilityTickDamageRupture(@NotNull LivingEntity target, double damage, Entity attacker, int toolTier) {
@@ -1049,7 +1087,7 @@ public final class CombatUtils {
             return;
         }
 
-        if (!player.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA)) {
+        if (!UserManager.hasPlayerDataKey(player)) {
             return;
         }
 
@@ -1066,30 +1104,12 @@ public final class CombatUtils {
     }
 
     /**
-     * Clean up metadata from a projectile
+     * Clean up transient state from a projectile
+     * Projectiles that never hit anything are collected along with their entity
      *
      * @param entity projectile
      */
     public static void cleanupArrowMetadata(@NotNull Projectile entity) {
-        if(entity.hasMetadata(MetadataConstants.METADATA_KEY_INF_ARROW)) {
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_INF_ARROW, mcMMO.p);
-        }
-
-        if(entity.hasMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE)) {
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_BOW_FORCE, mcMMO.p);
-        }
-
-        if(entity.hasMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE)) {
-            entity.removeMetadata(MetadataConstants.METADATA_KEY_ARROW_DISTANCE, mcMMO.p);
-        }
-    }
-
-    /**
-     * Clean up metadata from a projectile after a minute has passed
-     *
-     * @param entity the projectile
-     */
-    public static void delayArrowMetaCleanup(@NotNull Projectile entity) {
-        Bukkit.getServer().getScheduler().runTaskLater(mcMMO.p, () -> { cleanupArrowMetadata(entity);}, 20*60);
+        mcMMO.getTransientEntityStore().remove(entity);
     }
 }
@@ -48,7 +48,7 @@ public class RankUtils {
             {
                 SkillUnlockNotificationTask skillUnlockNotificationTask = new SkillUnlockNotificationTask(mcMMOPlayer, subSkillType, newLevel);
 
-                skillUnlockNotificationTask.runTaskLater(plugin, (count * 100));
+                mcMMO.getTickWheel().schedule(skillUnlockNotificationTask, (count * 100));
 
                 count++;
             }
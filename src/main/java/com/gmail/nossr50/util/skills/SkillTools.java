@@ -42,6 +42,10 @@ public class SkillTools {
     private final ImmutableMap<PrimarySkillType, SuperAbilityType> mainActivatedAbilityChildMap;
     private final ImmutableMap<PrimarySkillType, ToolType> primarySkillToolMap;
 
+    // Read on every combat event, so they are copied out of the general config by reloadCombatSettings()
+    private final @NotNull EnumSet<PrimarySkillType> pvpEnabledSkills = EnumSet.noneOf(PrimarySkillType.class);
+    private final @NotNull EnumSet<PrimarySkillType> pveEnabledSkills = EnumSet.noneOf(PrimarySkillType.class);
+
     static {
         ArrayList<PrimarySkillType> tempNonChildSkills = new ArrayList<>();
         for(PrimarySkillType primarySkillType : PrimarySkillType.values()) {
@@ -110,6 +114,11 @@ public class SkillTools {
 
         primarySkillToolMap = ImmutableMap.copyOf(tempToolMap);
 
+        /*
+         * Setup PVP / PVE toggles
+         */
+        reloadCombatSettings();
+
         /*
          * Setup ability -> primary map
          * Setup primary -> ability map
@@ -298,12 +307,31 @@ public class SkillTools {
         return RankUtils.hasUnlockedSubskill(player, subSkillType);
     }
 
+    /**
+     * Copies the combat settings out of the general config again, must be called whenever the general config is reloaded
+     */
+    public void reloadCombatSettings() {
+        pvpEnabledSkills.clear();
+        pveEnabledSkills.clear();
+
+        for(PrimarySkillType primarySkillType : PrimarySkillType.values()) {
+            if(pluginRef.getGeneralConfig().getPVPEnabled(primarySkillType))
+                pvpEnabledSkills.add(primarySkillType);
+
+            if(pluginRef.getGeneralConfig().getPVEEnabled(primarySkillType))
+                pveEnabledSkills.add(primarySkillType);
+        }
+
+        //Unarmed classification depends on the general config
+        CombatContext.clearHeldItemTypes();
+    }
+
     public boolean getPVPEnabled(PrimarySkillType primarySkillType) {
-        return pluginRef.getGeneralConfig().getPVPEnabled(primarySkillType);
+        return pvpEnabledSkills.contains(primarySkillType);
     }
 
     public boolean getPVEEnabled(PrimarySkillType primarySkillType) {
-        return pluginRef.getGeneralConfig().getPVEEnabled(primarySkillType);
+        return pveEnabledSkills.contains(primarySkillType);
     }
 
     public boolean getHardcoreStatLossEnabled(PrimarySkillType primarySkillType) {
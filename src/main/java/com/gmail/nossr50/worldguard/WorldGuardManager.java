@@ -5,17 +5,38 @@ import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitPlayer;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
+import com.sk89q.worldguard.protection.flags.StateFlag;
 import com.sk89q.worldguard.protection.flags.registry.FlagConflictException;
 import com.sk89q.worldguard.protection.flags.registry.FlagRegistry;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static org.bukkit.Bukkit.getServer;
 
 public class WorldGuardManager {
+    private static final long FLAG_CACHE_TTL_MILLIS = 1000;
+
+    private static final int MAIN_FLAG = 0;
+    private static final int XP_FLAG = 1;
+    private static final int HARDCORE_FLAG = 2;
+    private static final int FLAG_COUNT = 3;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
     private static WorldGuardManager instance;
     private WorldGuardPlugin worldGuardPluginRef;
+    private final Map<Player, CachedFlagStates> flagCache = new WeakHashMap<>(); //Weak keys, entries go away with the player after they log out
 
     public static WorldGuardManager getInstance() {
         if(instance == null)
@@ -29,15 +50,7 @@ public class WorldGuardManager {
         if(player == null)
             return false;
 
-        BukkitPlayer localPlayer = BukkitAdapter.adapt(player);
-        com.sk89q.worldedit.util.Location loc = localPlayer.getLocation();
-
-        //WorldGuardPlugin worldGuard = getWorldGuard();
-        RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
-
-        //ApplicableRegionSet set = query.getApplicableRegions(loc);
-
-        return query.testState(loc, WorldGuardPlugin.inst().wrapPlayer(player), WorldGuardFlags.MCMMO_ENABLE_WG_FLAG);
+        return testCachedFlag(player, WorldGuardFlags.MCMMO_ENABLE_WG_FLAG, MAIN_FLAG);
     }
 
     public boolean hasXPFlag(Player player)
@@ -45,15 +58,7 @@ public class WorldGuardManager {
         if(player == null)
             return false;
 
-        BukkitPlayer localPlayer = BukkitAdapter.adapt(player);
-        com.sk89q.worldedit.util.Location loc = localPlayer.getLocation();
-
-        //WorldGuardPlugin worldGuard = getWorldGuard();
-        RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
-
-        //ApplicableRegionSet set = query.getApplicableRegions(loc);
-
-        return query.testState(loc, WorldGuardPlugin.inst().wrapPlayer(player), WorldGuardFlags.MCMMO_XP_WG_FLAG);
+        return testCachedFlag(player, WorldGuardFlags.MCMMO_XP_WG_FLAG, XP_FLAG);
     }
 
     public boolean hasHardcoreFlag(Player player)
@@ -61,15 +66,70 @@ public class WorldGuardManager {
         if(player == null)
             return false;
 
+        return testCachedFlag(player, WorldGuardFlags.MCMMO_HARDCORE_WG_FLAG, HARDCORE_FLAG);
+    }
+
+    /**
+     * Tests a flag for a player, reusing the last result while the player stays on the same block
+     * Region or membership changes are picked up once the cached result expires
+     */
+    private boolean testCachedFlag(@NotNull Player player, @NotNull StateFlag flag, int flagIndex) {
+        Location location = player.getLocation();
+        long now = System.currentTimeMillis();
+        CachedFlagStates cachedFlagStates = flagCache.get(player);
+
+        if (cachedFlagStates == null) {
+            cachedFlagStates = new CachedFlagStates();
+            flagCache.put(player, cachedFlagStates);
+        }
+
+        if (!cachedFlagStates.isValidAt(location, now)) {
+            cachedFlagStates.reset(location, now + FLAG_CACHE_TTL_MILLIS);
+        }
+
+        byte state = cachedFlagStates.states[flagIndex];
+
+        if (state == UNKNOWN) {
+            state = testFlag(player, flag) ? ALLOWED : DENIED;
+            cachedFlagStates.states[flagIndex] = state;
+        }
+
+        return state == ALLOWED;
+    }
+
+    private boolean testFlag(@NotNull Player player, @NotNull StateFlag flag) {
         BukkitPlayer localPlayer = BukkitAdapter.adapt(player);
         com.sk89q.worldedit.util.Location loc = localPlayer.getLocation();
 
-        //WorldGuardPlugin worldGuard = getWorldGuard();
         RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
 
-        //ApplicableRegionSet set = query.getApplicableRegions(loc);
+        return query.testState(loc, WorldGuardPlugin.inst().wrapPlayer(player), flag);
+    }
 
-        return query.testState(loc, WorldGuardPlugin.inst().wrapPlayer(player), WorldGuardFlags.MCMMO_HARDCORE_WG_FLAG);
+    private static class CachedFlagStates {
+        private final byte[] states = new byte[FLAG_COUNT];
+        private @Nullable World world;
+        private int blockX;
+        private int blockY;
+        private int blockZ;
+        private long expiresAt;
+
+        private boolean isValidAt(@NotNull Location location, long now) {
+            return now < expiresAt
+                    && location.getWorld() == world
+                    && location.getBlockX() == blockX
+                    && location.getBlockY() == blockY
+                    && location.getBlockZ() == blockZ;
+        }
+
+        private void reset(@NotNull Location location, long expiresAt) {
+            Arrays.fill(states, UNKNOWN);
+            this.world = location.getWorld();
+            this.blockX = location.getBlockX();
+            this.blockY = location.getBlockY();
+            this.blockZ = location.getBlockZ();
+            this.expiresAt = expiresAt;
+        }
     }
 
     private WorldGuardPlugin getWorldGuard() {
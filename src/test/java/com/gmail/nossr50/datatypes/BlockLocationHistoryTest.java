@@ -1,8 +1,10 @@
 package com.gmail.nossr50.datatypes;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 class BlockLocationHistoryTest {
     @Test
@@ -34,4 +36,43 @@ class BlockLocationHistoryTest {
         history.add(locationB);
         Assertions.assertFalse(history.contains(locationA));
     }
+
+    @Test
+    void testOnlyBlockCoordinatesMatter() {
+        BlockLocationHistory history = new BlockLocationHistory(4);
+
+        history.add(new Location(null, -0.5, 64.9, 1_000_000.2));
+        Assertions.assertTrue(history.contains(new Location(null, -0.1, 64, 1_000_000.9)));
+        Assertions.assertFalse(history.contains(new Location(null, 0, 64, 1_000_000)));
+        Assertions.assertFalse(history.contains(new Location(null, -1, -64, 1_000_000)));
+    }
+
+    @Test
+    void testForgetsLocationsOfOtherWorlds() {
+        BlockLocationHistory history = new BlockLocationHistory(4);
+        World worldA = Mockito.mock(World.class);
+        World worldB = Mockito.mock(World.class);
+
+        history.add(new Location(worldA, 1, 2, 3));
+        Assertions.assertFalse(history.contains(new Location(worldB, 1, 2, 3)));
+
+        history.add(new Location(worldB, 4, 5, 6));
+        Assertions.assertFalse(history.contains(new Location(worldA, 1, 2, 3)));
+        Assertions.assertTrue(history.contains(new Location(worldB, 4, 5, 6)));
+    }
+
+    @Test
+    void testManyEvictions() {
+        BlockLocationHistory history = new BlockLocationHistory(50);
+
+        for (int i = 0; i < 1000; i++) {
+            history.add(new Location(null, i, i % 7, -i));
+        }
+
+        Assertions.assertEquals(50, history.size());
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i >= 950, history.contains(new Location(null, i, i % 7, -i)));
+        }
+    }
 }
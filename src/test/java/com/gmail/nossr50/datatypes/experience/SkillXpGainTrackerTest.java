@@ -0,0 +1,43 @@
+package com.gmail.nossr50.datatypes.experience;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SkillXpGainTrackerTest {
+    @Test
+    void testSumsGainsWithinInterval() {
+        SkillXpGainTracker tracker = new SkillXpGainTracker(10);
+
+        tracker.registerXpGain(PrimarySkillType.MINING, 5F, 100);
+        tracker.registerXpGain(PrimarySkillType.MINING, 7F, 100);
+        tracker.registerXpGain(PrimarySkillType.MINING, 3F, 105);
+        tracker.registerXpGain(PrimarySkillType.WOODCUTTING, 11F, 105);
+
+        Assertions.assertEquals(15F, tracker.getRollingXpGain(PrimarySkillType.MINING, 106));
+        Assertions.assertEquals(11F, tracker.getRollingXpGain(PrimarySkillType.WOODCUTTING, 106));
+        Assertions.assertEquals(0F, tracker.getRollingXpGain(PrimarySkillType.HERBALISM, 106));
+    }
+
+    @Test
+    void testExpiresOldBuckets() {
+        SkillXpGainTracker tracker = new SkillXpGainTracker(10);
+
+        tracker.registerXpGain(PrimarySkillType.MINING, 5F, 100);
+        tracker.registerXpGain(PrimarySkillType.MINING, 3F, 105);
+
+        Assertions.assertEquals(8F, tracker.getRollingXpGain(PrimarySkillType.MINING, 109));
+        Assertions.assertEquals(3F, tracker.getRollingXpGain(PrimarySkillType.MINING, 110));
+        Assertions.assertEquals(0F, tracker.getRollingXpGain(PrimarySkillType.MINING, 115));
+    }
+
+    @Test
+    void testClearsEverythingAfterLongIdle() {
+        SkillXpGainTracker tracker = new SkillXpGainTracker(10);
+
+        tracker.registerXpGain(PrimarySkillType.MINING, 5F, 100);
+        tracker.registerXpGain(PrimarySkillType.MINING, 2F, 1000);
+
+        Assertions.assertEquals(2F, tracker.getRollingXpGain(PrimarySkillType.MINING, 1000));
+    }
+}
@@ -0,0 +1,187 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+class LeveledTreasureTableTest {
+    private static final int DRAWS = 1_000_000;
+
+    //Chi-square critical values at p = 0.001, indexed by degrees of freedom
+    private static final double[] CHI_SQUARE_CRITICAL = {0, 10.83, 13.82, 16.27, 18.47, 20.52, 22.46, 24.32, 26.12};
+
+    //Drop chance is used as the probability directly, lucky doubles it
+    private static final LeveledTreasureTable.SuccessProbability<HylianTreasure> PROBABILITY =
+            (treasure, isLucky) -> treasure.getDropChance() * (isLucky ? 2 : 1);
+
+    private static HylianTreasure treasure(double chance, int dropLevel) {
+        return new HylianTreasure(null, 0, chance, dropLevel);
+    }
+
+    /**
+     * Rolls treasures one by one in order the way the table replaces, stopping at the first one that drops
+     */
+    private static double[] expectedFirstDrop(List<HylianTreasure> treasures, int skillLevel, boolean isLucky) {
+        double[] expected = new double[treasures.size() + 1];
+        double noDropYet = 1;
+
+        for (int i = 0; i < treasures.size(); i++) {
+            HylianTreasure treasure = treasures.get(i);
+
+            if (skillLevel < treasure.getDropLevel())
+                continue;
+
+            double chance = PROBABILITY.getProbability(treasure, isLucky);
+            expected[i] = noDropYet * chance;
+            noDropYet *= 1 - chance;
+        }
+
+        expected[treasures.size()] = noDropYet;
+        return expected;
+    }
+
+    private static void assertChiSquare(long[] observed, double[] expectedProbabilities, long total) {
+        double chiSquare = 0;
+        int degreesOfFreedom = -1;
+
+        for (int i = 0; i < observed.length; i++) {
+            double expected = expectedProbabilities[i] * total;
+
+            if (expected == 0) {
+                Assertions.assertEquals(0, observed[i], "Outcome " + i + " should never be drawn");
+                continue;
+            }
+
+            chiSquare += (observed[i] - expected) * (observed[i] - expected) / expected;
+            degreesOfFreedom++;
+        }
+
+        if (degreesOfFreedom > 0) {
+            Assertions.assertTrue(chiSquare < CHI_SQUARE_CRITICAL[degreesOfFreedom], "Chi-square of " + chiSquare + " with " + degreesOfFreedom + " degrees of freedom");
+        }
+    }
+
+    private static void assertFirstDropDistribution(List<HylianTreasure> treasures, int skillLevel, boolean isLucky, long seed) {
+        LeveledTreasureTable<HylianTreasure> table = new LeveledTreasureTable<>(treasures, PROBABILITY);
+        Random random = new Random(seed);
+        long[] observed = new long[treasures.size() + 1];
+
+        for (int i = 0; i < DRAWS; i++) {
+            HylianTreasure drop = table.rollFirst(skillLevel, isLucky, random);
+            observed[drop == null ? treasures.size() : treasures.indexOf(drop)]++;
+        }
+
+        assertChiSquare(observed, expectedFirstDrop(treasures, skillLevel, isLucky), DRAWS);
+    }
+
+    @Test
+    void testFirstDropFollowsConfigOrder() {
+        List<HylianTreasure> treasures = Arrays.asList(treasure(0.05, 0), treasure(0.2, 0), treasure(0.1, 0), treasure(0.01, 0));
+
+        assertFirstDropDistribution(treasures, 0, false, 42);
+        assertFirstDropDistribution(treasures, 0, true, 43);
+    }
+
+    @Test
+    void testFirstDropOnlyRollsUnlockedTreasures() {
+        List<HylianTreasure> treasures = Arrays.asList(treasure(0.1, 500), treasure(0.2, 0), treasure(0.3, 250), treasure(0.05, 750));
+
+        assertFirstDropDistribution(treasures, 0, false, 1);
+        assertFirstDropDistribution(treasures, 249, false, 2);
+        assertFirstDropDistribution(treasures, 250, false, 3);
+        assertFirstDropDistribution(treasures, 600, true, 4);
+        assertFirstDropDistribution(treasures, 1000, false, 5);
+    }
+
+    @Test
+    void testNothingUnlocked() {
+        LeveledTreasureTable<HylianTreasure> table = new LeveledTreasureTable<>(Arrays.asList(treasure(1, 10), treasure(1, 20)), PROBABILITY);
+        Random random = new Random(0);
+
+        Assertions.assertNull(table.rollFirst(9, false, random));
+        Assertions.assertTrue(table.rollAll(9, true, random).isEmpty());
+        Assertions.assertNotNull(table.rollFirst(10, false, random));
+    }
+
+    @Test
+    void testRollAllMatchesIndependentRolls() {
+        List<HylianTreasure> treasures = Arrays.asList(treasure(0.3, 0), treasure(0.05, 0), treasure(0.5, 100), treasure(0.15, 0));
+        LeveledTreasureTable<HylianTreasure> table = new LeveledTreasureTable<>(treasures, PROBABILITY);
+        Random random = new Random(2022);
+
+        //Every combination of drops as a bit mask, each treasure should drop on its own chance regardless of the others
+        long[] observed = new long[1 << treasures.size()];
+
+        for (int i = 0; i < DRAWS; i++) {
+            int mask = 0;
+
+            for (HylianTreasure drop : table.rollAll(100, false, random)) {
+                mask |= 1 << treasures.indexOf(drop);
+            }
+
+            observed[mask]++;
+        }
+
+        double[] expected = new double[observed.length];
+
+        for (int mask = 0; mask < expected.length; mask++) {
+            double probability = 1;
+
+            for (int i = 0; i < treasures.size(); i++) {
+                double chance = treasures.get(i).getDropChance();
+                probability *= (mask & (1 << i)) != 0 ? chance : 1 - chance;
+            }
+
+            expected[mask] = probability;
+        }
+
+        //16 outcomes, use the matching critical value
+        double chiSquare = 0;
+
+        for (int mask = 0; mask < observed.length; mask++) {
+            double expectedCount = expected[mask] * DRAWS;
+            chiSquare += (observed[mask] - expectedCount) * (observed[mask] - expectedCount) / expectedCount;
+        }
+
+        Assertions.assertTrue(chiSquare < 37.70, "Chi-square of " + chiSquare + " with 15 degrees of freedom");
+    }
+
+    @Test
+    void testRarityTableRolls() {
+        double[] dropRates = new double[Rarity.values().length];
+        dropRates[Rarity.MYTHIC.ordinal()] = 0.5;
+        dropRates[Rarity.LEGENDARY.ordinal()] = 2;
+        dropRates[Rarity.EPIC.ordinal()] = 5;
+        dropRates[Rarity.RARE.ordinal()] = 10;
+        dropRates[Rarity.UNCOMMON.ordinal()] = 20;
+        dropRates[Rarity.COMMON.ordinal()] = 50;
+
+        RarityTable rarityTable = new RarityTable(dropRates);
+
+        for (double rollScale : new double[]{1.0, 0.85}) {
+            Random random = new Random(31337);
+            long[] observed = new long[dropRates.length + 1];
+
+            for (int i = 0; i < DRAWS; i++) {
+                Rarity rarity = rarityTable.roll(random, rollScale);
+                observed[rarity == null ? dropRates.length : rarity.ordinal()]++;
+            }
+
+            //A dice going up to rollScale * 100 walking through the rates
+            double[] expected = new double[dropRates.length + 1];
+            double diceRange = 100 * rollScale;
+            double cumulated = 0;
+
+            for (int i = 0; i < dropRates.length; i++) {
+                expected[i] = (Math.min(cumulated + dropRates[i], diceRange) - Math.min(cumulated, diceRange)) / diceRange;
+                cumulated += dropRates[i];
+            }
+
+            expected[dropRates.length] = Math.max(diceRange - cumulated, 0) / diceRange;
+            assertChiSquare(observed, expected, DRAWS);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gmail.nossr50.util;
+
+import org.bukkit.permissions.Permissible;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class PermissionCacheTest {
+    @Test
+    void testResolvesEachNodeOnce() {
+        Permissible permissible = Mockito.mock(Permissible.class);
+        Mockito.when(permissible.hasPermission("mcmmo.test.granted")).thenReturn(true);
+        PermissionCache permissionCache = new PermissionCache();
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(permissionCache.hasPermission(permissible, "mcmmo.test.granted"));
+            Assertions.assertFalse(permissionCache.hasPermission(permissible, "mcmmo.test.denied"));
+        }
+
+        Mockito.verify(permissible, Mockito.times(1)).hasPermission("mcmmo.test.granted");
+        Mockito.verify(permissible, Mockito.times(1)).hasPermission("mcmmo.test.denied");
+    }
+
+    @Test
+    void testInvalidateResolvesAgain() {
+        Permissible permissible = Mockito.mock(Permissible.class);
+        Mockito.when(permissible.hasPermission("mcmmo.test.changing")).thenReturn(true);
+        PermissionCache permissionCache = new PermissionCache();
+
+        Assertions.assertTrue(permissionCache.hasPermission(permissible, "mcmmo.test.changing"));
+
+        Mockito.when(permissible.hasPermission("mcmmo.test.changing")).thenReturn(false);
+        Assertions.assertTrue(permissionCache.hasPermission(permissible, "mcmmo.test.changing"));
+
+        permissionCache.invalidate();
+        Assertions.assertFalse(permissionCache.hasPermission(permissible, "mcmmo.test.changing"));
+    }
+
+    @Test
+    void testNodeIdSharesCacheWithNode() {
+        Permissible permissible = Mockito.mock(Permissible.class);
+        Mockito.when(permissible.hasPermission("mcmmo.test.byid")).thenReturn(true);
+        PermissionCache permissionCache = new PermissionCache();
+        int nodeId = PermissionCache.getNodeId("mcmmo.test.byid");
+
+        Assertions.assertEquals(nodeId, PermissionCache.getNodeId("mcmmo.test.byid"));
+        Assertions.assertEquals("mcmmo.test.byid", PermissionCache.getNode(nodeId));
+        Assertions.assertTrue(permissionCache.hasPermission(permissible, nodeId));
+        Assertions.assertTrue(permissionCache.hasPermission(permissible, "mcmmo.test.byid"));
+
+        Mockito.verify(permissible, Mockito.times(1)).hasPermission("mcmmo.test.byid");
+    }
+
+    @Test
+    void testGrowsPastInitialNodes() {
+        Permissible permissible = Mockito.mock(Permissible.class);
+        Mockito.when(permissible.hasPermission(Mockito.anyString())).thenAnswer(invocation -> invocation.<String>getArgument(0).endsWith("0"));
+        PermissionCache permissionCache = new PermissionCache();
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i % 10 == 0, permissionCache.hasPermission(permissible, "mcmmo.test.node." + i));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i % 10 == 0, permissionCache.hasPermission(permissible, "mcmmo.test.node." + i));
+        }
+    }
+}
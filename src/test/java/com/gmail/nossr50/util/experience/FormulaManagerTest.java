@@ -0,0 +1,192 @@
+package com.gmail.nossr50.util.experience;
+
+import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.experience.FormulaType;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.skills.SkillTools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Checks the precomputed XP tables and the level lookup against the formulas from experience.yml, in Retro Mode
+ */
+class FormulaManagerTest {
+    private static final int LEVEL_CAP = 100;
+
+    //Defaults from experience.yml
+    private static final int LINEAR_BASE = 1020;
+    private static final double LINEAR_MULTIPLIER = 20;
+    private static final int EXPONENTIAL_BASE = 2000;
+    private static final double EXPONENTIAL_MULTIPLIER = 0.1;
+    private static final double EXPONENTIAL_EXPONENT = 1.80;
+
+    private MockedStatic<mcMMO> mcMMOMock;
+    private MockedStatic<ExperienceConfig> experienceConfigMock;
+    private SkillTools skillTools;
+    private FormulaManager formulaManager;
+
+    @BeforeEach
+    void setUpMock() {
+        ExperienceConfig experienceConfig = Mockito.mock(ExperienceConfig.class);
+        Mockito.when(experienceConfig.getBase(FormulaType.LINEAR)).thenReturn(LINEAR_BASE);
+        Mockito.when(experienceConfig.getMultiplier(FormulaType.LINEAR)).thenReturn(LINEAR_MULTIPLIER);
+        Mockito.when(experienceConfig.getBase(FormulaType.EXPONENTIAL)).thenReturn(EXPONENTIAL_BASE);
+        Mockito.when(experienceConfig.getMultiplier(FormulaType.EXPONENTIAL)).thenReturn(EXPONENTIAL_MULTIPLIER);
+        Mockito.when(experienceConfig.getExponent(FormulaType.EXPONENTIAL)).thenReturn(EXPONENTIAL_EXPONENT);
+        Mockito.when(experienceConfig.getCumulativeCurveEnabled()).thenReturn(false);
+
+        experienceConfigMock = Mockito.mockStatic(ExperienceConfig.class);
+        experienceConfigMock.when(() -> ExperienceConfig.getInstance()).thenReturn(experienceConfig);
+
+        mcMMOMock = Mockito.mockStatic(mcMMO.class);
+        mcMMOMock.when(() -> mcMMO.isRetroModeEnabled()).thenReturn(true);
+
+        skillTools = Mockito.mock(SkillTools.class);
+        Mockito.when(skillTools.getLevelCap(Mockito.any())).thenReturn(LEVEL_CAP);
+
+        mcMMO plugin = Mockito.mock(mcMMO.class);
+        Mockito.when(plugin.getSkillTools()).thenReturn(skillTools);
+        mcMMO.p = plugin;
+
+        formulaManager = new FormulaManager();
+    }
+
+    @AfterEach
+    void teardownMock() {
+        mcMMO.p = null;
+        mcMMOMock.close();
+        experienceConfigMock.close();
+    }
+
+    @Test
+    void testXPToNextLevelLinear() {
+        Assertions.assertEquals(1020, formulaManager.getXPtoNextLevel(0, FormulaType.LINEAR));
+        Assertions.assertEquals(1040, formulaManager.getXPtoNextLevel(1, FormulaType.LINEAR));
+        Assertions.assertEquals(3020, formulaManager.getXPtoNextLevel(LEVEL_CAP, FormulaType.LINEAR));
+
+        assertXPToNextLevel(FormulaType.LINEAR);
+    }
+
+    @Test
+    void testXPToNextLevelExponential() {
+        Assertions.assertEquals(2000, formulaManager.getXPtoNextLevel(0, FormulaType.EXPONENTIAL));
+
+        assertXPToNextLevel(FormulaType.EXPONENTIAL);
+    }
+
+    @Test
+    void testUnknownFormulaUsesLinear() {
+        Assertions.assertEquals(formulaManager.getXPtoNextLevel(50, FormulaType.LINEAR), formulaManager.getXPtoNextLevel(50, FormulaType.UNKNOWN));
+    }
+
+    @Test
+    void testTotalXPLinear() {
+        Assertions.assertEquals(0, formulaManager.getTotalXPToReachLevel(0, FormulaType.LINEAR));
+        Assertions.assertEquals(1020, formulaManager.getTotalXPToReachLevel(1, FormulaType.LINEAR));
+        Assertions.assertEquals(75500, formulaManager.getTotalXPToReachLevel(50, FormulaType.LINEAR));
+        Assertions.assertEquals(201000, formulaManager.getTotalXPToReachLevel(LEVEL_CAP, FormulaType.LINEAR));
+
+        assertTotalXP(FormulaType.LINEAR);
+    }
+
+    @Test
+    void testTotalXPExponential() {
+        Assertions.assertEquals(0, formulaManager.getTotalXPToReachLevel(0, FormulaType.EXPONENTIAL));
+        Assertions.assertEquals(2000, formulaManager.getTotalXPToReachLevel(1, FormulaType.EXPONENTIAL));
+
+        assertTotalXP(FormulaType.EXPONENTIAL);
+    }
+
+    @Test
+    void testNewLevelLinear() {
+        assertNewLevel(FormulaType.LINEAR);
+    }
+
+    @Test
+    void testNewLevelExponential() {
+        assertNewLevel(FormulaType.EXPONENTIAL);
+    }
+
+    @Test
+    void testNewLevelBeyondPrecomputedRange() {
+        //Uncapped skills only get the first 5000 Retro levels precomputed, the rest is walked one level at a time
+        Mockito.when(skillTools.getLevelCap(Mockito.any())).thenReturn(Integer.MAX_VALUE);
+        formulaManager = new FormulaManager();
+
+        for (FormulaType formulaType : new FormulaType[] {FormulaType.LINEAR, FormulaType.EXPONENTIAL}) {
+            Assertions.assertEquals(expectedXPToNextLevel(5200, formulaType), formulaManager.getXPtoNextLevel(5200, formulaType));
+            Assertions.assertEquals(expectedTotalXP(5200, formulaType), formulaManager.getTotalXPToReachLevel(5200, formulaType));
+
+            assertThresholds(formulaType, 5000);
+            assertThresholds(formulaType, 5001);
+            assertThresholds(formulaType, 5200);
+        }
+    }
+
+    private void assertXPToNextLevel(FormulaType formulaType) {
+        //Inside the table, at the cap, and past the table where it is calculated on demand
+        for (int level : new int[] {0, 1, 49, 50, 51, LEVEL_CAP - 1, LEVEL_CAP, LEVEL_CAP + 1, 250}) {
+            Assertions.assertEquals(expectedXPToNextLevel(level, formulaType), formulaManager.getXPtoNextLevel(level, formulaType), "level " + level);
+        }
+    }
+
+    private void assertTotalXP(FormulaType formulaType) {
+        for (int level : new int[] {0, 1, 2, 50, LEVEL_CAP - 1, LEVEL_CAP, LEVEL_CAP + 1, LEVEL_CAP + 2, 250}) {
+            Assertions.assertEquals(expectedTotalXP(level, formulaType), formulaManager.getTotalXPToReachLevel(level, formulaType), "level " + level);
+        }
+    }
+
+    private void assertNewLevel(FormulaType formulaType) {
+        Assertions.assertArrayEquals(new int[] {0, 0}, calculateNewLevel(0, formulaType));
+        Assertions.assertArrayEquals(new int[] {0, 1}, calculateNewLevel(1, formulaType));
+
+        for (int level : new int[] {1, 2, 50, 51, LEVEL_CAP - 1}) {
+            assertThresholds(formulaType, level);
+        }
+
+        //Reaching the cap discards any leftover experience
+        int capThreshold = (int) expectedTotalXP(LEVEL_CAP, formulaType);
+        Assertions.assertArrayEquals(new int[] {LEVEL_CAP - 1, expectedXPToNextLevel(LEVEL_CAP - 1, formulaType) - 1}, calculateNewLevel(capThreshold - 1, formulaType));
+        Assertions.assertArrayEquals(new int[] {LEVEL_CAP, 0}, calculateNewLevel(capThreshold, formulaType));
+        Assertions.assertArrayEquals(new int[] {LEVEL_CAP, 0}, calculateNewLevel(capThreshold + 1, formulaType));
+        Assertions.assertArrayEquals(new int[] {LEVEL_CAP, 0}, calculateNewLevel(Integer.MAX_VALUE, formulaType));
+    }
+
+    /**
+     * Checks the lookup one below, exactly at, and one above the experience needed to reach a level
+     */
+    private void assertThresholds(FormulaType formulaType, int level) {
+        int threshold = (int) expectedTotalXP(level, formulaType);
+
+        Assertions.assertArrayEquals(new int[] {level - 1, expectedXPToNextLevel(level - 1, formulaType) - 1}, calculateNewLevel(threshold - 1, formulaType), "below level " + level);
+        Assertions.assertArrayEquals(new int[] {level, 0}, calculateNewLevel(threshold, formulaType), "at level " + level);
+        Assertions.assertArrayEquals(new int[] {level, 1}, calculateNewLevel(threshold + 1, formulaType), "above level " + level);
+    }
+
+    private int[] calculateNewLevel(int experience, FormulaType formulaType) {
+        return formulaManager.calculateNewLevel(PrimarySkillType.MINING, experience, formulaType);
+    }
+
+    private static int expectedXPToNextLevel(int level, FormulaType formulaType) {
+        if (formulaType == FormulaType.EXPONENTIAL) {
+            return (int) Math.floor(EXPONENTIAL_MULTIPLIER * Math.pow(level, EXPONENTIAL_EXPONENT) + EXPONENTIAL_BASE);
+        }
+
+        return (int) Math.floor(LINEAR_BASE + level * LINEAR_MULTIPLIER);
+    }
+
+    private static long expectedTotalXP(int level, FormulaType formulaType) {
+        long totalXP = 0;
+
+        for (int x = 0; x < level; x++) {
+            totalXP += expectedXPToNextLevel(x, formulaType);
+        }
+
+        return totalXP;
+    }
+}
@@ -0,0 +1,105 @@
+package com.gmail.nossr50.util.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class AliasTableTest {
+    private static final int DRAWS = 1_000_000;
+
+    //Chi-square critical values at p = 0.001, indexed by degrees of freedom
+    private static final double[] CHI_SQUARE_CRITICAL = {0, 10.83, 13.82, 16.27, 18.47, 20.52, 22.46, 24.32, 26.12};
+
+    /**
+     * Draws from a table with a fixed seed and checks the outcome counts against the expected probabilities
+     */
+    static void assertDistribution(AliasTable aliasTable, double[] expectedProbabilities, long seed) {
+        Random random = new Random(seed);
+        long[] observed = new long[aliasTable.size()];
+
+        for (int i = 0; i < DRAWS; i++) {
+            observed[aliasTable.sample(random)]++;
+        }
+
+        assertDistribution(observed, expectedProbabilities);
+    }
+
+    static void assertDistribution(long[] observed, double[] expectedProbabilities) {
+        long total = 0;
+
+        for (long count : observed) {
+            total += count;
+        }
+
+        double chiSquare = 0;
+        int degreesOfFreedom = -1;
+
+        for (int i = 0; i < observed.length; i++) {
+            double expected = expectedProbabilities[i] * total;
+
+            //Impossible outcomes must never be drawn
+            if (expected == 0) {
+                Assertions.assertEquals(0, observed[i], "Outcome " + i + " should never be drawn");
+                continue;
+            }
+
+            chiSquare += (observed[i] - expected) * (observed[i] - expected) / expected;
+            degreesOfFreedom++;
+        }
+
+        if (degreesOfFreedom > 0) {
+            Assertions.assertTrue(chiSquare < CHI_SQUARE_CRITICAL[degreesOfFreedom], "Chi-square of " + chiSquare + " with " + degreesOfFreedom + " degrees of freedom");
+        }
+    }
+
+    @Test
+    void testUnevenWeights() {
+        double[] weights = {1, 2, 3, 4, 10, 0.5, 79.5};
+        double[] expected = new double[weights.length];
+
+        for (int i = 0; i < weights.length; i++) {
+            expected[i] = weights[i] / 100;
+        }
+
+        assertDistribution(new AliasTable(weights), expected, 42);
+    }
+
+    @Test
+    void testZeroWeightsAreNeverDrawn() {
+        assertDistribution(new AliasTable(new double[]{0, 3, 0, 1, 0}), new double[]{0, 0.75, 0, 0.25, 0}, 1337);
+    }
+
+    @Test
+    void testSingleOutcome() {
+        AliasTable aliasTable = new AliasTable(new double[]{5});
+        Random random = new Random(7);
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(0, aliasTable.sample(random));
+        }
+    }
+
+    @Test
+    void testPercentagesLeaveTheRestToNothing() {
+        AliasTable aliasTable = AliasTable.ofPercentages(new double[]{0.1, 2.5, 10, 25});
+
+        Assertions.assertEquals(5, aliasTable.size());
+        assertDistribution(aliasTable, new double[]{0.001, 0.025, 0.10, 0.25, 0.624}, 2021);
+    }
+
+    @Test
+    void testPercentagesAreCutOffAt100() {
+        AliasTable aliasTable = AliasTable.ofPercentages(new double[]{60, 30, 30, 5, -5});
+
+        assertDistribution(aliasTable, new double[]{0.6, 0.3, 0.1, 0, 0, 0}, 99);
+    }
+
+    @Test
+    void testInvalidWeights() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+    }
+}
@@ -0,0 +1,101 @@
+package com.gmail.nossr50.util.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TickWheelTest {
+    private static class RecordingTask extends TickTask {
+        private final List<Long> runs = new ArrayList<>();
+        private final long[] clock;
+
+        RecordingTask(long[] clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void run() {
+            runs.add(clock[0]);
+        }
+    }
+
+    private static void advance(TickWheel wheel, long[] clock, long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            clock[0]++;
+            wheel.advance(null);
+        }
+    }
+
+    @Test
+    void testRunsAtExactDelayAcrossLevels() {
+        TickWheel wheel = new TickWheel();
+        long[] clock = {0};
+        long[] delays = {1, 2, 63, 64, 65, 4095, 4096, 4097, 100_000, 300_000};
+        List<RecordingTask> tasks = new ArrayList<>();
+
+        advance(wheel, clock, 17); //Start off a slot boundary
+
+        for (long delay : delays) {
+            tasks.add(wheel.schedule(new RecordingTask(clock), delay));
+        }
+
+        advance(wheel, clock, 300_001);
+
+        for (int i = 0; i < delays.length; i++) {
+            Assertions.assertEquals(List.of(17 + delays[i]), tasks.get(i).runs);
+        }
+
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        TickWheel wheel = new TickWheel();
+        long[] clock = {0};
+        RecordingTask cancelled = wheel.schedule(new RecordingTask(clock), 10);
+        RecordingTask moved = wheel.schedule(new RecordingTask(clock), 10);
+
+        advance(wheel, clock, 5);
+        cancelled.cancel();
+        moved.reschedule(200);
+        Assertions.assertFalse(cancelled.isScheduled());
+        Assertions.assertTrue(moved.isScheduled());
+
+        advance(wheel, clock, 300);
+        Assertions.assertTrue(cancelled.runs.isEmpty());
+        Assertions.assertEquals(List.of(205L), moved.runs);
+    }
+
+    @Test
+    void testRepeatingTaskCanCancelItself() {
+        TickWheel wheel = new TickWheel();
+        List<Integer> runs = new ArrayList<>();
+        TickTask task = new TickTask() {
+            @Override
+            public void run() {
+                runs.add(runs.size());
+
+                if (runs.size() == 3)
+                    cancel();
+            }
+        };
+
+        wheel.schedule(task, 5, 5);
+        advance(wheel, new long[1], 100);
+        Assertions.assertEquals(3, runs.size());
+        Assertions.assertFalse(task.isScheduled());
+    }
+
+    @Test
+    void testParksTimersLongerThanTheWheel() {
+        TickWheel wheel = new TickWheel();
+        long[] clock = {0};
+        long delay = (1L << 24) + 1000;
+        RecordingTask task = wheel.schedule(new RecordingTask(clock), delay);
+
+        advance(wheel, clock, delay + 1);
+        Assertions.assertEquals(List.of(delay), task.runs);
+    }
+}